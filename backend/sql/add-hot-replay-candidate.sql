@@ -0,0 +1,17 @@
+-- HOT 재현 결과를 담는 섀도 테이블 (ddl-auto: validate 인 운영 DB 용)
+-- 실제 이벤트와 분리해 두며, 재현 실행(run_id) 단위로 조회하거나 지운다
+create table hot_replay_candidate
+(
+    viewer_count      integer      not null,
+    created_at        datetime(6)  not null,
+    id                bigint       not null auto_increment,
+    observed_at       datetime(6)  not null,
+    stream_metrics_id bigint       not null,
+    stream_session_id bigint       not null,
+    updated_at        datetime(6)  not null,
+    run_id            varchar(36)  not null,
+    detector          varchar(255) not null,
+    primary key (id)
+) engine = InnoDB;
+
+create index idx_hot_replay_candidate_run on hot_replay_candidate (run_id);
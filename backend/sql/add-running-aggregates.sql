@@ -0,0 +1,30 @@
+-- 세션/방송자 누적 집계 컬럼 추가 (ddl-auto: validate 인 운영 DB 용)
+-- 세션 평균은 시청자×초 / 관측 초로 계산하고, 방송자 평균은 종료된 세션 평균들의 평균이다
+alter table stream_session
+    add column viewer_seconds_sum bigint not null default 0,
+    add column observed_seconds bigint not null default 0;
+
+-- 기존 지표는 30초 FastScan 표본 하나를 30초 관측으로 환산한다.
+-- 종료된 세션도 채워야 endedAt 복구로 이어진 세션의 평균이 이전 구간을 잃지 않는다
+update stream_session s
+    join (select stream_session_id, sum(viewer_count) as total, count(*) as samples, max(viewer_count) as peak
+          from stream_metrics
+          group by stream_session_id) m on m.stream_session_id = s.id
+set s.viewer_seconds_sum = m.total * 30,
+    s.observed_seconds   = m.samples * 30,
+    s.peak_viewer_count  = greatest(s.peak_viewer_count, m.peak);
+
+alter table streamer
+    add column ended_session_count integer not null default 0,
+    add column ended_session_average_sum bigint not null default 0;
+
+-- 한 번도 관측하지 못한 세션은 방송자 평균에 넣지 않는다 (Streamer.addEndedSession 과 같은 규칙)
+update streamer st
+    join (select streamer_id, count(*) as sessions, sum(average_viewer_count) as total
+          from stream_session
+          where ended_at is not null
+            and observed_seconds > 0
+          group by streamer_id) x on x.streamer_id = st.id
+set st.ended_session_count       = x.sessions,
+    st.ended_session_average_sum = x.total,
+    st.average_viewer_count      = x.total div x.sessions;
@@ -0,0 +1,49 @@
+package com.streampulse.backend.infra;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streampulse.backend.dto.ChzzkRootResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 치지직 라이브 목록 페이지 디코딩: RestTemplate 기본 경로(databind)와 스트리밍 디코더 비교.
+ * 입력은 src/jmh/resources/chzzk 의 /open/v1/lives 응답입니다. 실제 필드 순서와 추가 필드에서 파서를 재도록
+ * src/jmh/scripts/record-chzzk-pages.sh 로 실제 응답을 받아 lives-page-N.json 을 덮어쓴 뒤 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChzzkLivePageDecoderBenchmark {
+
+    @Param({"0", "1", "2"})
+    private int page;
+
+    private byte[] body;
+    private ObjectMapper objectMapper;
+    private ChzzkLivePageDecoder decoder;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/chzzk/lives-page-" + page + ".json")) {
+            body = in.readAllBytes();
+        }
+        // Spring Boot 가 RestTemplate 에 등록하는 ObjectMapper 와 동일하게 알 수 없는 필드는 무시
+        objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        decoder = new ChzzkLivePageDecoder(objectMapper);
+    }
+
+    @Benchmark
+    public ChzzkRootResponseDTO databind() throws IOException {
+        return objectMapper.readValue(new ByteArrayInputStream(body), ChzzkRootResponseDTO.class);
+    }
+
+    @Benchmark
+    public ChzzkRootResponseDTO streaming() throws IOException {
+        return decoder.decode(new ByteArrayInputStream(body));
+    }
+}
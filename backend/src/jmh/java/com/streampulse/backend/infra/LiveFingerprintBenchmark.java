@@ -0,0 +1,78 @@
+package com.streampulse.backend.infra;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streampulse.backend.dto.LiveResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FastScan 한 틱 분량의 방송에 대해 "바뀌었는가" 를 판정하는 비용.
+ * json 은 지문 도입 전 LiveHandlerService.serialize 로 JSON 을 만들어 이전 JSON 과 비교하던 방식을 그대로 옮긴 것입니다.
+ * (Redis 조회 비용은 두 방식 모두 빠져 있으며, 대부분의 방송은 바뀌지 않은 상황을 흉내냅니다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LiveFingerprintBenchmark {
+
+    @Param({"1000", "5000"})
+    private int liveCount;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<LiveResponseDTO> lives;
+    private String[] previousJson;
+    private long[] previousFingerprint;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        lives = new ArrayList<>(liveCount);
+        previousJson = new String[liveCount];
+        previousFingerprint = new long[liveCount];
+        for (int i = 0; i < liveCount; i++) {
+            LiveResponseDTO dto = new LiveResponseDTO();
+            dto.setChannelId("channel-" + i);
+            dto.setLiveTitle("오늘도 즐거운 방송 " + i + " 많이 놀러오세요");
+            dto.setLiveCategory("League_of_Legends");
+            List<String> tags = new ArrayList<>();
+            for (int t = 0; t < 1 + random.nextInt(5); t++) {
+                tags.add("태그" + random.nextInt(50));
+            }
+            dto.setTags(tags);
+            lives.add(dto);
+
+            previousJson[i] = serialize(dto);
+            previousFingerprint[i] = LiveFingerprint.of(dto);
+        }
+    }
+
+    @Benchmark
+    public void json(Blackhole bh) {
+        for (int i = 0; i < liveCount; i++) {
+            bh.consume(serialize(lives.get(i)).equals(previousJson[i]));
+        }
+    }
+
+    @Benchmark
+    public void fingerprint(Blackhole bh) {
+        for (int i = 0; i < liveCount; i++) {
+            bh.consume(LiveFingerprint.of(lives.get(i)) == previousFingerprint[i]);
+        }
+    }
+
+    private String serialize(LiveResponseDTO dto) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "title", Optional.ofNullable(dto.getLiveTitle()).orElse(""),
+                    "category", Optional.ofNullable(dto.getLiveCategory()).orElse(""),
+                    "tags", dto.getTags() != null ? dto.getTags() : List.of()
+            ));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
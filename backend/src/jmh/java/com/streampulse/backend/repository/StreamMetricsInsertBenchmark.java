@@ -0,0 +1,97 @@
+package com.streampulse.backend.repository;
+
+import com.streampulse.backend.config.SqlStatementCounter;
+import com.streampulse.backend.entity.StreamMetrics;
+import com.streampulse.backend.entity.StreamSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FastScan 한 틱 분량(2000 행)의 StreamMetrics 저장 처리량을 MySQL 호환 모드 H2 에서 잽니다. 결과 단위는 행/초입니다.
+ * perRow 는 IDENTITY 키 엔티티를 save() 할 때처럼 행마다 INSERT 를 실행하고 생성된 키를 읽는 방식,
+ * multiRow 는 {@link StreamMetricsBatchWriter} 입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(StreamMetricsInsertBenchmark.ROWS)
+public class StreamMetricsInsertBenchmark {
+
+    static final int ROWS = 2000;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private StreamMetricsBatchWriter writer;
+    private List<StreamMetrics> rows;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:metrics-bench;MODE=MySQL", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table stream_metrics (viewer_count integer not null, created_at datetime(6) not null, "
+                + "id bigint not null auto_increment, stream_session_id bigint not null, updated_at datetime(6) not null, "
+                + "category varchar(255) not null, title varchar(255) not null, primary key (id))");
+        writer = new StreamMetricsBatchWriter(jdbcTemplate, new SqlStatementCounter(new SimpleMeterRegistry()));
+
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(StreamMetrics.builder()
+                    .streamSession(StreamSession.builder().id((long) i).build())
+                    .viewerCount(i * 7 % 5000)
+                    .category("League_of_Legends")
+                    .title("오늘도 즐거운 방송 " + i)
+                    .build());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("truncate table stream_metrics");
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public long perRow() throws Exception {
+        Connection connection = dataSource.getConnection();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long lastId = 0;
+        try (PreparedStatement ps = connection.prepareStatement(
+                "insert into stream_metrics (stream_session_id, viewer_count, category, title, created_at, updated_at) "
+                        + "values (?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            for (StreamMetrics row : rows) {
+                ps.setLong(1, row.getStreamSession().getId());
+                ps.setInt(2, row.getViewerCount());
+                ps.setString(3, row.getCategory());
+                ps.setString(4, row.getTitle());
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    if (keys.next()) lastId = keys.getLong(1);
+                }
+            }
+        }
+        return lastId;
+    }
+
+    @Benchmark
+    public int multiRow() {
+        return writer.insertAll(rows);
+    }
+}
@@ -0,0 +1,88 @@
+package com.streampulse.backend.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DeepScan 한 번 분량의 페이지(페이지당 20명)를 순서대로 중복 검사 + 저장하는 비용.
+ * legacy 는 CursorPageIndex 도입 전 fetchAndStoreValidCursors 의 스트림 기반 검사를 그대로 옮긴 것입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CursorPageIndexBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "300", "600"})
+    private int pageCount;
+
+    private List<String> cursors;
+    private List<Set<String>> pages;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        cursors = new ArrayList<>(pageCount);
+        pages = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            cursors.add("cursor-" + i);
+            Set<String> ids = new LinkedHashSet<>();
+            for (int j = 0; j < PAGE_SIZE; j++) {
+                // 순위 변동으로 인접 페이지와 일부 방송자가 겹치는 상황을 흉내낸다
+                int rank = i * PAGE_SIZE + j + (random.nextInt(10) < 2 ? -PAGE_SIZE : 0);
+                ids.add("channel-" + Math.max(0, rank));
+            }
+            pages.add(ids);
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        Map<Integer, String> indexToCursor = new LinkedHashMap<>();
+        Map<String, Set<String>> cursorToBroadcasterIds = new LinkedHashMap<>();
+
+        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+            String cur = cursors.get(pageIndex);
+            Set<String> currIds = pages.get(pageIndex);
+            int currentIndex = pageIndex;
+
+            boolean isDuplicate = cursorToBroadcasterIds.entrySet().stream()
+                    .filter(e -> {
+                        String prevCursor = e.getKey();
+                        if (prevCursor.equals(cur)) return false;
+
+                        int prevIndex = indexToCursor.entrySet().stream()
+                                .filter(en -> en.getValue().equals(prevCursor))
+                                .map(Map.Entry::getKey)
+                                .findFirst().orElse(-1);
+
+                        return prevIndex != currentIndex;
+                    })
+                    .map(Map.Entry::getValue)
+                    .anyMatch(prevIds -> {
+                        long overlap = currIds.stream().filter(prevIds::contains).count();
+                        return (double) overlap / currIds.size() >= 0.8;
+                    });
+            bh.consume(isDuplicate);
+
+            indexToCursor.put(pageIndex, cur);
+            cursorToBroadcasterIds.put(cur, currIds);
+        }
+    }
+
+    @Benchmark
+    public void invertedIndex(Blackhole bh) {
+        CursorPageIndex index = new CursorPageIndex();
+
+        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+            String cur = cursors.get(pageIndex);
+            Set<String> currIds = pages.get(pageIndex);
+            bh.consume(index.isDuplicate(pageIndex, cur, currIds));
+            index.add(pageIndex, cur, currIds);
+        }
+    }
+}
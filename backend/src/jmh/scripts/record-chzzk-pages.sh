@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# ChzzkLivePageDecoderBenchmark 입력으로 쓸 /open/v1/lives 실제 응답을 그대로 저장한다.
+# 응답 본문을 가공하지 않으므로 실제 필드 순서, 추가 필드, null 값이 그대로 남는다.
+#
+# 사용법: CHZZK_API_BASE_URL=... CHZZK_CLIENT_ID=... CHZZK_CLIENT_SECRET=... ./record-chzzk-pages.sh [페이지 수]
+set -euo pipefail
+
+: "${CHZZK_API_BASE_URL:?CHZZK_API_BASE_URL 이 필요합니다}"
+: "${CHZZK_CLIENT_ID:?CHZZK_CLIENT_ID 가 필요합니다}"
+: "${CHZZK_CLIENT_SECRET:?CHZZK_CLIENT_SECRET 이 필요합니다}"
+
+PAGES="${1:-3}"
+OUT_DIR="$(cd "$(dirname "$0")/../resources/chzzk" && pwd)"
+next=""
+
+for ((i = 0; i < PAGES; i++)); do
+  url="${CHZZK_API_BASE_URL}/open/v1/lives?size=20"
+  if [[ -n "$next" ]]; then
+    url="${url}&next=${next}"
+  fi
+  curl -sf -H "Client-Id: ${CHZZK_CLIENT_ID}" -H "Client-Secret: ${CHZZK_CLIENT_SECRET}" "$url" \
+    -o "${OUT_DIR}/lives-page-${i}.json"
+  echo "lives-page-${i}.json 저장"
+
+  # 다음 커서만 꺼낸다. 값이 없으면 마지막 페이지다
+  next="$(python3 -c 'import json,sys; print((json.load(sys.stdin).get("content") or {}).get("page", {}).get("next") or "")' \
+    < "${OUT_DIR}/lives-page-${i}.json")"
+  if [[ -z "$next" ]]; then
+    break
+  fi
+  # 호출 제한(429)을 피하도록 간격을 둔다
+  sleep 1
+done
@@ -5,6 +5,7 @@ import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
@@ -46,6 +47,58 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * FastScan 에서 커서 페이지를 동시에 조회할 때 사용하는 전용 풀입니다.
+     * 풀 크기가 곧 동시 요청 수의 상한입니다.
+     */
+    @Bean(name = "chzzkFetchExecutor")
+    public ThreadPoolTaskExecutor chzzkFetchExecutor(@Value("${app.fast-scan.fetch-parallelism:8}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("chzzk-fetch-");
+        executor.initialize();
+
+        ExecutorServiceMetrics.monitor(registry, executor.getThreadPoolExecutor(), "chzzkFetchExecutor");
+
+        return executor;
+    }
+
+    /**
+     * FastScan 틱의 방송 처리를 channelId 해시 파티션별로 나눠 실행하는 풀입니다.
+     * 작업마다 트랜잭션(커넥션)을 하나씩 쓰므로 풀 크기는 Hikari 풀 크기보다 충분히 작게 둔다.
+     */
+    @Bean(name = "liveSyncExecutor")
+    public ThreadPoolTaskExecutor liveSyncExecutor(@Value("${app.live-sync.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("live-sync-");
+        executor.initialize();
+
+        ExecutorServiceMetrics.monitor(registry, executor.getThreadPoolExecutor(), "liveSyncExecutor");
+
+        return executor;
+    }
+
+    /**
+     * HOT 재현 실행 전용 스레드 하나. 재현은 한 번에 하나만 돌며 오래 걸리므로 @Async 작업이 쓰는 taskExecutor 를 점유하지 않게 분리한다.
+     * 실제 병렬 처리는 재현이 만드는 ForkJoinPool 에서 한다.
+     */
+    @Bean(name = "hotReplayExecutor")
+    public ThreadPoolTaskExecutor hotReplayExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("hot-replay-");
+        executor.initialize();
+
+        ExecutorServiceMetrics.monitor(registry, executor.getThreadPoolExecutor(), "hotReplayExecutor");
+
+        return executor;
+    }
+
     @Override
     public Executor getAsyncExecutor() {
         return taskExecutor();
@@ -1,5 +1,6 @@
 package com.streampulse.backend.config;
 
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
@@ -10,12 +11,20 @@ import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 @EnableScheduling
 public class SchedulerConfig implements SchedulingConfigurer {
 
-    @Override
-    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+    /**
+     * @Scheduled 작업과 DeepScan 단계별 지연 작업이 함께 사용하는 스케줄러입니다.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler scanTaskScheduler() {
         ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
         taskScheduler.setPoolSize(4);
         taskScheduler.setThreadNamePrefix("scheduler-");
         taskScheduler.initialize();
-        taskRegistrar.setTaskScheduler(taskScheduler);
+        return taskScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        taskRegistrar.setTaskScheduler(scanTaskScheduler());
     }
-}
\ No newline at end of file
+}
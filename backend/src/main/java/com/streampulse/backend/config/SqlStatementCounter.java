@@ -0,0 +1,56 @@
+package com.streampulse.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Hibernate 가 실행하는 SQL 문 수를 셉니다.
+ * 전체 합계는 sql_statements_total 로 내보내고, 스레드별 누적값은 한 작업(FastScan 틱 등) 동안 실행된 문 수를 잴 때 씁니다.
+ * Hibernate 를 거치지 않고 JdbcTemplate 으로 실행한 문은 실행한 쪽이 {@link #record(int)} 로 더합니다.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<long[]> THREAD_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Counter total;
+
+    public SqlStatementCounter(MeterRegistry meterRegistry) {
+        this.total = Counter.builder("sql_statements_total")
+                .description("실행한 SQL 문 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        THREAD_COUNT.get()[0]++;
+        total.increment();
+        return sql;
+    }
+
+    /**
+     * JdbcTemplate 으로 직접 실행한 문을 현재 스레드와 전체 합계에 더합니다.
+     */
+    public void record(int statements) {
+        THREAD_COUNT.get()[0] += statements;
+        total.increment(statements);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    /**
+     * 현재 스레드에서 지금까지 실행된 SQL 문 수. 작업 전후 값의 차이로 그 작업의 문 수를 구합니다.
+     */
+    public long currentThreadCount() {
+        return THREAD_COUNT.get()[0];
+    }
+}
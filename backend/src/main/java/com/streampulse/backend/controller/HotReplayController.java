@@ -0,0 +1,38 @@
+package com.streampulse.backend.controller;
+
+import com.streampulse.backend.dto.HotReplayRequestDTO;
+import com.streampulse.backend.service.HotReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/hot/replay")
+@RequiredArgsConstructor
+public class HotReplayController {
+
+    private final HotReplayService hotReplayService;
+
+    // 지난 지표로 HOT 재현 시작 (백그라운드 실행, runId 로 진행 상황 조회)
+    @PostMapping
+    public ResponseEntity<?> startReplay(@RequestBody HotReplayRequestDTO request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(hotReplayService.start(request));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // HOT 재현 진행 상황 및 결과 조회
+    @GetMapping("/{runId}")
+    public ResponseEntity<?> getReplay(@PathVariable String runId) {
+        return hotReplayService.get(runId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,23 @@
+package com.streampulse.backend.controller;
+
+import com.streampulse.backend.dto.DeepScanProgressDTO;
+import com.streampulse.backend.service.ChzzkLiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/scan")
+@RequiredArgsConstructor
+public class ScanController {
+
+    private final ChzzkLiveService chzzkLiveService;
+
+    // 진행 중인 DeepScan 상태 조회
+    @GetMapping("/deep")
+    public ResponseEntity<DeepScanProgressDTO> deepScanProgress() {
+        return ResponseEntity.ok(chzzkLiveService.getDeepScanProgress());
+    }
+}
@@ -0,0 +1,26 @@
+package com.streampulse.backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DeepScan 진행 상태 체크포인트. chain 은 루트부터 마지막으로 저장된 페이지까지의 커서 경로이며,
+ * 리스트 위치가 곧 pageIndex 입니다. next 는 마지막으로 저장된 페이지가 돌려준 다음 커서입니다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@ToString
+public class DeepScanCheckpointDTO {
+    private List<String> chain;
+    private String next;
+    private List<String> visited;
+    private List<String> failed;
+    private int walk;
+    private int retries;
+    private int backtracks;
+    private int resumes;
+}
@@ -0,0 +1,17 @@
+package com.streampulse.backend.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class DeepScanPageDTO {
+    private int pageIndex;
+    private String cursor;
+    private List<String> channelIds;
+}
@@ -0,0 +1,20 @@
+package com.streampulse.backend.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class DeepScanProgressDTO {
+    private boolean running;
+    private String phase;
+    private int walk;
+    private int depth;
+    private int storedPages;
+    private int retries;
+    private int backtracks;
+    private int resumes;
+}
@@ -0,0 +1,21 @@
+package com.streampulse.backend.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class FastScanResultDTO {
+    // 이번 틱에 실제로 조회한 페이지의 방송
+    @Builder.Default
+    private List<LiveResponseDTO> fresh = new ArrayList<>();
+    // 갱신 주기가 오지 않아 이전 조회 결과를 그대로 이어 쓴 방송
+    @Builder.Default
+    private List<LiveResponseDTO> carried = new ArrayList<>();
+}
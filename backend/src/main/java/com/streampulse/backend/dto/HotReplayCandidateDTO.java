@@ -0,0 +1,19 @@
+package com.streampulse.backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class HotReplayCandidateDTO {
+    private long streamSessionId;
+    private String channelId;
+    private long streamMetricsId;
+    private int viewerCount;
+    private LocalDateTime observedAt;
+}
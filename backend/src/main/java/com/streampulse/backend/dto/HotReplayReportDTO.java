@@ -0,0 +1,30 @@
+package com.streampulse.backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class HotReplayReportDTO {
+    private String runId;
+    private String detector;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean shadow;
+    // RUNNING, DONE, FAILED
+    private String status;
+    private long sessions;
+    private long rows;
+    private long candidates;
+    private long elapsedMs;
+    private String error;
+    // 재현 결과를 실시간 판정과 그대로 비교할 수 없는 이유 (HotDetector.replayCaveat)
+    private String caveat;
+    private List<HotReplayCandidateDTO> samples;
+}
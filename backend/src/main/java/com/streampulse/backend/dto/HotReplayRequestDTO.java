@@ -0,0 +1,20 @@
+package com.streampulse.backend.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class HotReplayRequestDTO {
+    // 재현할 탐지기 이름 (HotDetector.name())
+    private String detector;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    // true 면 후보를 hot_replay_candidate 에 쓰고, false 면 보고서에 일부 표본만 담는다
+    private boolean shadow;
+}
@@ -0,0 +1,20 @@
+package com.streampulse.backend.dto;
+
+import com.streampulse.backend.entity.StreamSession;
+import lombok.*;
+
+/**
+ * FastScan 한 틱에서 방송 하나에 대해 남길 시청 지표. 틱이 끝날 때 한 번에 저장됩니다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ToString
+public class StreamMetricsSampleDTO {
+    private StreamSession session;
+    private LiveResponseDTO live;
+    // HOT 판정 기준이 되는 방송자 평균 시청자 수
+    private int averageViewerCount;
+}
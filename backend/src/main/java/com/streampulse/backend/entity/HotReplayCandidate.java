@@ -0,0 +1,46 @@
+package com.streampulse.backend.entity;
+
+import com.streampulse.backend.common.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * HOT 재현에서 탐지기가 HOT 으로 판정한 지표 행(섀도 테이블). 실제 이벤트와 구독 알림에는 쓰이지 않습니다.
+ */
+@Table(
+        name = "hot_replay_candidate",
+        indexes = {
+                @Index(name = "idx_hot_replay_candidate_run", columnList = "run_id")
+        }
+)
+@Entity
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class HotReplayCandidate extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String runId;
+
+    @Column(nullable = false)
+    private String detector;
+
+    @Column(nullable = false)
+    private Long streamSessionId;
+
+    @Column(nullable = false)
+    private Long streamMetricsId;
+
+    @Column(nullable = false)
+    private int viewerCount;
+
+    @Column(nullable = false)
+    private LocalDateTime observedAt;
+}
@@ -36,6 +36,12 @@ public class StreamSession extends BaseTimeEntity {
 
     private int peakViewerCount;
 
+    // 매 관측마다 누적되는 시청자×초 합계와 관측 시간(StreamMetricsBatchWriter). 지표 행은 변화가 있을 때만 남으므로
+    // 종료 시 지표 이력 대신 이 값으로 시간 가중 평균을 낸다
+    private long viewerSecondsSum;
+
+    private long observedSeconds;
+
     public void setEndedAtToNow() {
         if (endedAt == null) {
             this.endedAt = LocalDateTime.now();
@@ -48,6 +54,14 @@ public class StreamSession extends BaseTimeEntity {
         }
     }
 
+    public boolean hasObservations() {
+        return observedSeconds > 0;
+    }
+
+    public int runningAverageViewerCount() {
+        return observedSeconds == 0 ? 0 : (int) (viewerSecondsSum / observedSeconds);
+    }
+
     public void updateAverageViewerCount(int averageViewerCount) {
         this.averageViewerCount = averageViewerCount;
     }
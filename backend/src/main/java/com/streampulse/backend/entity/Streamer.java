@@ -27,6 +27,11 @@ public class Streamer extends BaseTimeEntity {
     @Column(nullable = false)
     private int averageViewerCount;
 
+    // averageViewerCount 는 종료된 세션 평균들의 평균이며, 세션 이력을 다시 읽지 않도록 합계와 개수를 함께 둔다
+    private int endedSessionCount;
+
+    private long endedSessionAverageSum;
+
     public void updateLive(boolean live) {
         this.live = live;
     }
@@ -35,4 +40,26 @@ public class Streamer extends BaseTimeEntity {
         this.averageViewerCount = averageViewerCount;
     }
 
+    /**
+     * 종료한 세션의 평균을 방송자 평균에 더합니다. 한 번도 관측하지 못한 세션은 평균이 0 으로만 보이므로 집계하지 않습니다.
+     */
+    public void addEndedSession(StreamSession session) {
+        if (!session.hasObservations()) return;
+        endedSessionCount++;
+        endedSessionAverageSum += session.getAverageViewerCount();
+        averageViewerCount = (int) (endedSessionAverageSum / endedSessionCount);
+    }
+
+    /**
+     * 종료로 집계했던 세션이 다시 이어질 때(endedAt 복구) 집계에서 뺍니다. addEndedSession 이 건너뛴 세션은 빼지 않습니다.
+     */
+    public void removeEndedSession(StreamSession session) {
+        if (!session.hasObservations() || endedSessionCount == 0) return;
+        endedSessionCount--;
+        endedSessionAverageSum -= session.getAverageViewerCount();
+        if (endedSessionCount > 0) {
+            averageViewerCount = (int) (endedSessionAverageSum / endedSessionCount);
+        }
+    }
+
 }
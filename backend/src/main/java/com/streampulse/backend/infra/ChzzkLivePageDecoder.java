@@ -0,0 +1,169 @@
+package com.streampulse.backend.infra;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streampulse.backend.dto.ChzzkRootResponseDTO;
+import com.streampulse.backend.dto.LiveListResponseDTO;
+import com.streampulse.backend.dto.LiveResponseDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * /open/v1/lives 응답을 Jackson 스트리밍 파서로 읽어 동기화에 쓰는 필드만 채웁니다.
+ * 썸네일, 채널 이미지, 성인 여부, categoryType 같은 필드는 객체로 만들지 않고 건너뜁니다.
+ * 카테고리와 태그처럼 페이지마다 반복되는 문자열은 하나의 인스턴스로 공유합니다.
+ */
+@Component
+public class ChzzkLivePageDecoder {
+
+    // 카테고리/태그 종류는 많지 않으므로 상한을 넘으면 더 이상 캐싱하지 않는다
+    private static final int MAX_INTERNED = 20_000;
+
+    private final JsonFactory jsonFactory;
+    private final Map<String, String> interned = new ConcurrentHashMap<>();
+
+    public ChzzkLivePageDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public ChzzkRootResponseDTO decode(InputStream in) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(p, "치지직 응답이 JSON 객체가 아닙니다.");
+            }
+
+            ChzzkRootResponseDTO root = new ChzzkRootResponseDTO();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "code" -> root.setCode(p.getValueAsInt());
+                    case "message" -> root.setMessage(p.getValueAsString());
+                    case "content" -> root.setContent(readContent(p));
+                    default -> p.skipChildren();
+                }
+            }
+            return root;
+        }
+    }
+
+    private LiveListResponseDTO readContent(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+
+        LiveListResponseDTO content = new LiveListResponseDTO();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "data" -> content.setData(readLives(p));
+                case "page" -> content.setPage(readPage(p));
+                default -> p.skipChildren();
+            }
+        }
+        return content;
+    }
+
+    private List<LiveResponseDTO> readLives(JsonParser p) throws IOException {
+        List<LiveResponseDTO> lives = new ArrayList<>(20);
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return lives;
+        }
+
+        // null 이나 객체가 아닌 원소가 섞여 있어도 배열 끝까지 읽어야 뒤의 방송과 page 를 놓치지 않는다
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonParseException(p, "치지직 응답의 data 배열이 끝나지 않았습니다.");
+            }
+            if (token == JsonToken.START_OBJECT) {
+                lives.add(readLive(p));
+            } else {
+                p.skipChildren();
+            }
+        }
+        return lives;
+    }
+
+    private LiveResponseDTO readLive(JsonParser p) throws IOException {
+        LiveResponseDTO dto = new LiveResponseDTO();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            if (value == JsonToken.VALUE_NULL) continue;
+
+            switch (field) {
+                case "liveTitle" -> dto.setLiveTitle(p.getText());
+                case "concurrentUserCount" -> dto.setConcurrentUserCount(p.getValueAsInt());
+                case "openDate" -> dto.setOpenDate(p.getText());
+                case "tags" -> dto.setTags(readTags(p));
+                case "liveCategory" -> dto.setLiveCategory(intern(p.getText()));
+                case "liveCategoryValue" -> dto.setLiveCategoryValue(intern(p.getText()));
+                case "channelId" -> dto.setChannelId(p.getText());
+                case "channelName" -> dto.setChannelName(p.getText());
+                default -> p.skipChildren();
+            }
+        }
+        return dto;
+    }
+
+    private List<String> readTags(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return List.of();
+        }
+
+        List<String> tags = new ArrayList<>();
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonParseException(p, "치지직 응답의 tags 배열이 끝나지 않았습니다.");
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                tags.add(intern(p.getText()));
+            } else {
+                p.skipChildren();
+            }
+        }
+        return tags;
+    }
+
+    private LiveListResponseDTO.PageInfo readPage(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+
+        LiveListResponseDTO.PageInfo page = new LiveListResponseDTO.PageInfo();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            if ("next".equals(field)) {
+                page.setNext(p.getValueAsString());
+            } else {
+                p.skipChildren();
+            }
+        }
+        return page;
+    }
+
+    private String intern(String value) {
+        String cached = interned.get(value);
+        if (cached != null) return cached;
+        if (interned.size() >= MAX_INTERNED) return value;
+        cached = interned.putIfAbsent(value, value);
+        return cached != null ? cached : value;
+    }
+}
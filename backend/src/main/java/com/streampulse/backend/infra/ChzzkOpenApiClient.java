@@ -8,7 +8,9 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 @Component
@@ -17,6 +19,11 @@ import org.springframework.web.client.RestTemplate;
 public class ChzzkOpenApiClient {
 
     private final RestTemplate restTemplate;
+    private final ChzzkRateLimiter rateLimiter;
+    private final ChzzkLivePageDecoder livePageDecoder;
+
+    // 429 를 받으면 리미터가 속도를 낮춘 뒤 이 횟수만큼 다시 시도한다
+    private static final int MAX_THROTTLE_RETRIES = 2;
 
     @Value("${chzzk.api-base-url}")
     private String chzzkBaseUrl;
@@ -27,31 +34,53 @@ public class ChzzkOpenApiClient {
     @Value("${chzzk.client-secret}")
     private String clientSecret;
 
+    @Value("${chzzk.streaming-decode:true}")
+    private boolean streamingDecode;
+
     public ChzzkRootResponseDTO fetchPage(String next) {
         String url = chzzkBaseUrl + "/open/v1/lives?size=20" + (next != null && !next.isEmpty() ? "&next=" + next : "");
         HttpHeaders headers = new HttpHeaders();
         headers.set("Client-Id", clientId);
         headers.set("Client-Secret", clientSecret);
         HttpEntity<String> entity = new HttpEntity<>(headers);
+        RequestCallback requestCallback = request -> request.getHeaders().addAll(headers);
+        ResponseExtractor<ChzzkRootResponseDTO> streamingExtractor = response -> livePageDecoder.decode(response.getBody());
+
+        for (int attempt = 0; attempt <= MAX_THROTTLE_RETRIES; attempt++) {
+            if (!rateLimiter.acquire()) {
+                return null;
+            }
 
-        try {
-            ResponseEntity<ChzzkRootResponseDTO> resp = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    ChzzkRootResponseDTO.class
-            );
-            return resp.getBody();
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
-                log.warn("❗치지직 API 호출 제한 (429): {}", e.getMessage());
+            try {
+                ChzzkRootResponseDTO body;
+                if (streamingDecode) {
+                    body = restTemplate.execute(url, HttpMethod.GET, requestCallback, streamingExtractor);
+                } else {
+                    ResponseEntity<ChzzkRootResponseDTO> resp = restTemplate.exchange(
+                            url,
+                            HttpMethod.GET,
+                            entity,
+                            ChzzkRootResponseDTO.class
+                    );
+                    body = resp.getBody();
+                }
+                rateLimiter.onSuccess();
+                return body;
+            } catch (HttpClientErrorException e) {
+                if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                    log.warn("❗치지직 API 호출 제한 (429), 시도 {}/{}: {}", attempt + 1, MAX_THROTTLE_RETRIES + 1, e.getMessage());
+                    rateLimiter.onThrottle();
+                    continue;
+                }
+                log.warn("❗치지직 API 요청 오류 ({}): {}", e.getStatusCode(), e.getMessage());
+            } catch (HttpServerErrorException e) {
+                log.warn("❗치지직 API 서버 오류 ({}): {}", e.getStatusCode(), e.getMessage());
+            } catch (ResourceAccessException e) {
+                log.warn("❗치지직 API 네트워크 연결 실패: {}", e.getMessage());
+            } catch (Exception e) {
+                log.warn("❗치지직 API 호출 실패: {}", e.getMessage(), e);
             }
-        } catch (HttpServerErrorException e) {
-            log.warn("❗치지직 API 서버 오류 ({}): {}", e.getStatusCode(), e.getMessage());
-        } catch (ResourceAccessException e) {
-            log.warn("❗치지직 API 네트워크 연결 실패: {}", e.getMessage());
-        } catch (Exception e) {
-            log.warn("❗치지직 API 호출 실패: {}", e.getMessage(), e);
+            return null;
         }
         return null;
     }
@@ -0,0 +1,143 @@
+package com.streampulse.backend.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 치지직 Open API 호출 전체가 공유하는 토큰 버킷입니다.
+ * 성공 시 충전 속도를 조금씩 올리고(가산 증가), 429 를 받으면 크게 줄입니다(승산 감소).
+ * 토큰이 없으면 호출 스레드는 다음 토큰 시각까지 park 됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChzzkRateLimiter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chzzk.rate-limit.initial-rate:10}")
+    private double initialRate;
+
+    @Value("${chzzk.rate-limit.min-rate:1}")
+    private double minRate;
+
+    @Value("${chzzk.rate-limit.max-rate:20}")
+    private double maxRate;
+
+    @Value("${chzzk.rate-limit.increase-step:0.1}")
+    private double increaseStep;
+
+    @Value("${chzzk.rate-limit.decrease-factor:0.5}")
+    private double decreaseFactor;
+
+    @Value("${chzzk.rate-limit.burst:5}")
+    private double burst;
+
+    // 동시에 날아간 요청들이 한꺼번에 429 를 받아도 한 번만 감소시키기 위한 간격
+    private static final long DECREASE_COOLDOWN_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+    private long lastDecreaseNanos;
+
+    private Counter throttledCounter;
+    private Timer waitTimer;
+
+    @PostConstruct
+    public void init() {
+        rate = initialRate;
+        tokens = burst;
+        lastRefillNanos = System.nanoTime();
+        lastDecreaseNanos = lastRefillNanos - DECREASE_COOLDOWN_NANOS;
+
+        Gauge.builder("chzzk_rate_limiter_rate", this, ChzzkRateLimiter::getRate)
+                .description("치지직 API 초당 허용 호출 수")
+                .register(meterRegistry);
+        throttledCounter = Counter.builder("chzzk_rate_limiter_throttled_total")
+                .description("치지직 API 429 응답 횟수")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("chzzk_rate_limiter_wait_seconds")
+                .description("토큰을 얻기까지 대기한 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰 하나를 얻을 때까지 대기합니다.
+     *
+     * @return 인터럽트로 대기가 중단되면 false. 이때 선점한 토큰은 돌려주고 인터럽트 상태는 유지한다
+     */
+    public boolean acquire() {
+        long startNanos = System.nanoTime();
+        long waitNanos = reserve(startNanos);
+
+        long deadline = startNanos + waitNanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+            if (Thread.interrupted()) {
+                // 쓰지 않은 토큰이 빚으로 남으면 뒤의 호출이 그만큼 더 기다린다
+                release();
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + increaseStep);
+    }
+
+    public synchronized void onThrottle() {
+        throttledCounter.increment();
+
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < DECREASE_COOLDOWN_NANOS) return;
+        lastDecreaseNanos = now;
+
+        refill(now);
+        rate = Math.max(minRate, rate * decreaseFactor);
+        // 남은 버스트를 비워 이미 대기 중인 호출 뒤로 새 호출이 밀리도록 한다
+        tokens = Math.min(tokens, 0);
+        log.warn("[RateLimiter] 429 감지 → 호출 속도 {}/s 로 감소", String.format("%.2f", rate));
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    /**
+     * 토큰을 선점하고 그 토큰이 충전될 때까지 기다려야 하는 시간을 반환합니다.
+     * 토큰이 부족하면 음수(빚)로 내려가고, 이후 충전분이 빚을 먼저 갚습니다.
+     */
+    private synchronized long reserve(long now) {
+        refill(now);
+        tokens -= 1;
+        if (tokens >= 0) return 0;
+        return (long) (-tokens / rate * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private synchronized void release() {
+        tokens = Math.min(burst, tokens + 1);
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed <= 0) return;
+        tokens = Math.min(burst, tokens + elapsed * rate / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+    }
+}
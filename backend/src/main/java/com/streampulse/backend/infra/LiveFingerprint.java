@@ -0,0 +1,64 @@
+package com.streampulse.backend.infra;
+
+import com.streampulse.backend.dto.LiveResponseDTO;
+
+import java.util.List;
+
+/**
+ * 방송 제목, 카테고리, 태그로 만든 64비트 지문입니다. 값이 바뀌었는지만 알면 되므로 JSON 대신 이 값을 저장하고 비교합니다.
+ * 문자열을 새로 만들지 않고 문자 단위로 FNV-1a 를 누적하며, 태그는 각 해시를 섞은 뒤 더해 순서와 무관하게 같은 값이 나옵니다.
+ */
+public final class LiveFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private LiveFingerprint() {
+    }
+
+    public static long of(LiveResponseDTO dto) {
+        return of(dto.getLiveTitle(), dto.getLiveCategory(), dto.getTags());
+    }
+
+    /**
+     * null 은 빈 문자열(태그는 빈 목록)과 같게 취급합니다.
+     */
+    public static long of(String title, String category, List<String> tags) {
+        long hash = FNV_OFFSET;
+        hash = update(hash, title);
+        hash = update(hash, category);
+
+        long tagSum = 0;
+        int tagCount = 0;
+        if (tags != null) {
+            for (String tag : tags) {
+                tagSum += fmix64(update(FNV_OFFSET, tag));
+                tagCount++;
+            }
+        }
+        hash = (hash ^ fmix64(tagSum)) * FNV_PRIME;
+        hash = (hash ^ tagCount) * FNV_PRIME;
+        return fmix64(hash);
+    }
+
+    // 필드 경계를 구분하도록 길이까지 누적한다 ("ab" + "c" 와 "a" + "bc" 가 달라지게)
+    private static long update(long hash, String value) {
+        int length = value != null ? value.length() : 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return (hash ^ length) * FNV_PRIME;
+    }
+
+    // MurmurHash3 의 64비트 finalizer
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
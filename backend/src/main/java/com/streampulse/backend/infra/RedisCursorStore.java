@@ -1,27 +1,101 @@
 package com.streampulse.backend.infra;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Set;
+import java.time.Duration;
+import java.util.*;
 
+/**
+ * 커서 ZSET 저장소.
+ * 커서 목록은 세대(generation)별 키 {namespace}:gen:{n} 에 한 번에 쓰고, {namespace}:active 포인터를 바꿔 활성화합니다.
+ * 세대 키는 쓰고 나면 바뀌지 않으므로 읽는 쪽은 항상 한 세대의 완전한 목록을 봅니다.
+ * 발행 스크립트가 세대 키를 스크립트 안에서 만들기 때문에, namespace 는 발행 리스 키와 같은 해시 태그로 시작해야
+ * Redis Cluster 에서 모든 키가 한 슬롯에 놓입니다.
+ */
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class RedisCursorStore {
 
     private final StringRedisTemplate redisTemplate;
 
-    public void saveZSet(String key, Map<Integer, String> indexToCursor) {
-        redisTemplate.delete(key);
-        ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
+    // 포인터가 바뀐 뒤에도 이전 세대를 읽고 있던 FastScan 이 끝날 수 있도록 남겨 두는 시간
+    private static final Duration PREVIOUS_GENERATION_TTL = Duration.ofMinutes(10);
+    private static final long LEGACY_GENERATION = 0;
+    private static final RedisScript<Long> PUBLISH_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/cursor-publish.lua"), Long.class);
+
+    /**
+     * 새 세대 키에 커서 목록을 쓰고 활성 포인터를 바꿉니다.
+     * 펜스 확인, 세대 발급, ZADD, 이전 포인터 조회와 교체, 이전 세대 만료가 하나의 Lua 스크립트로 실행됩니다.
+     *
+     * @param namespace 발행 리스 키와 같은 해시 태그로 시작하는 키 접두사
+     * @param fence 발행 리스. 스크립트 안에서 같은 펜스로 쥐고 있을 때만 발행합니다
+     * @return 활성화된 세대 번호, 리스를 잃어 발행하지 않았으면 empty
+     */
+    public Optional<Long> publishGeneration(String namespace, Map<Integer, String> indexToCursor,
+                                            RedisLeaseManager.Fence fence) {
+        if (indexToCursor.isEmpty()) {
+            throw new IllegalArgumentException("빈 커서 목록은 발행할 수 없습니다.");
+        }
+        if (!hashTag(namespace).equals(hashTag(fence.getKey()))) {
+            throw new IllegalArgumentException("커서 네임스페이스 " + namespace + " 가 리스 키 " + fence.getKey()
+                    + " 와 같은 해시 태그를 쓰지 않습니다.");
+        }
+
+        List<String> args = new ArrayList<>(3 + indexToCursor.size() * 2);
+        args.add(fence.getHolder());
+        args.add(generationKeyPrefix(namespace));
+        args.add(String.valueOf(PREVIOUS_GENERATION_TTL.toMillis()));
         for (Map.Entry<Integer, String> entry : indexToCursor.entrySet()) {
-            zSetOps.add(key, entry.getValue(), entry.getKey());
+            args.add(String.valueOf(entry.getKey()));
+            args.add(entry.getValue());
+        }
+
+        Long generation = redisTemplate.execute(PUBLISH_SCRIPT,
+                List.of(namespace + ":generation", activeKey(namespace), legacyKey(namespace), fence.getKey()),
+                args.toArray());
+        if (generation == null) {
+            throw new IllegalStateException("커서 세대 발행 실패");
+        }
+        return generation < 0 ? Optional.empty() : Optional.of(generation);
+    }
+
+    /**
+     * 활성 세대의 커서 목록을 읽습니다. 아직 세대가 발행된 적 없으면 기존 {namespace}:current 키를 세대 0 으로 읽습니다.
+     */
+    public Optional<CursorGeneration> loadActiveGeneration(String namespace) {
+        // 포인터를 읽은 직후 세대가 두 번 바뀌어 키가 만료되는 경우에 대비해 한 번 더 읽는다
+        for (int attempt = 0; attempt < 2; attempt++) {
+            String active = redisTemplate.opsForValue().get(activeKey(namespace));
+            if (active == null) {
+                Map<Integer, String> legacy = loadZSet(legacyKey(namespace));
+                return legacy.isEmpty()
+                        ? Optional.empty()
+                        : Optional.of(new CursorGeneration(LEGACY_GENERATION, legacy));
+            }
+
+            long generation = Long.parseLong(active);
+            Map<Integer, String> cursors = loadZSet(generationKey(namespace, generation));
+            if (!cursors.isEmpty()) {
+                return Optional.of(new CursorGeneration(generation, cursors));
+            }
+            log.warn("[Cursor] 세대 {} 키가 비어 있어 포인터를 다시 읽습니다.", generation);
         }
+        return Optional.empty();
+    }
+
+    public boolean hasActiveGeneration(String namespace) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(activeKey(namespace)))
+                || Boolean.TRUE.equals(redisTemplate.hasKey(legacyKey(namespace)));
     }
 
     public Map<Integer, String> loadZSet(String key) {
@@ -40,8 +114,52 @@ public class RedisCursorStore {
         return result;
     }
 
-    public void rename(String fromKey, String toKey) {
-        redisTemplate.rename(fromKey, toKey);
+    public void saveTimestamp(String key, long epochMillis) {
+        redisTemplate.opsForValue().set(key, String.valueOf(epochMillis));
     }
 
+    public Long loadTimestamp(String key) {
+        String value = redisTemplate.opsForValue().get(key);
+        if (value == null) return null;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String activeKey(String namespace) {
+        return namespace + ":active";
+    }
+
+    private static String generationKey(String namespace, long generation) {
+        return generationKeyPrefix(namespace) + generation;
+    }
+
+    private static String generationKeyPrefix(String namespace) {
+        return namespace + ":gen:";
+    }
+
+    private static String legacyKey(String namespace) {
+        return namespace + ":current";
+    }
+
+    /**
+     * Redis Cluster 가 슬롯을 정할 때 쓰는 부분. 첫 '{' 와 그 뒤 첫 '}' 사이가 비어 있지 않으면 그 부분, 아니면 키 전체입니다.
+     */
+    static String hashTag(String key) {
+        int open = key.indexOf('{');
+        if (open >= 0) {
+            int close = key.indexOf('}', open + 1);
+            if (close > open + 1) return key.substring(open + 1, close);
+        }
+        return key;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CursorGeneration {
+        private final long generation;
+        private final Map<Integer, String> indexToCursor;
+    }
 }
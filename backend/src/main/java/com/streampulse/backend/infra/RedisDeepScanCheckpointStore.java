@@ -0,0 +1,121 @@
+package com.streampulse.backend.infra;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streampulse.backend.dto.DeepScanCheckpointDTO;
+import com.streampulse.backend.dto.DeepScanPageDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * DeepScan 체크포인트 저장소.
+ * 페이지는 저장될 때마다 리스트에 하나씩 덧붙이고, 방문/실패 커서는 Redis SET 에 새로 늘어난 것만 더합니다.
+ * 탐색 경로와 카운터만 단일 JSON 값으로 덮어쓰므로 페이지당 쓰기량이 누적 페이지 수에 비례하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisDeepScanCheckpointStore {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String STATE_KEY = "deep_scan:checkpoint:state";
+    private static final String PAGES_KEY = "deep_scan:checkpoint:pages";
+    private static final String VISITED_KEY = "deep_scan:checkpoint:visited";
+    private static final String FAILED_KEY = "deep_scan:checkpoint:failed";
+
+    // 커서는 시간이 지나면 무효해지므로 오래된 체크포인트는 자연히 사라지게 한다
+    @Value("${app.deep-scan.checkpoint-ttl-seconds:1800}")
+    private long ttlSeconds;
+
+    /**
+     * @param delta visited/failed 에는 직전 저장 이후 추가된 커서만 담긴 체크포인트
+     */
+    public void appendPage(DeepScanPageDTO page, DeepScanCheckpointDTO delta) {
+        String pageJson = write(page);
+        String stateJson = write(delta.toBuilder().visited(null).failed(null).build());
+        String[] newVisited = toArray(delta.getVisited());
+        String[] newFailed = toArray(delta.getFailed());
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            conn.rPush(PAGES_KEY, pageJson);
+            conn.expire(PAGES_KEY, ttlSeconds);
+            if (newVisited.length > 0) conn.sAdd(VISITED_KEY, newVisited);
+            conn.expire(VISITED_KEY, ttlSeconds);
+            if (newFailed.length > 0) conn.sAdd(FAILED_KEY, newFailed);
+            conn.expire(FAILED_KEY, ttlSeconds);
+            conn.set(STATE_KEY, stateJson, Expiration.seconds(ttlSeconds), RedisStringCommands.SetOption.UPSERT);
+            return null;
+        });
+    }
+
+    public Optional<Checkpoint> load() {
+        String stateJson = redisTemplate.opsForValue().get(STATE_KEY);
+        if (stateJson == null) return Optional.empty();
+
+        List<String> pageJsons = redisTemplate.opsForList().range(PAGES_KEY, 0, -1);
+        Set<String> visited = redisTemplate.opsForSet().members(VISITED_KEY);
+        Set<String> failed = redisTemplate.opsForSet().members(FAILED_KEY);
+        try {
+            DeepScanCheckpointDTO state = objectMapper.readValue(stateJson, DeepScanCheckpointDTO.class);
+            // 이전 형식(상태 JSON 안에 전체 집합)으로 저장된 체크포인트는 JSON 의 값을 그대로 쓴다
+            state.setVisited(merge(state.getVisited(), visited));
+            state.setFailed(merge(state.getFailed(), failed));
+            List<DeepScanPageDTO> pages = new ArrayList<>();
+            if (pageJsons != null) {
+                for (String json : pageJsons) {
+                    pages.add(objectMapper.readValue(json, DeepScanPageDTO.class));
+                }
+            }
+            return Optional.of(new Checkpoint(state, pages));
+        } catch (JsonProcessingException e) {
+            log.warn("[DeepScan] 체크포인트 역직렬화 실패 → 폐기: {}", e.getMessage());
+            clear();
+            return Optional.empty();
+        }
+    }
+
+    public void clear() {
+        redisTemplate.delete(List.of(STATE_KEY, PAGES_KEY, VISITED_KEY, FAILED_KEY));
+    }
+
+    private static List<String> merge(List<String> legacy, Set<String> members) {
+        List<String> merged = legacy == null ? new ArrayList<>() : new ArrayList<>(legacy);
+        if (members != null) merged.addAll(members);
+        return merged;
+    }
+
+    private static String[] toArray(List<String> cursors) {
+        return cursors == null ? new String[0] : cursors.toArray(String[]::new);
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("체크포인트 직렬화 실패", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Checkpoint {
+        private final DeepScanCheckpointDTO state;
+        private final List<DeepScanPageDTO> pages;
+    }
+}
@@ -0,0 +1,50 @@
+package com.streampulse.backend.infra;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * HOT 쿨다운 키 저장소. 세션(hot:{sessionId}), 방송자(hot:streamer:{channelId}), 카테고리(hot:category:{category}) 키를
+ * Lua 스크립트 한 번으로 확인하고 선점합니다. 세션 키는 이전과 같은 이름을 써서 배포 전에 낸 HOT 의 쿨다운도 이어집니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisHotCooldownStore {
+
+    private final StringRedisTemplate redisTemplate;
+
+    private static final String SESSION_PREFIX = "hot:";
+    private static final String STREAMER_PREFIX = "hot:streamer:";
+    private static final String CATEGORY_PREFIX = "hot:category:";
+
+    private static final RedisScript<Long> COOLDOWN_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/hot-cooldown.lua"), Long.class);
+
+    /**
+     * 쿨다운 중이 아니면 세 범위의 키를 함께 기록합니다.
+     *
+     * @param cooldownsMs 세션, 방송자, 카테고리 순서의 쿨다운(ms). 0 이면 그 범위는 쓰지 않는다
+     * @param lowSinceHot 마지막 HOT 이후 최저 시청자 수. 모르면 -1
+     * @return 0 이면 선점, 1/2/3 이면 세션/방송자/카테고리 쿨다운으로 억제
+     */
+    public int acquire(Long sessionId, String channelId, String category, long[] cooldownsMs,
+                       int viewerCount, int lowSinceHot, double rearmDropRatio) {
+        List<String> keys = List.of(
+                SESSION_PREFIX + sessionId,
+                STREAMER_PREFIX + channelId,
+                CATEGORY_PREFIX + Objects.requireNonNullElse(category, ""));
+        Long result = redisTemplate.execute(COOLDOWN_SCRIPT, keys,
+                String.valueOf(cooldownsMs[0]), String.valueOf(cooldownsMs[1]), String.valueOf(cooldownsMs[2]),
+                String.valueOf(viewerCount), String.valueOf(lowSinceHot), String.valueOf(rearmDropRatio));
+        if (result == null) {
+            throw new IllegalStateException("HOT 쿨다운 스크립트 결과가 없습니다");
+        }
+        return result.intValue();
+    }
+}
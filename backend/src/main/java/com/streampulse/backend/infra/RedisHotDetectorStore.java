@@ -0,0 +1,50 @@
+package com.streampulse.backend.infra;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HOT 탐지기 상태 체크포인트 저장소. 탐지기마다 hot:detector:{name} 해시 하나에 channelId → 상태 문자열로 둡니다.
+ * 여러 노드가 나눠 스캔할 때 서로의 방송을 지우지 않도록 통째로 교체하지 않고, 각 노드가 자기 방송만 쓰고 지웁니다.
+ * 어느 방송이 자기 방송인지는 호출하는 쪽(HotDetectionEngine)이 걸러 넘깁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisHotDetectorStore {
+
+    private final StringRedisTemplate redisTemplate;
+
+    private static final String KEY_PREFIX = "hot:detector:";
+
+    // 체크포인트가 끊긴 채 남은 상태는 자연히 사라지게 한다
+    @Value("${app.hot.checkpoint-ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    public void save(String detector, Map<String, String> states, Collection<String> removed) {
+        if (states.isEmpty() && removed.isEmpty()) return;
+
+        String key = KEY_PREFIX + detector;
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            if (!removed.isEmpty()) conn.hDel(key, removed.toArray(new String[0]));
+            if (!states.isEmpty()) conn.hMSet(key, states);
+            conn.expire(key, ttlSeconds);
+            return null;
+        });
+    }
+
+    public Map<String, String> load(String detector) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(KEY_PREFIX + detector);
+        Map<String, String> result = new HashMap<>(entries.size());
+        entries.forEach((channelId, state) -> result.put(channelId.toString(), state.toString()));
+        return result;
+    }
+}
@@ -0,0 +1,214 @@
+package com.streampulse.backend.infra;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 여러 백엔드 인스턴스 중 한 곳에서만 스캔이 돌도록 하는 Redis 리스입니다.
+ * 리스를 얻을 때마다 단조 증가하는 펜스 토큰이 발급되고, 쥐고 있는 동안 TTL 의 1/3 주기로 연장됩니다.
+ * 연장이 실패하면(만료 후 다른 노드가 가져감) 리스를 잃은 것으로 보고, 이전 펜스로 시작한 작업은 결과를 반영하지 않아야 합니다.
+ * 리스 키는 lease:{name} 처럼 이름을 해시 태그로 감싸 펜스 카운터와 같은 Redis Cluster 슬롯에 둡니다.
+ * 리스 확인을 다른 스크립트 안에서 함께 하려면 그 스크립트의 키에도 같은 해시 태그를 붙여야 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisLeaseManager {
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskScheduler scanTaskScheduler;
+
+    private static final String KEY_PREFIX = "lease:";
+    private static final RedisScript<Long> ACQUIRE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/lease-acquire.lua"), Long.class);
+    private static final RedisScript<Long> RENEW_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/lease-renew.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/lease-release.lua"), Long.class);
+
+    @Value("${app.node-id:${HOSTNAME:}}")
+    private String configuredNodeId;
+
+    @Value("${app.lease.ttl-ms:90000}")
+    private long ttlMs;
+
+    private String nodeId;
+    private ScheduledFuture<?> renewalTask;
+    private final Map<String, Lease> held = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastFence = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        nodeId = configuredNodeId == null || configuredNodeId.isBlank()
+                ? UUID.randomUUID().toString()
+                : configuredNodeId;
+        renewalTask = scanTaskScheduler.scheduleAtFixedRate(this::renewHeld, Duration.ofMillis(ttlMs / 3));
+        log.info("[Lease] 노드 ID = {}, TTL = {}ms", nodeId, ttlMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (renewalTask != null) renewalTask.cancel(false);
+        // 종료 시 리스를 바로 놓아 대기 중인 노드가 TTL 만료를 기다리지 않게 한다
+        held.values().forEach(this::release);
+    }
+
+    /**
+     * 리스를 얻거나, 이미 쥐고 있으면 연장합니다.
+     *
+     * @return 이 노드가 리스를 쥐고 있으면 펜스 토큰이 담긴 리스, 다른 노드가 쥐고 있으면 empty
+     */
+    public Optional<Lease> acquire(String name) {
+        registerMeters(name);
+
+        Long fence;
+        try {
+            fence = redisTemplate.execute(ACQUIRE_SCRIPT, List.of(keyOf(name), keyOf(name) + ":fence"),
+                    nodeId, String.valueOf(ttlMs));
+        } catch (Exception e) {
+            log.warn("[Lease] {} 리스 획득 실패: {}", name, e.getMessage());
+            lose(name);
+            return Optional.empty();
+        }
+
+        if (fence == null || fence < 0) {
+            lose(name);
+            return Optional.empty();
+        }
+
+        Lease lease = new Lease(name, fence);
+        Lease previous = held.put(name, lease);
+        lastFence.put(name, fence);
+        if (previous == null || previous.getFence() != fence) {
+            meterRegistry.counter("scan_lease_handovers_total", "lease", name, "type", "acquired").increment();
+            log.info("[Lease] {} 리스 획득 node={} fence={}", name, nodeId, fence);
+        } else {
+            meterRegistry.counter("scan_lease_renewals_total", "lease", name).increment();
+        }
+        return Optional.of(lease);
+    }
+
+    /**
+     * 리스가 아직 같은 펜스로 이 노드에 있는지 Redis 에서 확인합니다. 결과를 반영하기 직전에 호출합니다.
+     */
+    public boolean isHeld(Lease lease) {
+        try {
+            return holderValue(lease).equals(redisTemplate.opsForValue().get(keyOf(lease.getName())));
+        } catch (Exception e) {
+            log.warn("[Lease] {} 리스 확인 실패: {}", lease.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(Lease lease) {
+        held.remove(lease.getName(), lease);
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(keyOf(lease.getName())), holderValue(lease));
+            log.info("[Lease] {} 리스 반납 fence={}", lease.getName(), lease.getFence());
+        } catch (Exception e) {
+            log.warn("[Lease] {} 리스 반납 실패, TTL 만료를 기다립니다: {}", lease.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * 리스 확인을 다른 Lua 스크립트 안에서 함께 하도록 리스 키와 기대 값을 돌려줍니다.
+     */
+    public Fence fenceOf(Lease lease) {
+        return new Fence(keyOf(lease.getName()), holderValue(lease));
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void renewHeld() {
+        for (Lease lease : held.values()) {
+            try {
+                Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(keyOf(lease.getName())),
+                        holderValue(lease), String.valueOf(ttlMs));
+                if (renewed != null && renewed == 1) {
+                    meterRegistry.counter("scan_lease_renewals_total", "lease", lease.getName()).increment();
+                } else {
+                    lose(lease.getName());
+                }
+            } catch (Exception e) {
+                // 일시적인 오류일 수 있으므로 다음 주기에 다시 연장한다. TTL 이 지나면 자연히 잃는다
+                log.warn("[Lease] {} 리스 연장 실패: {}", lease.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private void lose(String name) {
+        Lease lost = held.remove(name);
+        if (lost != null) {
+            meterRegistry.counter("scan_lease_handovers_total", "lease", name, "type", "lost").increment();
+            log.warn("[Lease] {} 리스를 잃었습니다 fence={}", name, lost.getFence());
+        }
+    }
+
+    private void registerMeters(String name) {
+        if (lastFence.containsKey(name)) return;
+        lastFence.putIfAbsent(name, 0L);
+        Gauge.builder("scan_lease_holder", held, m -> m.containsKey(name) ? 1 : 0)
+                .tag("lease", name)
+                .description("이 노드가 리스를 쥐고 있으면 1")
+                .register(meterRegistry);
+        Gauge.builder("scan_lease_fence", lastFence, m -> m.getOrDefault(name, 0L))
+                .tag("lease", name)
+                .description("이 노드가 마지막으로 받은 펜스 토큰")
+                .register(meterRegistry);
+        Counter.builder("scan_lease_renewals_total").tag("lease", name).register(meterRegistry);
+    }
+
+    private static String keyOf(String name) {
+        return KEY_PREFIX + "{" + name + "}";
+    }
+
+    private String holderValue(Lease lease) {
+        return nodeId + "|" + lease.getFence();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Lease {
+        private final String name;
+        private final long fence;
+    }
+
+    /**
+     * 리스 키와 그 키에 있어야 할 '노드ID|펜스' 값
+     */
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class Fence {
+        private final String key;
+        private final String holder;
+    }
+}
@@ -0,0 +1,203 @@
+package com.streampulse.backend.infra;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * 채널별 키(snapshot:, LIVE_STATIC:, lastSeen:)를 {@link RedisLiveStore} 의 해시/ZSET 구조로 옮깁니다.
+ * 스냅샷 JSON(채널별 키와 live:snapshot 해시)은 {@link LiveFingerprint} 지문으로 바꿔 옮깁니다.
+ * 이미 새 구조에 있는 값은 덮어쓰지 않으며, 옮기기 전후의 Redis 메모리 사용량(MEMORY USAGE)을 로그로 남깁니다.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class RedisLiveStateMigration implements ApplicationRunner {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String LEGACY_SNAPSHOT_PREFIX = "snapshot:";
+    private static final String LEGACY_STATIC_PREFIX = "LIVE_STATIC:";
+    private static final String LEGACY_LAST_SEEN_PREFIX = "lastSeen:";
+    // 지문 도입 전 방송 정보 JSON 을 담던 해시
+    private static final String LEGACY_SNAPSHOT_HASH_KEY = "live:snapshot";
+    private static final int BATCH_SIZE = 1000;
+    // 키가 많으면 일부만 재서 전체를 추정한다
+    private static final int MEMORY_SAMPLE_SIZE = 500;
+
+    @Value("${app.live-store.migrate-legacy-keys:true}")
+    private boolean enabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) return;
+        try {
+            migrate();
+        } catch (Exception e) {
+            log.warn("[LiveStore] 기존 방송 상태 키 이전 실패: {}", e.getMessage());
+        }
+    }
+
+    private void migrate() {
+        List<String> snapshotKeys = scanKeys(LEGACY_SNAPSHOT_PREFIX);
+        List<String> staticKeys = scanKeys(LEGACY_STATIC_PREFIX);
+        List<String> lastSeenKeys = scanKeys(LEGACY_LAST_SEEN_PREFIX);
+        boolean hasSnapshotHash = Boolean.TRUE.equals(redisTemplate.hasKey(LEGACY_SNAPSHOT_HASH_KEY));
+        int legacyCount = snapshotKeys.size() + staticKeys.size() + lastSeenKeys.size() + (hasSnapshotHash ? 1 : 0);
+        if (legacyCount == 0) return;
+
+        long before = estimateMemory(snapshotKeys) + estimateMemory(staticKeys) + estimateMemory(lastSeenKeys)
+                + memoryUsage(LEGACY_SNAPSHOT_HASH_KEY) + newLayoutMemory();
+        String now = String.valueOf(Instant.now().getEpochSecond());
+
+        for (List<String> batch : batches(snapshotKeys)) {
+            List<String> values = redisTemplate.opsForValue().multiGet(batch);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (int i = 0; i < batch.size(); i++) {
+                    Long fingerprint = fingerprintOf(values != null ? values.get(i) : null);
+                    if (fingerprint == null) continue;
+                    conn.hSetNX(RedisLiveStore.FINGERPRINT_KEY, channelId(batch.get(i), LEGACY_SNAPSHOT_PREFIX),
+                            fingerprint.toString());
+                }
+                conn.del(batch.toArray(new String[0]));
+                return null;
+            });
+        }
+
+        if (hasSnapshotHash) {
+            Map<Object, Object> snapshots = redisTemplate.opsForHash().entries(LEGACY_SNAPSHOT_HASH_KEY);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                snapshots.forEach((channelId, json) -> {
+                    Long fingerprint = fingerprintOf(json.toString());
+                    if (fingerprint != null) {
+                        conn.hSetNX(RedisLiveStore.FINGERPRINT_KEY, channelId.toString(), fingerprint.toString());
+                    }
+                });
+                conn.del(LEGACY_SNAPSHOT_HASH_KEY);
+                return null;
+            });
+        }
+
+        for (List<String> batch : batches(staticKeys)) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (String key : batch) {
+                    conn.hSetNX(RedisLiveStore.STATIC_KEY, channelId(key, LEGACY_STATIC_PREFIX), now);
+                }
+                conn.del(batch.toArray(new String[0]));
+                return null;
+            });
+        }
+
+        for (List<String> batch : batches(lastSeenKeys)) {
+            List<String> values = redisTemplate.opsForValue().multiGet(batch);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (int i = 0; i < batch.size(); i++) {
+                    String value = values != null ? values.get(i) : null;
+                    if (value == null) continue;
+                    try {
+                        double score = Long.parseLong(value);
+                        // 이미 새 방식으로 기록된 시각은 덮어쓰지 않는다
+                        conn.zAdd(RedisLiveStore.LAST_SEEN_KEY, score, channelId(batch.get(i), LEGACY_LAST_SEEN_PREFIX),
+                                RedisZSetCommands.ZAddArgs.ifNotExists());
+                    } catch (NumberFormatException ignored) {
+                        // 잘못된 값은 옮기지 않는다
+                    }
+                }
+                conn.del(batch.toArray(new String[0]));
+                return null;
+            });
+        }
+
+        long after = newLayoutMemory();
+        log.info("[LiveStore] 방송 상태 키 이전 완료: snapshot={} snapshotHash={} static={} lastSeen={} (총 {}개 키 → 3개 키), "
+                        + "메모리 {} bytes → {} bytes",
+                snapshotKeys.size(), hasSnapshotHash, staticKeys.size(), lastSeenKeys.size(), legacyCount, before, after);
+    }
+
+    private List<String> scanKeys(String prefix) {
+        List<String> keys = redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+            List<String> result = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match(prefix + "*")
+                    .count(BATCH_SIZE)
+                    .build();
+            try (var cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    result.add(new String(cursor.next(), StandardCharsets.UTF_8));
+                }
+            }
+            return result;
+        });
+        return keys != null ? keys : List.of();
+    }
+
+    private long estimateMemory(List<String> keys) {
+        if (keys.isEmpty()) return 0;
+        List<String> sample = keys.size() <= MEMORY_SAMPLE_SIZE ? keys : keys.subList(0, MEMORY_SAMPLE_SIZE);
+        long sampled = 0;
+        for (String key : sample) {
+            sampled += memoryUsage(key);
+        }
+        return sampled * keys.size() / sample.size();
+    }
+
+    private long newLayoutMemory() {
+        return memoryUsage(RedisLiveStore.STATIC_KEY)
+                + memoryUsage(RedisLiveStore.FINGERPRINT_KEY)
+                + memoryUsage(RedisLiveStore.LAST_SEEN_KEY);
+    }
+
+    private long memoryUsage(String key) {
+        Object result = redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute(
+                "MEMORY", "USAGE".getBytes(StandardCharsets.UTF_8), key.getBytes(StandardCharsets.UTF_8)));
+        return result instanceof Number n ? n.longValue() : 0;
+    }
+
+    /**
+     * 스냅샷 JSON({title, category, tags})을 지문으로 바꿉니다. 읽을 수 없는 값은 옮기지 않습니다.
+     */
+    private Long fingerprintOf(String json) {
+        if (json == null) return null;
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            List<String> tags = new ArrayList<>();
+            node.path("tags").forEach(tag -> tags.add(tag.asText()));
+            return LiveFingerprint.of(node.path("title").asText(""), node.path("category").asText(""), tags);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String channelId(String key, String prefix) {
+        return key.substring(prefix.length());
+    }
+
+    private static List<List<String>> batches(List<String> keys) {
+        List<List<String>> result = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += BATCH_SIZE) {
+            result.add(keys.subList(i, Math.min(keys.size(), i + BATCH_SIZE)));
+        }
+        return result;
+    }
+}
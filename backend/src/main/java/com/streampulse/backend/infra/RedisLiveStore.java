@@ -1,91 +1,251 @@
 package com.streampulse.backend.infra;
 
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisCallback;
-import org.springframework.data.redis.core.ScanOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.StandardCharsets;
-import java.time.Duration;
-import java.time.Instant;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
+/**
+ * 방송 중인 채널의 상태 저장소.
+ * 채널마다 키를 따로 두지 않고 필드 종류별로 하나의 자료구조에 모읍니다.
+ * live:static(해시, 시작 감지 시각), live:fingerprint(해시, 방송 정보 지문), live:last_seen(ZSET, 마지막 수집 시각)
+ * 한 틱의 변경은 {@link TickChanges} 에 모았다가 Lua 스크립트 한 번으로 반영합니다.
+ * 실행 중에는 메모리의 LiveStateTable 이 기준이고, 이 저장소는 재시작 시 상태를 복구하는 용도로 쓰입니다.
+ */
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class RedisLiveStore {
 
     private final StringRedisTemplate redisTemplate;
-    private static final String SNAPSHOT_PREFIX = "snapshot:";
-    private static final String STATIC_PREFIX = "LIVE_STATIC:";
-    private static final String LAST_SEEN_PREFIX = "lastSeen:";
-    private static final Duration TTL_1_HOUR = Duration.ofHours(1);
 
-    public String getSnapshot(String channelId) {
-        return redisTemplate.opsForValue().get(SNAPSHOT_PREFIX + channelId);
-    }
+    static final String STATIC_KEY = "live:static";
+    // channelId → 제목/카테고리/태그의 64비트 지문({@link LiveFingerprint})
+    static final String FINGERPRINT_KEY = "live:fingerprint";
+    // channelId → 마지막 수집 시각(epoch seconds). 종료 판정은 점수 범위 조회 한 번으로 끝난다
+    static final String LAST_SEEN_KEY = "live:last_seen";
+
+    // commitTick 이 리스를 잃어 아무것도 쓰지 않았을 때의 반환값
+    public static final long FENCED = -1;
+
+    private static final RedisScript<Long> TICK_COMMIT_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/live-tick-commit.lua"), Long.class);
+
+    /**
+     * 여러 방송의 지문을 HMGET 한 번으로 읽습니다. 지문이 없는 방송은 결과에 들어가지 않습니다.
+     */
+    public Map<String, Long> getFingerprints(Collection<String> channelIds) {
+        if (channelIds.isEmpty()) return Collections.emptyMap();
+
+        List<Object> fields = new ArrayList<>(channelIds);
+        List<Object> values = redisTemplate.opsForHash().multiGet(FINGERPRINT_KEY, fields);
 
-    public void saveSnapshot(String channelId, String value) {
-        redisTemplate.opsForValue().set(SNAPSHOT_PREFIX + channelId, value, TTL_1_HOUR);
+        Map<String, Long> result = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Long fingerprint = parseLong(values.get(i));
+            if (fingerprint != null) {
+                result.put((String) fields.get(i), fingerprint);
+            }
+        }
+        return result;
     }
 
-    public void deleteSnapshot(String channelId) {
-        redisTemplate.delete(SNAPSHOT_PREFIX + channelId);
+    /**
+     * 여러 방송의 마지막 수집 시각(epoch seconds)을 ZMSCORE 한 번으로 읽습니다. 어느 노드도 수집하지 않은 방송은 결과에 들어가지 않습니다.
+     */
+    public Map<String, Long> getLastSeen(Collection<String> channelIds) {
+        if (channelIds.isEmpty()) return Collections.emptyMap();
+
+        List<String> ids = new ArrayList<>(channelIds);
+        List<Double> scores = redisTemplate.opsForZSet().score(LAST_SEEN_KEY, ids.toArray());
+        if (scores == null) return Collections.emptyMap();
+
+        Map<String, Long> result = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Double score = scores.get(i);
+            if (score != null) {
+                result.put(ids.get(i), score.longValue());
+            }
+        }
+        return result;
     }
 
-    public void setStaticKey(String channelId) {
-        redisTemplate.opsForValue().set(STATIC_PREFIX + channelId, "1", TTL_1_HOUR);
+    /**
+     * 마지막 수집 시각이 기준 시각(seconds) 이전인 방송을 반환합니다.
+     */
+    public Set<String> findLastSeenBefore(long epochSeconds) {
+        Set<String> result = redisTemplate.opsForZSet().rangeByScore(LAST_SEEN_KEY, Double.NEGATIVE_INFINITY, epochSeconds);
+        return result != null ? result : Collections.emptySet();
     }
 
-    public Set<String> getStaticKeys() {
-        return redisTemplate.execute((RedisCallback<Set<String>>) connection -> {
-            Set<String> result = new HashSet<>();
-            ScanOptions options = ScanOptions.scanOptions()
-                    .match(STATIC_PREFIX + "*")
-                    .count(1000)
-                    .build();
-            try (var cursor = connection.keyCommands().scan(options)) {
-                while (cursor.hasNext()) {
-                    String fullKey = new String(cursor.next(), StandardCharsets.UTF_8);
-                    result.add(fullKey.substring(STATIC_PREFIX.length()));
-                }
+    /**
+     * 저장된 방송 상태 전체를 읽습니다. 시작 시 메모리 상태를 복구할 때만 사용합니다.
+     */
+    public List<StoredLiveState> loadAll() {
+        Map<Object, Object> statics = redisTemplate.opsForHash().entries(STATIC_KEY);
+        Map<Object, Object> fingerprints = redisTemplate.opsForHash().entries(FINGERPRINT_KEY);
+        Set<ZSetOperations.TypedTuple<String>> lastSeen = redisTemplate.opsForZSet().rangeWithScores(LAST_SEEN_KEY, 0, -1);
+
+        Map<String, StoredLiveState> result = new LinkedHashMap<>();
+        if (lastSeen != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : lastSeen) {
+                if (tuple.getValue() == null || tuple.getScore() == null) continue;
+                result.put(tuple.getValue(), new StoredLiveState(tuple.getValue(), null, null, tuple.getScore().longValue()));
             }
-            return result;
+        }
+        statics.forEach((channelId, startedAt) -> {
+            // 잘못된 값은 null 로 두고 나머지 상태만 복구한다
+            result.computeIfAbsent(channelId.toString(), id -> new StoredLiveState(id, null, null, null))
+                    .startedAt = parseLong(startedAt);
         });
-    }
-
-    public void deleteStaticKey(String channelId) {
-        redisTemplate.delete(STATIC_PREFIX + channelId);
+        fingerprints.forEach((channelId, fingerprint) -> result.computeIfAbsent(channelId.toString(),
+                id -> new StoredLiveState(id, null, null, null)).fingerprint = parseLong(fingerprint));
+        return new ArrayList<>(result.values());
     }
 
     /**
-     * 업데이트된 마지막 수집 시각을 Unix epoch seconds 형태로 저장합니다.
+     * 한 틱 동안 모은 변경을 원자적으로 반영하고, purgeBefore 이전에 마지막으로 수집된 방송을 정리합니다.
+     *
+     * @return 정리된 방송 수
      */
-    public void updateLastSeen(String channelId) {
-        String key = LAST_SEEN_PREFIX + channelId;
-        String now = String.valueOf(Instant.now().getEpochSecond());
-        redisTemplate.opsForValue().set(key, now, TTL_1_HOUR);
+    public long commitTick(TickChanges changes, long nowEpochSeconds, long purgeBeforeEpochSeconds) {
+        return commitTick(changes, nowEpochSeconds, purgeBeforeEpochSeconds, null);
     }
 
     /**
-     * 마지막 수집 시각을 반환합니다 (seconds).
+     * fence 가 있으면 그 리스를 같은 펜스로 쥐고 있을 때만 반영합니다. 확인과 반영은 같은 스크립트 안에서 일어납니다.
+     *
+     * @return 정리된 방송 수, 리스를 잃어 반영하지 않았으면 {@link #FENCED}
      */
-    public Long getLastSeen(String channelId) {
-        String val = redisTemplate.opsForValue().get(LAST_SEEN_PREFIX + channelId);
-        if (val == null) return null;
+    public long commitTick(TickChanges changes, long nowEpochSeconds, long purgeBeforeEpochSeconds,
+                           RedisLeaseManager.Fence fence) {
+        List<String> args = new ArrayList<>(7 + changes.seen.size() + changes.started.size()
+                + changes.fingerprints.size() * 2 + changes.ended.size());
+        args.add(fence != null ? fence.getHolder() : "");
+        args.add(String.valueOf(nowEpochSeconds));
+        args.add(String.valueOf(purgeBeforeEpochSeconds));
+        args.add(String.valueOf(changes.seen.size()));
+        args.add(String.valueOf(changes.started.size()));
+        args.add(String.valueOf(changes.fingerprints.size()));
+        args.add(String.valueOf(changes.ended.size()));
+        args.addAll(changes.seen);
+        args.addAll(changes.started);
+        changes.fingerprints.forEach((channelId, fingerprint) -> {
+            args.add(channelId);
+            args.add(Long.toString(fingerprint));
+        });
+        args.addAll(changes.ended);
+
+        List<String> keys = fence != null
+                ? List.of(STATIC_KEY, FINGERPRINT_KEY, LAST_SEEN_KEY, fence.getKey())
+                : List.of(STATIC_KEY, FINGERPRINT_KEY, LAST_SEEN_KEY);
+        Long purged = redisTemplate.execute(TICK_COMMIT_SCRIPT, keys, args.toArray());
+        if (purged != null && purged == FENCED) {
+            return FENCED;
+        }
+        if (purged != null && purged > 0) {
+            log.info("[LiveStore] 오래된 방송 상태 {}건 정리", purged);
+        }
+        return purged != null ? purged : 0;
+    }
+
+    private static Long parseLong(Object value) {
+        if (value == null) return null;
         try {
-            return Long.parseLong(val);
+            return Long.parseLong(value.toString());
         } catch (NumberFormatException e) {
             return null;
         }
     }
 
+    @Getter
+    @AllArgsConstructor
+    public static class StoredLiveState {
+        private final String channelId;
+        private Long startedAt;
+        private Long fingerprint;
+        private Long lastSeen;
+    }
+
     /**
-     * lastSeen 키를 삭제합니다.
+     * 한 FastScan 틱에서 생긴 방송 상태 변경 묶음입니다. 핸들러는 Redis 에 바로 쓰지 않고 여기에 기록합니다.
      */
-    public void deleteLastSeen(String channelId) {
-        redisTemplate.delete(LAST_SEEN_PREFIX + channelId);
-    }
+    public static class TickChanges {
+        private final Set<String> seen = new LinkedHashSet<>();
+        private final Set<String> started = new LinkedHashSet<>();
+        private final Map<String, Long> fingerprints = new LinkedHashMap<>();
+        private final Set<String> ended = new LinkedHashSet<>();
+
+        public void seen(Collection<String> channelIds) {
+            seen.addAll(channelIds);
+        }
 
+        public void started(String channelId) {
+            started.add(channelId);
+        }
+
+        public void fingerprint(String channelId, long fingerprint) {
+            fingerprints.put(channelId, fingerprint);
+        }
+
+        public void ended(String channelId) {
+            ended.add(channelId);
+            seen.remove(channelId);
+            started.remove(channelId);
+            fingerprints.remove(channelId);
+        }
+
+        /**
+         * 이후에 생긴 변경을 이어 붙입니다. 나중에 다시 보인 방송은 앞서 기록된 종료를 취소합니다.
+         */
+        public void merge(TickChanges later) {
+            later.ended.forEach(this::ended);
+            later.seen.forEach(channelId -> {
+                seen.add(channelId);
+                ended.remove(channelId);
+            });
+            later.started.forEach(channelId -> {
+                started.add(channelId);
+                ended.remove(channelId);
+            });
+            later.fingerprints.forEach((channelId, fingerprint) -> {
+                fingerprints.put(channelId, fingerprint);
+                ended.remove(channelId);
+            });
+        }
+
+        public Set<String> getSeen() {
+            return Collections.unmodifiableSet(seen);
+        }
+
+        public Set<String> getStarted() {
+            return Collections.unmodifiableSet(started);
+        }
+
+        public Map<String, Long> getFingerprints() {
+            return Collections.unmodifiableMap(fingerprints);
+        }
+
+        public Set<String> getEnded() {
+            return Collections.unmodifiableSet(ended);
+        }
+
+        /**
+         * 이번 틱에서 이미 기록한 지문. 아직 반영 전이므로 저장된 값보다 이 값을 먼저 봐야 합니다.
+         */
+        public Long pendingFingerprint(String channelId) {
+            return fingerprints.get(channelId);
+        }
+
+        public boolean isEmpty() {
+            return seen.isEmpty() && started.isEmpty() && fingerprints.isEmpty() && ended.isEmpty();
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package com.streampulse.backend.infra;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streampulse.backend.dto.LiveResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 분할 FastScan 에 참여하는 노드 목록과 노드 사이에 넘기는 방송을 관리합니다.
+ * 노드는 매 틱 scan:members ZSET 에 현재 시각을 점수로 하트비트를 남기고, TTL 안에 하트비트가 있는 노드만 살아 있는 것으로 봅니다.
+ * 페이지에서 본 방송 중 channelId 해시로 다른 노드가 맡은 방송은 그 노드의 수신함(scan:inbox:{노드 수}:{순번})으로 넘깁니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RedisScanMembership {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private static final String MEMBERS_KEY = "scan:members";
+    private static final String INBOX_KEY_PREFIX = "scan:inbox:";
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAIN_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/scan-inbox-drain.lua"), List.class);
+
+    @Value("${app.fast-scan.member-ttl-ms:90000}")
+    private long memberTtlMs;
+
+    // 맡은 노드가 멈추면 넘긴 방송은 읽히지 않으므로 노드 TTL 만큼만 남긴다
+    @Value("${app.fast-scan.inbox-ttl-ms:90000}")
+    private long inboxTtlMs;
+
+    /**
+     * 하트비트를 남기고, 만료된 노드를 지운 뒤 살아 있는 노드 목록을 돌려줍니다. 한 번의 파이프라인으로 실행됩니다.
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> heartbeat(String nodeId) {
+        long now = System.currentTimeMillis();
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            conn.zAdd(MEMBERS_KEY, now, nodeId);
+            conn.zRemRangeByScore(MEMBERS_KEY, Double.NEGATIVE_INFINITY, now - memberTtlMs);
+            conn.zRange(MEMBERS_KEY, 0, -1);
+            return null;
+        });
+
+        Object members = results.get(results.size() - 1);
+        return members instanceof Collection<?> c
+                ? new ArrayList<>((Collection<String>) c)
+                : List.of(nodeId);
+    }
+
+    /**
+     * 종료 시 목록에서 빠져 다른 노드가 TTL 을 기다리지 않고 바로 재분배하게 합니다.
+     */
+    public void leave(String nodeId) {
+        try {
+            redisTemplate.opsForZSet().remove(MEMBERS_KEY, nodeId);
+        } catch (Exception e) {
+            log.warn("[Partition] 노드 목록에서 제거 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드가 맡은 방송을 그 노드의 수신함에 넘깁니다. 같은 방송이 여러 번 넘어오면 마지막 값만 남습니다.
+     * 수신함 키에 노드 수를 넣어, 노드 목록이 바뀌는 동안 예전 분할 기준으로 넘긴 방송은 읽히지 않고 만료되게 합니다.
+     *
+     * @param byOwner 맡은 노드의 순번 → 넘길 방송
+     */
+    public void forward(int count, Map<Integer, List<LiveResponseDTO>> byOwner) {
+        if (byOwner.isEmpty()) return;
+
+        Map<String, Map<String, String>> inboxes = new HashMap<>();
+        byOwner.forEach((index, dtos) -> {
+            Map<String, String> entries = new HashMap<>();
+            for (LiveResponseDTO dto : dtos) {
+                entries.put(dto.getChannelId(), write(dto));
+            }
+            if (!entries.isEmpty()) inboxes.put(inboxKey(count, index), entries);
+        });
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            inboxes.forEach((key, entries) -> {
+                conn.hMSet(key, entries);
+                conn.pExpire(key, inboxTtlMs);
+            });
+            return null;
+        });
+    }
+
+    /**
+     * 다른 노드가 이 노드에 넘긴 방송을 읽고 수신함을 비웁니다. 읽을 수 없는 값은 버립니다.
+     */
+    @SuppressWarnings("unchecked")
+    public List<LiveResponseDTO> drain(int count, int index) {
+        List<Object> entries = redisTemplate.execute(DRAIN_SCRIPT, List.of(inboxKey(count, index)));
+        if (entries == null || entries.isEmpty()) return List.of();
+
+        List<LiveResponseDTO> dtos = new ArrayList<>(entries.size() / 2);
+        for (int i = 1; i < entries.size(); i += 2) {
+            try {
+                dtos.add(objectMapper.readValue((String) entries.get(i), LiveResponseDTO.class));
+            } catch (JsonProcessingException e) {
+                log.warn("[Partition] 넘겨받은 방송 역직렬화 실패 channelId={}: {}", entries.get(i - 1), e.getMessage());
+            }
+        }
+        return dtos;
+    }
+
+    private static String inboxKey(int count, int index) {
+        return INBOX_KEY_PREFIX + count + ":" + index;
+    }
+
+    private String write(LiveResponseDTO dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("방송 직렬화 실패", e);
+        }
+    }
+}
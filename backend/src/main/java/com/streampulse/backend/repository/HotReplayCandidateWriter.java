@@ -0,0 +1,63 @@
+package com.streampulse.backend.repository;
+
+import com.streampulse.backend.dto.HotReplayCandidateDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * HOT 재현 후보를 섀도 테이블(hot_replay_candidate)에 여러 행 INSERT 로 저장합니다.
+ * 재현 작업 스레드가 세션 단위로 바로 쓰므로 후보를 메모리에 모아 두지 않습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class HotReplayCandidateWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    static final int ROWS_PER_STATEMENT = 500;
+    private static final String INSERT_PREFIX = "insert into hot_replay_candidate (run_id, detector, stream_session_id, "
+            + "stream_metrics_id, viewer_count, observed_at, created_at, updated_at) values ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * @return 저장한 행 수
+     */
+    public int insertAll(String runId, String detector, List<HotReplayCandidateDTO> candidates) {
+        if (candidates.isEmpty()) return 0;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int inserted = 0;
+        for (int from = 0; from < candidates.size(); from += ROWS_PER_STATEMENT) {
+            List<HotReplayCandidateDTO> rows = candidates.subList(from, Math.min(candidates.size(), from + ROWS_PER_STATEMENT));
+            inserted += jdbcTemplate.update(insertSql(rows.size()), ps -> {
+                int index = 1;
+                for (HotReplayCandidateDTO row : rows) {
+                    ps.setString(index++, runId);
+                    ps.setString(index++, detector);
+                    ps.setLong(index++, row.getStreamSessionId());
+                    ps.setLong(index++, row.getStreamMetricsId());
+                    ps.setInt(index++, row.getViewerCount());
+                    ps.setTimestamp(index++, Timestamp.valueOf(row.getObservedAt()));
+                    ps.setTimestamp(index++, now);
+                    ps.setTimestamp(index++, now);
+                }
+            });
+        }
+        return inserted;
+    }
+
+    private static String insertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rowCount * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+}
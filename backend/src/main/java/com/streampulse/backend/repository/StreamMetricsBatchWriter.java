@@ -0,0 +1,187 @@
+package com.streampulse.backend.repository;
+
+import com.streampulse.backend.config.SqlStatementCounter;
+import com.streampulse.backend.entity.StreamMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StreamMetrics 를 여러 행 INSERT 한 문장으로 묶어 저장합니다.
+ * 엔티티가 IDENTITY 전략이라 JPA 로는 배치 INSERT 가 되지 않으므로, 생성된 id 가 필요 없는 행은 이 경로로 씁니다.
+ * JPA 를 거치지 않으므로 createdAt/updatedAt 은 직접 채웁니다.
+ * 관측한 시청자 수는 행 저장 여부와 관계없이 세션의 시간 가중 누적값(시청자×초, 관측 초)과 최고 시청자 수에 같은 틱에 반영하며,
+ * 세션 {@value #ROWS_PER_STATEMENT}개마다 여러 행 UPDATE 한 문장으로 보냅니다.
+ * 실행한 문 수는 Hibernate 가 세지 못하므로 {@link SqlStatementCounter} 에 직접 더합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class StreamMetricsBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlStatementCounter sqlStatementCounter;
+
+    static final int ROWS_PER_STATEMENT = 500;
+    private static final String INSERT_PREFIX =
+            "insert into stream_metrics (stream_session_id, viewer_count, category, title, created_at, updated_at) values ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?)";
+    private static final String ACCUMULATE_PREFIX = "update stream_session set ";
+    private static final String[] ACCUMULATE_COLUMNS = {
+            "viewer_seconds_sum = case id%s else viewer_seconds_sum end",
+            "observed_seconds = case id%s else observed_seconds end",
+            "peak_viewer_count = case id%s else peak_viewer_count end"};
+    private static final String[] ACCUMULATE_BRANCHES = {
+            " when ? then viewer_seconds_sum + ?",
+            " when ? then observed_seconds + ?",
+            " when ? then greatest(peak_viewer_count, ?)"};
+
+    /**
+     * 한 틱의 행과 세션 누적을 호출한 트랜잭션과 분리된 트랜잭션에서 씁니다.
+     * 여기서 실패해도 호출한 트랜잭션의 HOT 이벤트나 알림은 롤백되지 않습니다.
+     *
+     * @return 저장한 행 수
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int writeTick(List<StreamMetrics> metrics, List<Observation> observations) {
+        int inserted = insertAll(metrics);
+        accumulateSessions(observations);
+        return inserted;
+    }
+
+    /**
+     * 여러 행 INSERT 한 문장이 실패하면 그 묶음만 한 행씩 다시 넣어, 문제가 된 행만 빠지고 나머지는 저장합니다.
+     *
+     * @return 저장한 행 수
+     */
+    public int insertAll(List<StreamMetrics> metrics) {
+        if (metrics.isEmpty()) return 0;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int inserted = 0;
+        for (int from = 0; from < metrics.size(); from += ROWS_PER_STATEMENT) {
+            List<StreamMetrics> rows = metrics.subList(from, Math.min(metrics.size(), from + ROWS_PER_STATEMENT));
+            try {
+                inserted += insert(rows, now);
+            } catch (DataAccessException e) {
+                log.warn("[insertAll] 여러 행 INSERT 실패, 한 행씩 다시 저장 - rows = {}, error = {}", rows.size(), e.getMessage());
+                inserted += insertEach(rows, now);
+            }
+        }
+        return inserted;
+    }
+
+    private int insertEach(List<StreamMetrics> rows, Timestamp now) {
+        int inserted = 0;
+        for (StreamMetrics row : rows) {
+            try {
+                inserted += insert(List.of(row), now);
+            } catch (DataAccessException e) {
+                log.error("[insertAll] 지표 행 저장 실패 - sessionId = {}, error = {}",
+                        row.getStreamSession().getId(), e.getMessage(), e);
+            }
+        }
+        return inserted;
+    }
+
+    private int insert(List<StreamMetrics> rows, Timestamp now) {
+        sqlStatementCounter.record(1);
+        return jdbcTemplate.update(insertSql(rows.size()), ps -> {
+            int index = 1;
+            for (StreamMetrics row : rows) {
+                ps.setLong(index++, row.getStreamSession().getId());
+                ps.setInt(index++, row.getViewerCount());
+                ps.setString(index++, row.getCategory());
+                ps.setString(index++, row.getTitle());
+                ps.setTimestamp(index++, now);
+                ps.setTimestamp(index++, now);
+            }
+        });
+    }
+
+    /**
+     * 관측을 세션별로 모아 세션의 시청자×초 합계, 관측 초, 최고 시청자 수를 갱신합니다.
+     * 세션 엔티티를 읽지 않고, 세션마다 UPDATE 를 보내는 대신 세션 {@value #ROWS_PER_STATEMENT}개를 CASE 로 묶은 UPDATE 한 문장씩 실행합니다.
+     */
+    public void accumulateSessions(List<Observation> observations) {
+        if (observations.isEmpty()) return;
+
+        // sessionId → {시청자×초, 관측 초, 최고값}
+        Map<Long, long[]> bySession = new LinkedHashMap<>();
+        for (Observation observation : observations) {
+            long[] aggregate = bySession.computeIfAbsent(observation.getSessionId(), id -> new long[3]);
+            aggregate[0] += (long) observation.getViewerCount() * observation.getSeconds();
+            aggregate[1] += observation.getSeconds();
+            aggregate[2] = Math.max(aggregate[2], observation.getViewerCount());
+        }
+
+        List<Map.Entry<Long, long[]>> sessions = new ArrayList<>(bySession.entrySet());
+        for (int from = 0; from < sessions.size(); from += ROWS_PER_STATEMENT) {
+            accumulate(sessions.subList(from, Math.min(sessions.size(), from + ROWS_PER_STATEMENT)));
+        }
+    }
+
+    private void accumulate(List<Map.Entry<Long, long[]>> sessions) {
+        sqlStatementCounter.record(1);
+        jdbcTemplate.update(accumulateSql(sessions.size()), ps -> {
+            int index = 1;
+            for (int column = 0; column < ACCUMULATE_COLUMNS.length; column++) {
+                for (Map.Entry<Long, long[]> session : sessions) {
+                    ps.setLong(index++, session.getKey());
+                    ps.setLong(index++, session.getValue()[column]);
+                }
+            }
+            for (Map.Entry<Long, long[]> session : sessions) {
+                ps.setLong(index++, session.getKey());
+            }
+        });
+    }
+
+    private static String insertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rowCount * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(ROW_PLACEHOLDER);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 컬럼마다 세션 id 로 고르는 CASE 를 두고, 바꿀 세션만 WHERE 로 좁힙니다. ELSE 는 WHERE 때문에 타지 않지만 NULL 로 덮어쓰지 않도록 둡니다.
+     */
+    private static String accumulateSql(int sessionCount) {
+        StringBuilder sql = new StringBuilder(ACCUMULATE_PREFIX);
+        for (int column = 0; column < ACCUMULATE_COLUMNS.length; column++) {
+            if (column > 0) sql.append(", ");
+            sql.append(ACCUMULATE_COLUMNS[column].formatted(ACCUMULATE_BRANCHES[column].repeat(sessionCount)));
+        }
+        sql.append(" where id in (").append(String.join(", ", Collections.nCopies(sessionCount, "?"))).append(')');
+        return sql.toString();
+    }
+
+    /**
+     * 한 세션에서 seconds 동안 viewerCount 명이 보고 있었다는 관측 하나.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Observation {
+        private final long sessionId;
+        private final int viewerCount;
+        private final long seconds;
+    }
+}
@@ -0,0 +1,107 @@
+package com.streampulse.backend.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 지난 StreamMetrics 를 HOT 재현용으로 읽습니다. 수백만 행을 훑어야 하므로 엔티티를 만들지 않고,
+ * 세션과 지표 모두 id 기준 keyset 페이지로 읽어 OFFSET 없이 일정한 비용으로 다음 페이지를 가져옵니다.
+ * 지표는 (stream_session_id, id) 순서로 읽으므로 stream_session_id 외래 키 인덱스를 그대로 탑니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StreamMetricsHistoryReader {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String SESSIONS_SQL = "select s.id, st.channel_id, st.average_viewer_count from stream_session s "
+            + "join streamer st on st.id = s.streamer_id "
+            + "where s.id > ? and s.started_at < ? and (s.ended_at is null or s.ended_at >= ?) order by s.id limit ?";
+    private static final String METRICS_SQL = "select id, viewer_count, created_at from stream_metrics "
+            + "where stream_session_id = ? and id > ? and created_at >= ? and created_at < ? order by id limit ?";
+
+    /**
+     * [from, to) 구간에 걸쳐 있던 세션을 afterId 다음부터 limit 개 읽습니다.
+     */
+    public List<SessionRef> findSessions(LocalDateTime from, LocalDateTime to, long afterId, int limit) {
+        return jdbcTemplate.query(SESSIONS_SQL,
+                (rs, rowNum) -> new SessionRef(rs.getLong(1), rs.getString(2), rs.getInt(3)),
+                afterId, Timestamp.valueOf(to), Timestamp.valueOf(from), limit);
+    }
+
+    /**
+     * 세션의 [from, to) 구간 지표를 afterId 다음부터 chunk 의 크기만큼 chunk 에 채웁니다.
+     *
+     * @return 읽은 행 수. chunk 크기보다 작으면 마지막 페이지다
+     */
+    public int readChunk(long sessionId, LocalDateTime from, LocalDateTime to, long afterId, MetricsChunk chunk) {
+        chunk.size = 0;
+        ZoneId zone = ZoneId.systemDefault();
+        jdbcTemplate.query(METRICS_SQL, rs -> {
+            int i = chunk.size++;
+            chunk.ids[i] = rs.getLong(1);
+            chunk.viewerCounts[i] = rs.getInt(2);
+            chunk.epochSeconds[i] = rs.getTimestamp(3).toLocalDateTime().atZone(zone).toEpochSecond();
+        }, sessionId, afterId, Timestamp.valueOf(from), Timestamp.valueOf(to), chunk.capacity());
+        return chunk.size;
+    }
+
+    /**
+     * 재현 대상 세션. 방송자 평균은 재현 시점의 값이다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SessionRef {
+        private final long sessionId;
+        private final String channelId;
+        private final int averageViewerCount;
+    }
+
+    /**
+     * 지표 한 페이지. 작업 스레드 하나가 여러 세션에 걸쳐 재사용하도록 기본형 배열로 담는다.
+     */
+    public static class MetricsChunk {
+        private final long[] ids;
+        private final int[] viewerCounts;
+        private final long[] epochSeconds;
+        private int size;
+
+        public MetricsChunk(int capacity) {
+            this.ids = new long[capacity];
+            this.viewerCounts = new int[capacity];
+            this.epochSeconds = new long[capacity];
+        }
+
+        public int capacity() {
+            return ids.length;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long id(int i) {
+            return ids[i];
+        }
+
+        public int viewerCount(int i) {
+            return viewerCounts[i];
+        }
+
+        public long epochSeconds(int i) {
+            return epochSeconds[i];
+        }
+
+        public long lastId() {
+            return size == 0 ? 0 : ids[size - 1];
+        }
+    }
+}
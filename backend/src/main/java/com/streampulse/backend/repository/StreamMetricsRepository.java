@@ -2,9 +2,32 @@ package com.streampulse.backend.repository;
 
 import com.streampulse.backend.entity.StreamMetrics;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface StreamMetricsRepository extends JpaRepository<StreamMetrics, Long> {
     List<StreamMetrics> findByStreamSessionId(Long sessionId);
+
+    // 진행 중인 세션의 최근 지표. 재시작 후 방송별 시청자 수 구간(ViewerWindow)과 마지막으로 저장한 행(데드밴드 기준)을 다시 채울 때 사용한다
+    @Query("SELECT st.channelId AS channelId, m.viewerCount AS viewerCount, m.title AS title, m.category AS category, " +
+            "m.createdAt AS createdAt " +
+            "FROM StreamMetrics m JOIN m.streamSession s JOIN s.streamer st " +
+            "WHERE s.endedAt IS NULL AND m.createdAt >= :since " +
+            "ORDER BY m.createdAt")
+    List<ViewerCountPoint> findRecentOpenSessionViewerCounts(@Param("since") LocalDateTime since);
+
+    interface ViewerCountPoint {
+        String getChannelId();
+
+        int getViewerCount();
+
+        String getTitle();
+
+        String getCategory();
+
+        LocalDateTime getCreatedAt();
+    }
 }
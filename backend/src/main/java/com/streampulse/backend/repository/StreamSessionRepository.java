@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +21,11 @@ public interface StreamSessionRepository extends JpaRepository<StreamSession, Lo
 
 
     List<StreamSession> findByStreamerIdAndEndedAtIsNull(Long id);
+
+    List<StreamSession> findByStreamerIdInAndEndedAtIsNull(Collection<Long> streamerIds);
+
+    // (방송자, 시작 시각) 쌍 조회를 한 번에 하기 위해 두 목록의 곱으로 가져온 뒤 호출한 쪽에서 쌍으로 거른다
+    @Query("SELECT s FROM StreamSession s WHERE s.streamer.id IN :streamerIds AND s.startedAt IN :startedAts ORDER BY s.id DESC")
+    List<StreamSession> findByStreamerIdInAndStartedAtIn(@Param("streamerIds") Collection<Long> streamerIds,
+                                                         @Param("startedAts") Collection<LocalDateTime> startedAts);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -149,4 +150,26 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
             @Param("channelId") String channelId
     );
 
-}
\ No newline at end of file
+    @Query("""
+            SELECT DISTINCT streamer.channelId
+            FROM Subscription s
+            JOIN s.streamer streamer
+            WHERE s.eventType = :eventType
+              AND s.active = true
+              AND streamer.channelId IN :channelIds
+            """)
+    List<String> findSubscribedChannelIds(
+            @Param("eventType") EventType eventType,
+            @Param("channelIds") Collection<String> channelIds
+    );
+
+    @Query("""
+            SELECT COUNT(s) > 0
+            FROM Subscription s
+            WHERE s.eventType = :eventType
+              AND s.active = true
+              AND s.streamer IS NULL
+            """)
+    boolean existsActiveGlobal(@Param("eventType") EventType eventType);
+
+}
@@ -0,0 +1,183 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.dto.LiveResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 카테고리별 HOT 기준선입니다. FastScan 이 이미 모은 방송 목록을 틱마다 한 번 훑어
+ * 카테고리의 총 시청자 수, 방송 수, 방송별 분당 시청자 증가율의 분위수(P² 추정)를 갱신하며 추가 조회는 하지 않습니다.
+ * 방송마다 관측 간격이 다르므로(갱신 주기, 재시작 후 지표로 채운 구간) 증가율은 이전 관측 이후 경과 시간으로 나눠 분당 값으로 맞춥니다.
+ * 증가율 분위수는 window-ticks 틱 단위로 새로 쌓고, 판정에는 직전 구간의 값을 씁니다.
+ * 여러 노드가 나눠 스캔할 때는 각 노드가 맡은 방송만으로 계산되므로 합계는 노드 몫이고 분위수는 표본 추정치입니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryBaselineTracker {
+
+    private final LiveStateTable liveStateTable;
+
+    @Value("${app.hot.category.window-ticks:20}")
+    private int windowTicks;
+
+    // 방송의 증가율이 카테고리 증가율의 이 분위수를 넘어야 기준선을 넘은 것으로 본다
+    @Value("${app.hot.category.quantile:0.95}")
+    private double quantile;
+
+    // 이보다 표본이 적은 카테고리는 기준선으로 판정하지 않는다
+    @Value("${app.hot.category.min-samples:30}")
+    private int minSamples;
+
+    // observeTick 에서만 바뀐다
+    private final Map<String, Accumulator> accumulators = new HashMap<>();
+    private int ticksInWindow;
+
+    // 판정하는 쪽(핸들러 작업 스레드)은 틱마다 통째로 바뀌는 이 스냅샷만 읽는다
+    private volatile Map<String, CategoryBaseline> baselines = Map.of();
+
+    /**
+     * 이번 틱의 방송 목록으로 카테고리 집계를 갱신합니다. 핸들러가 이번 시청자 수를 기록하기 전에 호출해야
+     * LiveStateTable 의 마지막 값이 이전 틱 값이 됩니다.
+     *
+     * @param fresh           이번 틱에 조회한 방송. 합계와 증가율에 반영한다
+     * @param carried         이번 틱에 다시 조회하지 않은 방송. 마지막 값으로 합계에만 반영한다
+     * @param nowEpochSeconds 이번 틱 시각. 방송의 마지막 관측 이후 경과 시간을 잰다
+     */
+    public synchronized void observeTick(Collection<LiveResponseDTO> fresh, Collection<LiveResponseDTO> carried,
+                                         long nowEpochSeconds) {
+        for (Accumulator accumulator : accumulators.values()) {
+            accumulator.totalViewers = 0;
+            accumulator.liveCount = 0;
+        }
+
+        for (LiveResponseDTO dto : fresh) {
+            int viewers = viewers(dto);
+            Accumulator accumulator = accumulator(dto);
+            accumulator.totalViewers += viewers;
+            accumulator.liveCount++;
+
+            ViewerWindow window = liveStateTable.get(dto.getChannelId())
+                    .map(LiveStateTable.LiveState::getViewerWindow)
+                    .filter(w -> w.size() > 0)
+                    .orElse(null);
+            if (window == null) continue;
+            int previous = window.latest();
+            long elapsed = nowEpochSeconds - window.latestEpochSeconds();
+            if (previous > 0 && elapsed > 0) {
+                accumulator.growth.add(growthPerMinute(viewers, previous, elapsed));
+            }
+        }
+        for (LiveResponseDTO dto : carried) {
+            Accumulator accumulator = accumulator(dto);
+            accumulator.totalViewers += viewers(dto);
+            accumulator.liveCount++;
+        }
+
+        boolean rotate = ++ticksInWindow >= windowTicks;
+        Map<String, CategoryBaseline> next = new HashMap<>(accumulators.size());
+        for (Iterator<Map.Entry<String, Accumulator>> it = accumulators.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Accumulator> entry = it.next();
+            Accumulator accumulator = entry.getValue();
+            // 방송이 모두 끝난 카테고리는 집계를 버린다
+            if (accumulator.liveCount == 0) {
+                it.remove();
+                continue;
+            }
+            if (rotate) accumulator.rotate();
+            next.put(entry.getKey(), accumulator.snapshot(entry.getKey()));
+        }
+        if (rotate) ticksInWindow = 0;
+        baselines = next;
+    }
+
+    public Optional<CategoryBaseline> get(String category) {
+        return Optional.ofNullable(baselines.get(Objects.requireNonNullElse(category, "")));
+    }
+
+    /**
+     * 방송의 이번 분당 증가율이 카테고리 기준선(증가율 분위수)을 넘는지 판정합니다.
+     * 카테고리 표본이 부족하거나 방송의 이전 값을 모르면 판단할 근거가 없으므로 막지 않습니다.
+     * 핸들러가 이번 시청자 수를 기록한 뒤에 호출되므로 이전 값은 구간의 끝에서 두 번째 값이고, 경과 시간은 두 표본 사이의 간격입니다.
+     */
+    public boolean beatsBaseline(String category, String channelId, int viewerCount) {
+        CategoryBaseline baseline = baselines.get(Objects.requireNonNullElse(category, ""));
+        if (baseline == null || baseline.getGrowthSamples() < minSamples) return true;
+
+        ViewerWindow window = liveStateTable.get(channelId)
+                .map(LiveStateTable.LiveState::getViewerWindow)
+                .orElse(null);
+        if (window == null) return true;
+        int previous = window.previous();
+        int elapsed = window.secondsSincePrevious();
+        if (previous <= 0 || elapsed <= 0) return true;
+
+        return growthPerMinute(viewerCount, previous, elapsed) > baseline.getGrowthUpper();
+    }
+
+    // 이전 관측 대비 증가율을 분당 값으로 바꾼다 (30초 만에 10% 면 0.2)
+    private static double growthPerMinute(int viewers, int previous, long elapsedSeconds) {
+        return (viewers - previous) / (double) previous * 60.0 / elapsedSeconds;
+    }
+
+    private Accumulator accumulator(LiveResponseDTO dto) {
+        return accumulators.computeIfAbsent(Objects.requireNonNullElse(dto.getLiveCategoryValue(), ""),
+                category -> new Accumulator(quantile));
+    }
+
+    private static int viewers(LiveResponseDTO dto) {
+        return dto.getConcurrentUserCount() != null ? dto.getConcurrentUserCount() : 0;
+    }
+
+    // 카테고리 하나의 진행 중인 집계
+    private static class Accumulator {
+        private long totalViewers;
+        private int liveCount;
+        private final P2Quantile growth;
+        // 직전 구간에서 확정한 증가율 분위수
+        private double previousGrowthUpper = Double.NaN;
+        private int previousGrowthSamples;
+
+        Accumulator(double quantile) {
+            this.growth = new P2Quantile(quantile);
+        }
+
+        void rotate() {
+            previousGrowthUpper = growth.value();
+            previousGrowthSamples = growth.count();
+            growth.reset();
+        }
+
+        // 직전 구간 값이 있으면 그것을, 첫 구간이면 지금까지 쌓인 값을 쓴다
+        CategoryBaseline snapshot(String category) {
+            boolean hasPrevious = previousGrowthSamples > 0;
+            return new CategoryBaseline(category, totalViewers, liveCount,
+                    hasPrevious ? previousGrowthUpper : growth.value(),
+                    hasPrevious ? previousGrowthSamples : growth.count());
+        }
+    }
+
+    /**
+     * 한 틱 시점의 카테고리 기준선
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CategoryBaseline {
+        private final String category;
+        private final long totalViewers;
+        private final int liveCount;
+        // 방송별 분당 시청자 증가율의 상위 분위수 (0.3 = 분당 30% 증가)
+        private final double growthUpper;
+        private final int growthSamples;
+
+        public long averageViewers() {
+            return liveCount == 0 ? 0 : totalViewers / liveCount;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.streampulse.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * IN 절 조회를 나눠 실행하기 위한 분할 도우미입니다. IN 목록이 너무 길면 파싱 비용과 패킷 크기가 커지므로 일정 크기로 자른다.
+ */
+final class Chunks {
+
+    static final int DEFAULT_SIZE = 500;
+
+    private Chunks() {
+    }
+
+    static <T> List<List<T>> of(Collection<T> values) {
+        return of(values, DEFAULT_SIZE);
+    }
+
+    static <T> List<List<T>> of(Collection<T> values, int size) {
+        List<T> list = values instanceof List<T> l ? l : new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>((list.size() + size - 1) / size);
+        for (int i = 0; i < list.size(); i += size) {
+            chunks.add(list.subList(i, Math.min(list.size(), i + size)));
+        }
+        return chunks;
+    }
+}
@@ -1,16 +1,35 @@
 package com.streampulse.backend.service;
 
 import com.streampulse.backend.dto.ChzzkRootResponseDTO;
+import com.streampulse.backend.dto.DeepScanCheckpointDTO;
+import com.streampulse.backend.dto.DeepScanPageDTO;
+import com.streampulse.backend.dto.DeepScanProgressDTO;
+import com.streampulse.backend.dto.FastScanResultDTO;
 import com.streampulse.backend.dto.LiveResponseDTO;
 import com.streampulse.backend.infra.ChzzkOpenApiClient;
 import com.streampulse.backend.infra.RedisCursorStore;
+import com.streampulse.backend.infra.RedisDeepScanCheckpointStore;
+import com.streampulse.backend.infra.RedisLeaseManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,194 +39,546 @@ public class ChzzkLiveService {
 
     private final ChzzkOpenApiClient chzzkOpenApiClient;
     private final RedisCursorStore redisCursorStore;
+    private final ThreadPoolTaskExecutor chzzkFetchExecutor;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskScheduler scanTaskScheduler;
+    private final RedisDeepScanCheckpointStore checkpointStore;
+    private final RedisLeaseManager leaseManager;
 
     private static final int RETRY_WAIT_MS = 10000;
-    private static final String NO_CURSOR = "";
-    private static final String NEXT_KEY = "cursor_zset:next";
-    private static final String CURRENT_KEY = "cursor_zset:current";
+    private static final int MAX_WALKS = 5;
+    private static final int MAX_RESUMES = 3;
+    private static final int MAX_TAIL_WALKS = 2;
+    private static final int DRIFT_FAILURE_ATTEMPTS = 2; // 연속 조회 실패가 이 횟수에 이르면 드리프트로 본다
+    private static final int NO_DRIFT = -1;
+    private static final long FAST_SCAN_TICK_MS = 30000; // ScanScheduler.fastScan 주기
+    // 발행 스크립트가 DeepScan 리스 키(lease:{deep-scan})와 함께 쓰므로 같은 해시 태그로 Redis Cluster 슬롯을 맞춘다
+    private static final String CURSOR_NAMESPACE = "{deep-scan}:cursor_zset";
+    private static final String PUBLISHED_AT_KEY = "cursor_zset:published_at";
 
     @Value("${app.viewer-threshold}")
     private int VIEWER_THRESHOLD;
 
-    private static class Node {
-        final String cursor;
-        final Node parent;
-        final int pageIndex;
+    @Value("${app.fast-scan.concurrent-fetch:true}")
+    private boolean concurrentFetch;
 
-        Node(String cursor, Node parent, int pageIndex) {
-            this.cursor = cursor;
-            this.parent = parent;
-            this.pageIndex = pageIndex;
+    @Value("${app.fast-scan.fetch-budget-ms:20000}")
+    private long fetchBudgetMs;
+
+    // 페이지인덱스:갱신주기(ms) 목록. 상위 페이지일수록 자주 조회한다
+    @Value("${app.fast-scan.tiers:0:30000,1:60000,5:120000}")
+    private String tierSpec;
+
+    @Value("${app.deep-scan.tail-rescan-cooldown-ms:300000}")
+    private long tailRescanCooldownMs;
+
+    // 부모 커서가 막힌 커서만 계속 돌려줄 때 다시 조회할 최대 횟수
+    @Value("${app.deep-scan.max-parent-retries:6}")
+    private int maxParentRetries;
+
+    private PollingTiers pollingTiers;
+    private long fastScanTicks;
+    // 커서별 마지막 조회 결과. FastScan 은 SchedulerService 의 lock 아래에서만 호출된다
+    private final Map<String, CachedPage> pageCache = new HashMap<>();
+    private final Map<String, Integer> fetchFailures = new HashMap<>();
+    private Map<Integer, String> lastIndexToCursor = Map.of();
+    private int driftIndex = NO_DRIFT;
+    private volatile long activeGeneration = -1;
+    private long lastTailRescanMs;
+
+    private static class CachedPage {
+        final ChzzkRootResponseDTO page;
+        final long fetchedAtMs;
+
+        CachedPage(ChzzkRootResponseDTO page, long fetchedAtMs) {
+            this.page = page;
+            this.fetchedAtMs = fetchedAtMs;
         }
     }
 
-    public boolean fetchAndStoreValidCursors() {
-        boolean finished;
-        int maxRetries = 5;
-        int retries = 0;
+    private Timer fetchTimer;
+    private Counter budgetExceededCounter;
+    private Counter fetchedPagesCounter;
+    private Counter carriedPagesCounter;
+    private volatile double lastFetchTickRatio;
+    private volatile DeepScanRun activeRun;
+    private boolean launching;
+
+    @PostConstruct
+    public void initMetrics() {
+        pollingTiers = PollingTiers.parse(tierSpec);
+
+        fetchTimer = Timer.builder("fast_scan_fetch_seconds")
+                .description("FastScan 한 틱에서 커서 페이지 조회에 걸린 시간")
+                .register(meterRegistry);
+        budgetExceededCounter = Counter.builder("fast_scan_fetch_budget_exceeded_total")
+                .description("시간 예산 초과로 버려진 페이지 수")
+                .register(meterRegistry);
+        fetchedPagesCounter = Counter.builder("fast_scan_pages_fetched_total")
+                .description("FastScan 에서 실제로 조회한 페이지 수")
+                .register(meterRegistry);
+        carriedPagesCounter = Counter.builder("fast_scan_pages_carried_total")
+                .description("갱신 주기가 오지 않아 이전 결과를 이어 쓴 페이지 수")
+                .register(meterRegistry);
+        Gauge.builder("fast_scan_fetch_tick_ratio", this, s -> s.lastFetchTickRatio)
+                .description("FastScan 주기 대비 페이지 조회 시간 비율")
+                .register(meterRegistry);
+
+        Gauge.builder("fast_scan_cursor_generation", this, s -> s.activeGeneration)
+                .description("FastScan 이 마지막으로 읽은 커서 세대")
+                .register(meterRegistry);
+
+        Gauge.builder("deep_scan_running", this, s -> s.activeRun != null ? 1 : 0)
+                .register(meterRegistry);
+        Gauge.builder("deep_scan_depth", this, s -> runValue(s.activeRun, DeepScanRun::getDepth))
+                .description("진행 중인 DeepScan 의 현재 페이지 인덱스")
+                .register(meterRegistry);
+        Gauge.builder("deep_scan_retries", this, s -> runValue(s.activeRun, DeepScanRun::getRetries))
+                .description("진행 중인 DeepScan 의 부모 커서 재시도 횟수")
+                .register(meterRegistry);
+        Gauge.builder("deep_scan_backtracks", this, s -> runValue(s.activeRun, DeepScanRun::getBacktracks))
+                .description("진행 중인 DeepScan 의 백트랙 횟수")
+                .register(meterRegistry);
+    }
 
-        Map<Integer, String> indexToCursor;
-        Map<String, Set<String>> cursorToBroadcasterIds;
+    private static double runValue(DeepScanRun run, ToIntFunction<DeepScanRun> getter) {
+        return run != null ? getter.applyAsInt(run) : 0;
+    }
 
-        do {
-            retries++;
-            indexToCursor = new LinkedHashMap<>();
-            cursorToBroadcasterIds = new LinkedHashMap<>();
+    /**
+     * DeepScan 을 시작합니다. 탐색은 scanTaskScheduler 위에서 단계별 작업으로 진행되며,
+     * 재시도 대기 동안 스레드를 점유하지 않습니다.
+     *
+     * @param lease 커서 발행 스크립트가 펜스를 확인할 DeepScan 리스
+     * @return 커서 저장 성공 여부. 이미 DeepScan 이 진행 중이면 즉시 false
+     */
+    public CompletableFuture<Boolean> startDeepScan(RedisLeaseManager.Lease lease) {
+        return launch(this::newDeepScanRun, lease, () -> {});
+    }
 
-            Set<String> failed = new HashSet<>();
-            Set<String> visited = new HashSet<>();
-            finished = false;
+    /**
+     * 직전 FastScan 에서 드리프트가 감지됐다면 드리프트가 시작된 페이지부터 뒤쪽 커서 체인만 다시 탐색합니다.
+     * 앞쪽 페이지는 그대로 두고, 탐색이 끝나면 전체 커서 목록을 한 번에 교체합니다.
+     * FastScan 과 같은 스레드에서 호출해야 합니다.
+     *
+     * @param lease 커서 발행 스크립트가 펜스를 확인할 DeepScan 리스
+     * @return 커서 저장 성공 여부. 드리프트가 없거나 재탐색 대기 시간 중이면 즉시 false
+     */
+    public CompletableFuture<Boolean> rescanDriftedTail(RedisLeaseManager.Lease lease) {
+        int from = driftIndex;
+        if (from == NO_DRIFT) return CompletableFuture.completedFuture(false);
+
+        long nowMs = System.currentTimeMillis();
+        if (nowMs - lastTailRescanMs < tailRescanCooldownMs) {
+            log.info("[DeepScan] 드리프트 pageIndex={} 감지, 직전 재탐색 후 대기 중이라 건너뜁니다.", from);
+            return CompletableFuture.completedFuture(false);
+        }
+        // 다른 탐색이 진행 중이라 시작하지 못했다면 드리프트를 남겨 다음 틱에 다시 시도한다
+        Runnable onAccepted = () -> {
+            lastTailRescanMs = nowMs;
+            driftIndex = NO_DRIFT;
+        };
+
+        if (from == 0) {
+            log.warn("[DeepScan] 첫 페이지부터 드리프트 → 전체 탐색");
+            return launch(this::newDeepScanRun, lease, onAccepted);
+        }
 
-            Node current = new Node(NO_CURSOR, null, 0);
-            visited.add(NO_CURSOR);
+        List<DeepScanPageDTO> prefix = new ArrayList<>(from);
+        for (Map.Entry<Integer, String> entry : lastIndexToCursor.entrySet()) {
+            if (entry.getKey() >= from) break;
+            CachedPage cached = pageCache.get(entry.getValue());
+            List<String> channelIds = cached == null ? List.of() : cached.page.getContent().getData().stream()
+                    .map(LiveResponseDTO::getChannelId)
+                    .toList();
+            prefix.add(DeepScanPageDTO.builder()
+                    .pageIndex(entry.getKey())
+                    .cursor(entry.getValue())
+                    .channelIds(channelIds)
+                    .build());
+        }
 
-            while (true) {
-                String cur = current.cursor;
-                ChzzkRootResponseDTO resp = chzzkOpenApiClient.fetchPage(cur);
+        log.info("[DeepScan] 드리프트 pageIndex={} 부터 뒤쪽 커서 재탐색 시작 (유지 페이지={})", from, prefix.size());
+        // 부분 재탐색은 짧으므로 체크포인트를 남기지 않는다. 실패하면 전체 탐색이 대신한다
+        return launch(() -> DeepScanRun.fromPrefix(chzzkOpenApiClient::fetchPage, VIEWER_THRESHOLD, MAX_TAIL_WALKS,
+                RETRY_WAIT_MS, maxParentRetries, prefix), lease, onAccepted);
+    }
 
-                if (resp == null || resp.getContent() == null) {
-                    failed.add(cur);
-                    Node back = handleInvalidNext(current, cur, visited, failed);
-                    if (back == null) break;
-                    current = back;
-                    continue;
-                }
+    /**
+     * 마지막으로 커서 목록을 교체한 시각. 한 번도 교체하지 않았으면 null
+     */
+    public Instant getCursorsPublishedAt() {
+        Long epochMillis = redisCursorStore.loadTimestamp(PUBLISHED_AT_KEY);
+        return epochMillis != null ? Instant.ofEpochMilli(epochMillis) : null;
+    }
 
-                List<LiveResponseDTO> data = resp.getContent().getData();
-                if (data.isEmpty()) break;
-
-                Set<String> currIds = data.stream()
-                        .map(LiveResponseDTO::getChannelId)
-                        .collect(Collectors.toCollection(LinkedHashSet::new));
-
-                log.info("[커서 응답] pageIndex={} cursor='{}' 방송자 수={} → {}",
-                        current.pageIndex, cur, currIds.size(), String.join(", ", currIds));
-
-                // 중복 응답 검사
-                Map<Integer, String> finalIndexToCursor = indexToCursor;
-                Node finalCurrent = current;
-                boolean isDuplicate = cursorToBroadcasterIds.entrySet().stream()
-                        .filter(e -> {
-                            String prevCursor = e.getKey();
-                            if (prevCursor.equals(cur)) return false;
-
-                            int prevIndex = finalIndexToCursor.entrySet().stream()
-                                    .filter(en -> en.getValue().equals(prevCursor))
-                                    .map(Map.Entry::getKey)
-                                    .findFirst().orElse(-1);
-
-                            return prevIndex != finalCurrent.pageIndex;
-                        })
-                        .map(Map.Entry::getValue)
-                        .anyMatch(prevIds -> {
-                            long overlap = currIds.stream().filter(prevIds::contains).count();
-                            return (double) overlap / currIds.size() >= 0.8;
-                        });
-
-                if (isDuplicate) {
-                    log.warn("[중복 응답 감지] pageIndex={}, cursor='{}' 제외", current.pageIndex, cur);
-
-                    String next = resp.getContent().getPage().getNext();
-                    if (next == null || failed.contains(next) || visited.contains(next)) {
-                        log.warn("중복 감지 후 다음 커서가 유효하지 않음 → 백트랙");
-                        Node back = handleInvalidNext(current, next, visited, failed);
-                        if (back == null) break;
-                        current = back;
-                        continue;
-                    }
-
-                    visited.add(next);
-                    current = new Node(next, current, current.pageIndex + 1);
-                    continue;
-                }
+    public boolean hasDrift() {
+        return driftIndex != NO_DRIFT;
+    }
 
-                indexToCursor.put(current.pageIndex, cur);
-                cursorToBroadcasterIds.put(cur, currIds);
+    public boolean hasCursors() {
+        return redisCursorStore.hasActiveGeneration(CURSOR_NAMESPACE);
+    }
 
-                LiveResponseDTO lastDTO = data.get(data.size() - 1);
-                int lastCount = lastDTO.getConcurrentUserCount();
-                if (lastCount < VIEWER_THRESHOLD) {
-                    finished = true;
-                    break;
-                }
+    /**
+     * @param onAccepted 탐색이 실제로 시작될 때만 호출자 스레드에서 실행할 작업
+     */
+    private CompletableFuture<Boolean> launch(Supplier<DeepScanRun> runFactory, RedisLeaseManager.Lease lease,
+                                              Runnable onAccepted) {
+        synchronized (this) {
+            if (activeRun != null || launching) {
+                log.warn("[DeepScan] 이미 진행 중인 탐색이 있어 시작하지 않습니다.");
+                return CompletableFuture.completedFuture(false);
+            }
+            launching = true;
+        }
 
-                String next = resp.getContent().getPage().getNext();
-                if (failed.contains(next) || visited.contains(next)) {
-                    log.warn("커서 중복 또는 오류로 제외됨: {}", next);
-                    Node back = handleInvalidNext(current, next, visited, failed);
-                    if (back == null) break;
-                    current = back;
-                    continue;
-                }
+        // 체크포인트 조회 같은 Redis I/O 는 모니터 밖에서 한다. launching 이 다른 시작 요청을 막는다
+        DeepScanRun run = null;
+        try {
+            run = runFactory.get();
+        } finally {
+            synchronized (this) {
+                launching = false;
+                activeRun = run;
+            }
+        }
+
+        onAccepted.run();
 
-                visited.add(next);
-                current = new Node(next, current, current.pageIndex + 1);
+        DeepScanRun started = run;
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        scanTaskScheduler.execute(() -> advance(started, lease, result));
+        return result;
+    }
+
+    /**
+     * Redis 에 남은 체크포인트가 있으면 마지막으로 저장된 페이지부터 이어서 탐색합니다.
+     * 같은 체크포인트에서 여러 번 이어가도 끝내지 못했다면 버리고 처음부터 시작합니다.
+     */
+    private DeepScanRun newDeepScanRun() {
+        Optional<RedisDeepScanCheckpointStore.Checkpoint> checkpoint = Optional.empty();
+        try {
+            checkpoint = checkpointStore.load();
+        } catch (Exception e) {
+            log.warn("[DeepScan] 체크포인트 조회 실패, 처음부터 탐색합니다: {}", e.getMessage());
+        }
+
+        if (checkpoint.isPresent() && checkpoint.get().getState().getResumes() < MAX_RESUMES) {
+            RedisDeepScanCheckpointStore.Checkpoint cp = checkpoint.get();
+            log.info("[DeepScan] 체크포인트에서 재개 pageIndex={} 저장된 페이지={} 재개 횟수={}",
+                    cp.getState().getChain().size() - 1, cp.getPages().size(), cp.getState().getResumes() + 1);
+            return DeepScanRun.resume(chzzkOpenApiClient::fetchPage, VIEWER_THRESHOLD, MAX_WALKS, RETRY_WAIT_MS,
+                    maxParentRetries, checkpointListener, cp.getState(), cp.getPages());
+        }
+
+        if (checkpoint.isPresent()) {
+            log.warn("[DeepScan] 체크포인트 재개 한도({}) 초과 → 폐기 후 처음부터 탐색", MAX_RESUMES);
+        }
+        checkpointListener.onReset();
+        return new DeepScanRun(chzzkOpenApiClient::fetchPage, VIEWER_THRESHOLD, MAX_WALKS, RETRY_WAIT_MS, maxParentRetries,
+                checkpointListener);
+    }
+
+    // 체크포인트 저장은 최선형: Redis 오류가 탐색 자체를 멈추게 하지 않는다
+    private final DeepScanRun.CheckpointListener checkpointListener = new DeepScanRun.CheckpointListener() {
+        @Override
+        public void onPageStored(DeepScanPageDTO page, DeepScanCheckpointDTO delta) {
+            try {
+                checkpointStore.appendPage(page, delta);
+            } catch (Exception e) {
+                log.warn("[DeepScan] 체크포인트 저장 실패 pageIndex={}: {}", page.getPageIndex(), e.getMessage());
+            }
+        }
+
+        @Override
+        public void onReset() {
+            try {
+                checkpointStore.clear();
+            } catch (Exception e) {
+                log.warn("[DeepScan] 체크포인트 삭제 실패: {}", e.getMessage());
             }
+        }
+    };
 
-        } while (!finished && retries < maxRetries);
+    public boolean isDeepScanRunning() {
+        return activeRun != null;
+    }
 
-        if (!finished) {
+    public DeepScanProgressDTO getDeepScanProgress() {
+        DeepScanRun run = activeRun;
+        if (run == null) {
+            return DeepScanProgressDTO.builder().running(false).build();
+        }
+        return DeepScanProgressDTO.builder()
+                .running(true)
+                .phase(run.getPhase().name())
+                .walk(run.getWalk())
+                .depth(run.getDepth())
+                .storedPages(run.getPages().size())
+                .retries(run.getRetries())
+                .backtracks(run.getBacktracks())
+                .resumes(run.getResumes())
+                .build();
+    }
+
+    private void advance(DeepScanRun run, RedisLeaseManager.Lease lease, CompletableFuture<Boolean> result) {
+        long delayMs;
+        try {
+            delayMs = run.step();
+        } catch (Exception e) {
+            log.error("[DeepScan] 탐색 중 오류 발생", e);
+            finishRun(result, false);
+            return;
+        }
+
+        if (delayMs == DeepScanRun.DONE) {
+            boolean stored = false;
+            try {
+                stored = storeCursors(run, lease);
+            } catch (Exception e) {
+                log.error("[DeepScan] 커서 저장 중 오류 발생", e);
+            }
+            finishRun(result, stored);
+        } else if (delayMs == 0) {
+            scanTaskScheduler.execute(() -> advance(run, lease, result));
+        } else {
+            scanTaskScheduler.schedule(() -> advance(run, lease, result), Instant.now().plusMillis(delayMs));
+        }
+    }
+
+    private void finishRun(CompletableFuture<Boolean> result, boolean stored) {
+        synchronized (this) {
+            activeRun = null;
+        }
+        result.complete(stored);
+    }
+
+    private boolean storeCursors(DeepScanRun run, RedisLeaseManager.Lease lease) {
+        if (!run.isFinished()) {
             log.warn("Threshold에 도달하지 못해 커서 저장을 건너뜁니다.");
             return false;
         }
 
-        if (indexToCursor.size() < 3) {
-            log.warn("수집된 커서가 너무 적어 저장하지 않습니다. count={}", indexToCursor.size());
+        CursorPageIndex pages = run.getPages();
+        if (pages.size() < 3) {
+            log.warn("수집된 커서가 너무 적어 저장하지 않습니다. count={}", pages.size());
             return false;
         }
 
-        Set<String> allBroadcasters = cursorToBroadcasterIds.values().stream()
+        Set<String> allBroadcasters = pages.getCursorToBroadcasterIds().values().stream()
                 .flatMap(Set::stream).collect(Collectors.toSet());
 
-        log.info("[DeepScan] 저장된 커서 개수 = {}, 전체 방송자 수 = {}", indexToCursor.size(), allBroadcasters.size());
-        redisCursorStore.saveZSet(NEXT_KEY, indexToCursor);
-        redisCursorStore.rename(NEXT_KEY, CURRENT_KEY);
+        log.info("[DeepScan] 저장된 커서 개수 = {}, 전체 방송자 수 = {}, 재시도 = {}, 백트랙 = {}",
+                pages.size(), allBroadcasters.size(), run.getRetries(), run.getBacktracks());
+        // 탐색 도중 리스가 다른 노드로 넘어갔다면 그 노드의 결과를 덮어쓰지 않는다. 확인은 발행 스크립트 안에서 한다
+        Optional<Long> generation = redisCursorStore.publishGeneration(CURSOR_NAMESPACE, pages.getIndexToCursor(),
+                leaseManager.fenceOf(lease));
+        if (generation.isEmpty()) {
+            log.warn("[DeepScan] {} 리스를 잃어 탐색 결과를 버립니다.", lease);
+            return false;
+        }
+        log.info("[DeepScan] 커서 세대 {} 활성화", generation.get());
+        redisCursorStore.saveTimestamp(PUBLISHED_AT_KEY, System.currentTimeMillis());
+        checkpointListener.onReset();
 
         return true;
     }
 
-    public List<LiveResponseDTO> collectLiveBroadcastersFromRedis() {
-        Map<String, LiveResponseDTO> result = new LinkedHashMap<>();
+    /**
+     * cursor_zset:current 의 페이지를 구간별 주기에 맞춰 조회합니다.
+     * 이번 틱에 조회하지 않은 페이지는 마지막 조회 결과를 carried 로 돌려줍니다.
+     * 같은 주기의 페이지들은 틱마다 나눠 조회되도록 페이지 인덱스만큼 위상을 어긋나게 둡니다.
+     */
+    public FastScanResultDTO collectLiveBroadcastersFromRedis() {
+        return collectLiveBroadcastersFromRedis(ScanPartition.ALL);
+    }
+
+    /**
+     * 분할 모드에서는 partition 이 맡은 페이지만 조회합니다. 드리프트 판정과 캐시도 맡은 페이지 기준입니다.
+     */
+    public FastScanResultDTO collectLiveBroadcastersFromRedis(ScanPartition partition) {
+        Optional<RedisCursorStore.CursorGeneration> active = redisCursorStore.loadActiveGeneration(CURSOR_NAMESPACE);
+        if (active.isEmpty()) {
+            log.warn("[FastScan] 활성 커서 세대가 없어 조회를 건너뜁니다.");
+            return new FastScanResultDTO();
+        }
+        long generation = active.get().getGeneration();
+        if (generation != activeGeneration) {
+            log.info("[FastScan] 커서 세대 변경 {} → {}", activeGeneration, generation);
+            activeGeneration = generation;
+        }
+        Map<Integer, String> indexToCursor = new TreeMap<>(active.get().getIndexToCursor());
+        Map<Integer, String> ownedIndexToCursor = new TreeMap<>();
+        indexToCursor.forEach((pageIndex, cursor) -> {
+            if (partition.ownsPage(pageIndex)) ownedIndexToCursor.put(pageIndex, cursor);
+        });
+        long tick = fastScanTicks++;
+        long nowMs = System.currentTimeMillis();
+
+        // DeepScan 으로 커서가 바뀌거나 재분배로 맡은 페이지가 바뀌면 이전 결과는 버린다
+        pageCache.keySet().retainAll(ownedIndexToCursor.values());
+        fetchFailures.keySet().retainAll(ownedIndexToCursor.values());
+
+        List<String> dueCursors = new ArrayList<>();
+        int position = 0;
+        for (Map.Entry<Integer, String> entry : ownedIndexToCursor.entrySet()) {
+            if (isDue(entry.getKey(), position++, entry.getValue(), tick)) {
+                dueCursors.add(entry.getValue());
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        List<ChzzkRootResponseDTO> fetched = concurrentFetch
+                ? fetchPagesConcurrently(dueCursors)
+                : dueCursors.stream().map(chzzkOpenApiClient::fetchPage).toList();
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        fetchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        lastFetchTickRatio = (double) elapsedNanos / TimeUnit.MILLISECONDS.toNanos(FAST_SCAN_TICK_MS);
+
+        Set<String> freshCursors = new HashSet<>();
+        Set<String> failedCursors = new HashSet<>();
+        for (int i = 0; i < dueCursors.size(); i++) {
+            ChzzkRootResponseDTO resp = fetched.get(i);
+            if (resp != null && resp.getContent() != null && resp.getContent().getData() != null) {
+                pageCache.put(dueCursors.get(i), new CachedPage(resp, nowMs));
+                freshCursors.add(dueCursors.get(i));
+            } else {
+                failedCursors.add(dueCursors.get(i));
+            }
+        }
+        lastIndexToCursor = indexToCursor;
+        driftIndex = detectDrift(indexToCursor, freshCursors, failedCursors);
+
+        // 페이지 인덱스 순서대로 병합해야 앞 페이지의 방송 정보가 우선한다. 새로 조회한 결과가 이어 쓴 결과보다 우선한다
+        Map<String, LiveResponseDTO> fresh = new LinkedHashMap<>();
+        Map<String, LiveResponseDTO> carried = new LinkedHashMap<>();
+        int carriedPages = 0;
+        for (Map.Entry<Integer, String> entry : ownedIndexToCursor.entrySet()) {
+            String cursor = entry.getValue();
+            CachedPage cached = pageCache.get(cursor);
+            if (cached == null) continue;
+
+            if (freshCursors.contains(cursor)) {
+                cached.page.getContent().getData().forEach(dto -> fresh.putIfAbsent(dto.getChannelId(), dto));
+            } else if (nowMs - cached.fetchedAtMs <= 2 * pollingTiers.intervalFor(entry.getKey())) {
+                // 조회에 실패했거나 주기가 오지 않은 페이지. 너무 오래된 결과는 이어 쓰지 않는다
+                cached.page.getContent().getData().forEach(dto -> carried.putIfAbsent(dto.getChannelId(), dto));
+                carriedPages++;
+            }
+        }
+        carried.keySet().removeAll(fresh.keySet());
+
+        fetchedPagesCounter.increment(dueCursors.size());
+        carriedPagesCounter.increment(carriedPages);
+        log.info("[FastScan] 페이지 조회 완료 generation={} partition={} pages={} fetched={} carried={} elapsedMs={}",
+                generation, partition, ownedIndexToCursor.size(), dueCursors.size(), carriedPages, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+
+        return FastScanResultDTO.builder()
+                .fresh(new ArrayList<>(fresh.values()))
+                .carried(new ArrayList<>(carried.values()))
+                .build();
+    }
+
+    /**
+     * 이번 틱에 조회한 페이지로 커서 체인이 낡았는지 판단합니다.
+     * 조회 연속 실패, 빈 페이지, 앞 페이지와 대부분 겹치는 페이지, 마지막 페이지가 아직 threshold 이상인 경우를 드리프트로 봅니다.
+     *
+     * @return 다시 탐색해야 하는 첫 페이지 인덱스, 드리프트가 없으면 {@link #NO_DRIFT}
+     */
+    private int detectDrift(Map<Integer, String> indexToCursor, Set<String> freshCursors, Set<String> failedCursors) {
+        CursorPageIndex seen = new CursorPageIndex();
+
+        for (Map.Entry<Integer, String> entry : indexToCursor.entrySet()) {
+            int pageIndex = entry.getKey();
+            String cursor = entry.getValue();
+
+            if (failedCursors.contains(cursor)) {
+                if (fetchFailures.merge(cursor, 1, Integer::sum) >= DRIFT_FAILURE_ATTEMPTS) {
+                    return drift(pageIndex, "fetch_failed");
+                }
+                continue;
+            }
 
-        redisCursorStore.loadZSet(CURRENT_KEY)
-                .entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(Map.Entry::getValue)
-                .map(chzzkOpenApiClient::fetchPage)
-                .filter(resp -> resp != null && resp.getContent() != null && resp.getContent().getData() != null)
-                .flatMap(resp -> resp.getContent().getData().stream())
-                .forEach(dto -> result.putIfAbsent(dto.getChannelId(), dto));
+            CachedPage cached = pageCache.get(cursor);
+            if (cached == null) continue;
+            boolean fresh = freshCursors.contains(cursor);
+            if (fresh) fetchFailures.remove(cursor);
 
-        return new ArrayList<>(result.values());
+            List<LiveResponseDTO> data = cached.page.getContent().getData();
+            if (fresh && data.isEmpty()) return drift(pageIndex, "empty_page");
+
+            Set<String> ids = data.stream()
+                    .map(LiveResponseDTO::getChannelId)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (fresh && seen.isDuplicate(pageIndex, cursor, ids)) return drift(pageIndex, "overlap");
+            seen.add(pageIndex, cursor, ids);
+        }
+
+        // 마지막 페이지 끝까지 threshold 이상이면 체인이 짧아진 것이므로 그 뒤를 이어 탐색한다
+        if (indexToCursor.isEmpty()) return NO_DRIFT;
+        int lastIndex = Collections.max(indexToCursor.keySet());
+        String lastCursor = indexToCursor.get(lastIndex);
+        if (freshCursors.contains(lastCursor)) {
+            List<LiveResponseDTO> data = pageCache.get(lastCursor).page.getContent().getData();
+            if (data.get(data.size() - 1).getConcurrentUserCount() >= VIEWER_THRESHOLD) {
+                return drift(lastIndex + 1, "threshold_rise");
+            }
+        }
+        return NO_DRIFT;
+    }
+
+    private int drift(int pageIndex, String reason) {
+        meterRegistry.counter("fast_scan_drift_total", "reason", reason).increment();
+        log.warn("[FastScan] 커서 드리프트 감지 pageIndex={} reason={}", pageIndex, reason);
+        return pageIndex;
     }
 
-    private Node handleInvalidNext(Node current, String targetCursor,
-                                   Set<String> visited, Set<String> failed) {
-        Node parent = current.parent;
-        if (parent == null) return null;
+    /**
+     * @param position 이 노드가 맡은 페이지 중 몇 번째인지. 같은 주기의 페이지를 틱마다 고르게 나누는 위상으로 쓴다
+     */
+    private boolean isDue(int pageIndex, int position, String cursor, long tick) {
+        if (!pageCache.containsKey(cursor)) return true;
+        long periodTicks = Math.max(1, Math.round((double) pollingTiers.intervalFor(pageIndex) / FAST_SCAN_TICK_MS));
+        return (tick + position) % periodTicks == 0;
+    }
+
+    /**
+     * 커서 목록을 chzzkFetchExecutor 에서 동시에 조회합니다.
+     * 반환 목록은 입력 커서 순서를 유지하며, 시간 예산 안에 끝나지 않은 페이지는 null 로 채워집니다.
+     */
+    private List<ChzzkRootResponseDTO> fetchPagesConcurrently(List<String> cursors) {
+        List<CompletableFuture<ChzzkRootResponseDTO>> futures = cursors.stream()
+                .map(cursor -> CompletableFuture.supplyAsync(() -> chzzkOpenApiClient.fetchPage(cursor), chzzkFetchExecutor))
+                .toList();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchBudgetMs);
+        List<ChzzkRootResponseDTO> pages = new ArrayList<>(futures.size());
+        int skipped = 0;
 
-        // 재시도: 부모에서 새로운 next 받기
-        ChzzkRootResponseDTO chzzkRootResponseDTO;
-        String parentNext;
-        do {
+        for (CompletableFuture<ChzzkRootResponseDTO> future : futures) {
             try {
-                TimeUnit.MILLISECONDS.sleep(RETRY_WAIT_MS);
+                pages.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // 아직 시작하지 않은 조회는 cancel 로 실행 자체가 취소된다
+                future.cancel(true);
+                pages.add(null);
+                skipped++;
+            } catch (ExecutionException e) {
+                log.warn("[FastScan] 페이지 조회 실패: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                pages.add(null);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                return null;
+                futures.forEach(f -> f.cancel(true));
+                break;
             }
-            chzzkRootResponseDTO = chzzkOpenApiClient.fetchPage(parent.cursor);
-            if (chzzkRootResponseDTO == null || chzzkRootResponseDTO.getContent() == null) {
-                failed.add(parent.cursor);
-                return parent.parent;
-            }
-            parentNext = chzzkRootResponseDTO.getContent().getPage().getNext();
-        } while (parentNext.equals(targetCursor));
+        }
 
-        if (failed.contains(parentNext) || visited.contains(parentNext)) {
-            return parent.parent;
+        if (skipped > 0) {
+            budgetExceededCounter.increment(skipped);
+            log.warn("[FastScan] 시간 예산({}ms) 초과로 {}개 페이지를 이번 틱에서 제외", fetchBudgetMs, skipped);
         }
-        visited.add(parentNext);
-        return new Node(parentNext, parent, parent.pageIndex + 1);
+        return pages;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.streampulse.backend.service;
+
+import java.util.*;
+
+/**
+ * DeepScan 중 수집한 커서 페이지와 방송자 목록을 보관하고, 새 페이지가 이전 페이지와 겹치는지 검사합니다.
+ * channelId → 페이지 역색인을 유지하므로 중복 검사는 이전 페이지 수와 무관하게 새 페이지 크기에 비례합니다.
+ * DeepScan 은 visited 집합 때문에 같은 커서를 두 번 저장하지 않으며, 이 전제에서 기존 선형 검사와 결과가 같습니다.
+ */
+class CursorPageIndex {
+
+    private static final double DUPLICATE_RATIO = 0.8;
+
+    private final Map<Integer, String> indexToCursor = new LinkedHashMap<>();
+    private final Map<String, Set<String>> cursorToBroadcasterIds = new LinkedHashMap<>();
+
+    // 페이지(slot) 단위 정보. 같은 커서가 다시 저장되면 이전 slot 은 비활성화된다.
+    private final Map<String, Integer> cursorToSlot = new HashMap<>();
+    private final Map<Integer, Integer> pageIndexToSlot = new HashMap<>();
+    private final List<String> slotCursors = new ArrayList<>();
+    private int[] slotPageIndex = new int[64];
+    private boolean[] slotActive = new boolean[64];
+
+    private final Map<String, List<Integer>> channelToSlots = new HashMap<>();
+
+    // 중복 검사용 누적 카운터. 검사 후 건드린 slot 만 0 으로 되돌린다.
+    private int[] overlap = new int[64];
+    private final List<Integer> touched = new ArrayList<>();
+
+    void add(int pageIndex, String cursor, Set<String> broadcasterIds) {
+        Integer previousAtIndex = pageIndexToSlot.get(pageIndex);
+        if (previousAtIndex != null) {
+            // indexToCursor 에서 덮어써진 커서는 더 이상 어떤 인덱스에도 속하지 않는다
+            slotPageIndex[previousAtIndex] = -1;
+        }
+        Integer previousForCursor = cursorToSlot.get(cursor);
+        if (previousForCursor != null) {
+            slotActive[previousForCursor] = false;
+        }
+
+        int slot = slotCursors.size();
+        ensureCapacity(slot + 1);
+        slotCursors.add(cursor);
+        slotPageIndex[slot] = pageIndex;
+        slotActive[slot] = true;
+        cursorToSlot.put(cursor, slot);
+        pageIndexToSlot.put(pageIndex, slot);
+
+        for (String channelId : broadcasterIds) {
+            channelToSlots.computeIfAbsent(channelId, k -> new ArrayList<>(2)).add(slot);
+        }
+
+        indexToCursor.put(pageIndex, cursor);
+        cursorToBroadcasterIds.put(cursor, broadcasterIds);
+    }
+
+    /**
+     * 다른 인덱스에 저장된 이전 페이지 중 방송자의 80% 이상이 겹치는 페이지가 있는지 확인합니다.
+     */
+    boolean isDuplicate(int pageIndex, String cursor, Set<String> broadcasterIds) {
+        if (broadcasterIds.isEmpty()) return false;
+
+        for (String channelId : broadcasterIds) {
+            List<Integer> slots = channelToSlots.get(channelId);
+            if (slots == null) continue;
+            for (int slot : slots) {
+                if (overlap[slot]++ == 0) touched.add(slot);
+            }
+        }
+
+        boolean duplicate = false;
+        for (int slot : touched) {
+            if (!duplicate
+                    && slotActive[slot]
+                    && slotPageIndex[slot] != pageIndex
+                    && !slotCursors.get(slot).equals(cursor)
+                    && (double) overlap[slot] / broadcasterIds.size() >= DUPLICATE_RATIO) {
+                duplicate = true;
+            }
+            overlap[slot] = 0;
+        }
+        touched.clear();
+        return duplicate;
+    }
+
+    Map<Integer, String> getIndexToCursor() {
+        return indexToCursor;
+    }
+
+    Map<String, Set<String>> getCursorToBroadcasterIds() {
+        return cursorToBroadcasterIds;
+    }
+
+    int size() {
+        return indexToCursor.size();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= slotPageIndex.length) return;
+        int newLength = Math.max(capacity, slotPageIndex.length * 2);
+        slotPageIndex = Arrays.copyOf(slotPageIndex, newLength);
+        slotActive = Arrays.copyOf(slotActive, newLength);
+        overlap = Arrays.copyOf(overlap, newLength);
+    }
+}
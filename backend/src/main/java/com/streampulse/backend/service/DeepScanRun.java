@@ -0,0 +1,424 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.dto.ChzzkRootResponseDTO;
+import com.streampulse.backend.dto.DeepScanCheckpointDTO;
+import com.streampulse.backend.dto.DeepScanPageDTO;
+import com.streampulse.backend.dto.LiveResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * DeepScan 커서 탐색 한 번의 상태 머신입니다.
+ * {@link #step()} 은 페이지 하나를 처리하고 다음 단계까지 기다릴 시간을 돌려주며, 스레드를 재우지 않습니다.
+ * 재시도 대기는 호출자가 지연 작업으로 예약합니다.
+ * 페이지가 저장될 때마다 체크포인트를 만들고, 탐색이 막히면 처음이 아니라 마지막 체크포인트에서 다시 걷습니다.
+ * 체크포인트 리스너에는 직전 체크포인트 이후 늘어난 방문/실패 커서만 넘기므로 페이지당 저장량이 탐색 깊이와 무관합니다.
+ */
+@Slf4j
+class DeepScanRun {
+
+    enum Phase { FETCH, RETRY_PARENT, FINISHED, ABANDONED }
+
+    static final long DONE = -1;
+
+    /**
+     * 체크포인트 영속화를 위한 콜백. 페이지 저장 시점과 체크포인트가 무효화되는 시점에 호출됩니다.
+     * onPageStored 의 delta 는 chain/next/카운터는 현재 값을, visited/failed 는 직전 체크포인트 이후 추가된 커서만 담습니다.
+     */
+    interface CheckpointListener {
+        void onPageStored(DeepScanPageDTO page, DeepScanCheckpointDTO delta);
+
+        void onReset();
+    }
+
+    private static final CheckpointListener NO_CHECKPOINT = new CheckpointListener() {
+        @Override
+        public void onPageStored(DeepScanPageDTO page, DeepScanCheckpointDTO delta) {
+        }
+
+        @Override
+        public void onReset() {
+        }
+    };
+
+    static class Node {
+        final String cursor;
+        final Node parent;
+        final int pageIndex;
+
+        Node(String cursor, Node parent, int pageIndex) {
+            this.cursor = cursor;
+            this.parent = parent;
+            this.pageIndex = pageIndex;
+        }
+    }
+
+    private static final String NO_CURSOR = "";
+
+    private final Function<String, ChzzkRootResponseDTO> fetcher;
+    private final int viewerThreshold;
+    private final int maxWalks;
+    private final long retryWaitMs;
+    private final int maxParentRetries;
+    private final CheckpointListener checkpointListener;
+
+    private Phase phase;
+    private Node current;
+    private String retryTarget;
+    private CursorPageIndex pages;
+    private Set<String> visited;
+    private Set<String> failed;
+    // 직전 체크포인트 이후 visited/failed 에 새로 들어온 커서
+    private List<String> pendingVisited;
+    private List<String> pendingFailed;
+    // 재개 직후 다시 조회하는, 이미 저장된 마지막 페이지
+    private Node storedTip;
+
+    private DeepScanCheckpointDTO lastCheckpoint;
+
+    private int walk;
+    private int retries;
+    // 지금 막힌 커서에 대해 부모를 다시 조회한 횟수
+    private int parentRetries;
+    private int backtracks;
+    private int resumes;
+
+    DeepScanRun(Function<String, ChzzkRootResponseDTO> fetcher, int viewerThreshold, int maxWalks, long retryWaitMs,
+                int maxParentRetries) {
+        this(fetcher, viewerThreshold, maxWalks, retryWaitMs, maxParentRetries, NO_CHECKPOINT);
+    }
+
+    /**
+     * @param maxParentRetries 부모 커서가 막힌 커서만 계속 돌려줄 때 다시 조회할 최대 횟수
+     */
+    DeepScanRun(Function<String, ChzzkRootResponseDTO> fetcher, int viewerThreshold, int maxWalks, long retryWaitMs,
+                int maxParentRetries, CheckpointListener checkpointListener) {
+        this.fetcher = fetcher;
+        this.viewerThreshold = viewerThreshold;
+        this.maxWalks = maxWalks;
+        this.retryWaitMs = retryWaitMs;
+        this.maxParentRetries = maxParentRetries;
+        this.checkpointListener = checkpointListener;
+        startWalk();
+    }
+
+    /**
+     * 저장된 체크포인트에서 탐색을 이어갑니다. 마지막으로 저장된 페이지의 next 가 아직 쓸 수 있으면
+     * pageIndex=chain.size() 의 그 커서부터 조회하고, 아니면 마지막 페이지를 다시 조회해 새 next 만 받습니다.
+     * 어느 쪽이든 이미 저장된 페이지를 다시 저장하지 않습니다.
+     */
+    static DeepScanRun resume(Function<String, ChzzkRootResponseDTO> fetcher, int viewerThreshold, int maxWalks,
+                              long retryWaitMs, int maxParentRetries, CheckpointListener checkpointListener,
+                              DeepScanCheckpointDTO state, List<DeepScanPageDTO> storedPages) {
+        DeepScanRun run = new DeepScanRun(fetcher, viewerThreshold, maxWalks, retryWaitMs, maxParentRetries,
+                checkpointListener);
+        run.replay(storedPages);
+        run.retries = state.getRetries();
+        run.backtracks = state.getBacktracks();
+        run.resumes = state.getResumes() + 1;
+        run.restore(state);
+        if (run.isUsable(state.getNext())) {
+            run.advanceTo(state.getNext());
+        } else {
+            run.storedTip = run.current;
+        }
+        return run;
+    }
+
+    /**
+     * 이미 검증된 앞쪽 페이지들을 그대로 두고 그 뒤의 커서 체인만 다시 탐색합니다.
+     * prefix 의 마지막 페이지를 다시 조회해 새 next 커서를 받는 것부터 시작합니다.
+     */
+    static DeepScanRun fromPrefix(Function<String, ChzzkRootResponseDTO> fetcher, int viewerThreshold, int maxWalks,
+                                  long retryWaitMs, int maxParentRetries, List<DeepScanPageDTO> prefix) {
+        DeepScanRun run = new DeepScanRun(fetcher, viewerThreshold, maxWalks, retryWaitMs, maxParentRetries);
+        run.replay(prefix);
+
+        List<String> chain = prefix.stream().map(DeepScanPageDTO::getCursor).toList();
+        run.restore(DeepScanCheckpointDTO.builder()
+                .chain(chain)
+                .visited(chain)
+                .failed(List.of())
+                .walk(run.walk)
+                .build());
+        return run;
+    }
+
+    private void replay(List<DeepScanPageDTO> storedPages) {
+        for (DeepScanPageDTO page : storedPages) {
+            pages.add(page.getPageIndex(), page.getCursor(), new LinkedHashSet<>(page.getChannelIds()));
+        }
+    }
+
+    /**
+     * 현재 상태에서 한 단계를 진행합니다.
+     *
+     * @return 다음 단계까지 기다릴 ms, 탐색이 끝났으면 {@link #DONE}
+     */
+    long step() {
+        return switch (phase) {
+            case FETCH -> fetchCurrent();
+            case RETRY_PARENT -> retryParent();
+            case FINISHED, ABANDONED -> DONE;
+        };
+    }
+
+    private long fetchCurrent() {
+        String cur = current.cursor;
+        ChzzkRootResponseDTO resp = fetcher.apply(cur);
+
+        if (resp == null || resp.getContent() == null) {
+            markFailed(cur);
+            return backtrack(cur);
+        }
+
+        List<LiveResponseDTO> data = resp.getContent().getData();
+        if (data == null || data.isEmpty()) return endWalk();
+
+        Set<String> currIds = data.stream()
+                .map(LiveResponseDTO::getChannelId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        log.info("[커서 응답] pageIndex={} cursor='{}' 방송자 수={} → {}",
+                current.pageIndex, cur, currIds.size(), String.join(", ", currIds));
+
+        String next = nextOf(resp);
+
+        if (current == storedTip) {
+            // 체크포인트에 이미 있는 페이지: 새 next 만 받아 이어간다
+            storedTip = null;
+            return continueFrom(data, next);
+        }
+
+        // 중복 응답 검사
+        if (pages.isDuplicate(current.pageIndex, cur, currIds)) {
+            log.warn("[중복 응답 감지] pageIndex={}, cursor='{}' 제외", current.pageIndex, cur);
+
+            if (!isUsable(next)) {
+                log.warn("중복 감지 후 다음 커서가 유효하지 않음 → 백트랙");
+                return backtrack(next);
+            }
+            return advanceTo(next);
+        }
+
+        pages.add(current.pageIndex, cur, currIds);
+        checkpoint(cur, currIds, next);
+        return continueFrom(data, next);
+    }
+
+    private long continueFrom(List<LiveResponseDTO> data, String next) {
+        LiveResponseDTO lastDTO = data.get(data.size() - 1);
+        if (lastDTO.getConcurrentUserCount() < viewerThreshold) {
+            phase = Phase.FINISHED;
+            return DONE;
+        }
+
+        if (!isUsable(next)) {
+            log.warn("커서 중복 또는 오류로 제외됨: {}", next);
+            return backtrack(next);
+        }
+        return advanceTo(next);
+    }
+
+    /**
+     * 부모 커서를 다시 조회해 막힌 커서와 다른 next 를 받을 때까지 재시도합니다.
+     * 최대 횟수까지 같은 next 만 받으면 부모 커서도 실패로 보고 한 단계 더 거슬러 올라갑니다.
+     */
+    private long retryParent() {
+        Node parent = current.parent;
+        ChzzkRootResponseDTO resp = fetcher.apply(parent.cursor);
+        if (resp == null || resp.getContent() == null) {
+            markFailed(parent.cursor);
+            return moveTo(parent.parent);
+        }
+
+        String parentNext = nextOf(resp);
+        if (Objects.equals(parentNext, retryTarget)) {
+            if (parentRetries >= maxParentRetries) {
+                log.warn("[DeepScan] 부모 커서 '{}' 가 {}회 재조회에도 같은 next 를 돌려줘 실패로 처리합니다.",
+                        parent.cursor, parentRetries);
+                markFailed(parent.cursor);
+                return moveTo(parent.parent);
+            }
+            retries++;
+            parentRetries++;
+            return retryWaitMs;
+        }
+
+        if (!isUsable(parentNext)) {
+            return moveTo(parent.parent);
+        }
+        markVisited(parentNext);
+        current = new Node(parentNext, parent, parent.pageIndex + 1);
+        phase = Phase.FETCH;
+        return 0;
+    }
+
+    private long backtrack(String target) {
+        if (current.parent == null) return endWalk();
+
+        backtracks++;
+        retryTarget = target;
+        parentRetries = 0;
+        phase = Phase.RETRY_PARENT;
+        return retryWaitMs;
+    }
+
+    private long advanceTo(String next) {
+        markVisited(next);
+        current = new Node(next, current, current.pageIndex + 1);
+        phase = Phase.FETCH;
+        return 0;
+    }
+
+    private long moveTo(Node node) {
+        if (node == null) return endWalk();
+        current = node;
+        // 이미 저장한 조상 페이지로 돌아가면 다시 저장하지 않고 새 next 만 받는다
+        if (node.cursor.equals(pages.getIndexToCursor().get(node.pageIndex))) storedTip = node;
+        phase = Phase.FETCH;
+        return 0;
+    }
+
+    /**
+     * threshold 에 닿기 전에 탐색이 막혔을 때 마지막 체크포인트(없으면 처음)부터 다시 걷거나,
+     * 횟수를 모두 쓰면 포기합니다.
+     */
+    private long endWalk() {
+        if (walk >= maxWalks) {
+            phase = Phase.ABANDONED;
+            return DONE;
+        }
+
+        if (lastCheckpoint != null) {
+            log.warn("[DeepScan] 탐색 {}회차 실패, pageIndex={} 체크포인트부터 다시 탐색합니다.",
+                    walk, lastCheckpoint.getChain().size() - 1);
+            walk++;
+            restore(lastCheckpoint);
+            // 체크포인트의 마지막 페이지는 이미 저장돼 있으므로 새 next 만 받는다
+            storedTip = current;
+        } else {
+            log.warn("[DeepScan] 탐색 {}회차 실패, 처음부터 다시 탐색합니다.", walk);
+            startWalk();
+            checkpointListener.onReset();
+        }
+        return 0;
+    }
+
+    private void checkpoint(String cursor, Set<String> channelIds, String next) {
+        List<String> chain = new ArrayList<>(current.pageIndex + 1);
+        for (Node node = current; node != null; node = node.parent) {
+            chain.add(node.cursor);
+        }
+        Collections.reverse(chain);
+
+        // 메모리에는 되돌아갈 전체 상태를, 리스너에는 늘어난 부분만 넘긴다
+        DeepScanCheckpointDTO delta = DeepScanCheckpointDTO.builder()
+                .chain(chain)
+                .next(next)
+                .visited(pendingVisited)
+                .failed(pendingFailed)
+                .walk(walk)
+                .retries(retries)
+                .backtracks(backtracks)
+                .resumes(resumes)
+                .build();
+        lastCheckpoint = delta.toBuilder()
+                .visited(new ArrayList<>(visited))
+                .failed(new ArrayList<>(failed))
+                .build();
+        pendingVisited = new ArrayList<>();
+        pendingFailed = new ArrayList<>();
+
+        DeepScanPageDTO page = DeepScanPageDTO.builder()
+                .pageIndex(current.pageIndex)
+                .cursor(cursor)
+                .channelIds(new ArrayList<>(channelIds))
+                .build();
+        checkpointListener.onPageStored(page, delta);
+    }
+
+    private void restore(DeepScanCheckpointDTO state) {
+        visited = new HashSet<>(state.getVisited());
+        failed = new HashSet<>(state.getFailed());
+        pendingVisited = new ArrayList<>();
+        pendingFailed = new ArrayList<>();
+
+        Node node = null;
+        int pageIndex = 0;
+        for (String cursor : state.getChain()) {
+            node = new Node(cursor, node, pageIndex++);
+        }
+        current = node;
+        storedTip = null;
+        retryTarget = null;
+        phase = Phase.FETCH;
+        lastCheckpoint = state;
+    }
+
+    private void startWalk() {
+        walk++;
+        lastCheckpoint = null;
+        pages = new CursorPageIndex();
+        visited = new HashSet<>();
+        failed = new HashSet<>();
+        pendingVisited = new ArrayList<>();
+        pendingFailed = new ArrayList<>();
+        current = new Node(NO_CURSOR, null, 0);
+        storedTip = null;
+        markVisited(NO_CURSOR);
+        retryTarget = null;
+        phase = Phase.FETCH;
+    }
+
+    private void markVisited(String cursor) {
+        if (visited.add(cursor)) pendingVisited.add(cursor);
+    }
+
+    private void markFailed(String cursor) {
+        if (failed.add(cursor)) pendingFailed.add(cursor);
+    }
+
+    private boolean isUsable(String cursor) {
+        return cursor != null && !failed.contains(cursor) && !visited.contains(cursor);
+    }
+
+    private static String nextOf(ChzzkRootResponseDTO resp) {
+        return resp.getContent().getPage() != null ? resp.getContent().getPage().getNext() : null;
+    }
+
+    boolean isFinished() {
+        return phase == Phase.FINISHED;
+    }
+
+    Phase getPhase() {
+        return phase;
+    }
+
+    CursorPageIndex getPages() {
+        return pages;
+    }
+
+    int getDepth() {
+        return current.pageIndex;
+    }
+
+    int getWalk() {
+        return walk;
+    }
+
+    int getRetries() {
+        return retries;
+    }
+
+    int getBacktracks() {
+        return backtracks;
+    }
+
+    int getResumes() {
+        return resumes;
+    }
+}
@@ -0,0 +1,151 @@
+package com.streampulse.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방송별 지수가중 이동평균(EWMA)과 분산으로 이번 시청자 수의 z-score 를 구해, 평소 흔들림보다 크게 튀면 HOT 으로 판정합니다.
+ * 방송자 평균이 아니라 그 방송 자신의 최근 수준과 비교하므로 중간 규모 방송의 급상승도 잡고, 원래 큰 방송의 작은 흔들림에는 반응하지 않습니다.
+ * 방송마다 double 두 개와 몇 개의 필드만 두며, 첫 관측 이후에는 값만 갱신합니다.
+ */
+@Component
+@Slf4j
+public class EwmaHotDetector implements HotDetector {
+
+    // 새 관측의 가중치. 0.1 이면 대략 최근 10틱 남짓의 수준을 따라간다
+    @Value("${app.hot.ewma.alpha:0.1}")
+    private double alpha;
+
+    @Value("${app.hot.ewma.z-threshold:3.0}")
+    private double zThreshold;
+
+    // 평균과 분산이 자리 잡기 전에는 판정하지 않는다
+    @Value("${app.hot.ewma.warmup-samples:10}")
+    private int warmupSamples;
+
+    @Value("${app.hot.ewma.min-viewers:300}")
+    private int minViewers;
+
+    // 시청자 수가 거의 변하지 않는 방송에서 작은 변화가 큰 z-score 가 되지 않도록 하는 표준편차 하한(평균 대비 비율)
+    @Value("${app.hot.ewma.min-relative-std:0.02}")
+    private double minRelativeStd;
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return "ewma";
+    }
+
+    @Override
+    public String replayCaveat() {
+        return "지표 행은 시청자 수가 데드밴드를 넘게 움직였거나 제목/카테고리가 바뀌었거나 heartbeat 간격이 지났을 때만 남습니다. "
+                + "EWMA 는 관측마다 평균과 분산을 갱신하므로, 재현에서는 틱마다 관측하는 실시간보다 적고 큰 변화 위주인 계열을 보며 "
+                + "평균은 덜 따라가고 분산은 크게 잡힙니다. 후보 수와 시점은 실시간 판정과 다를 수 있습니다.";
+    }
+
+    @Override
+    public boolean observe(String channelId, int viewerCount, int averageViewerCount, long epochSeconds) {
+        State state = states.computeIfAbsent(channelId, id -> new State());
+        state.updatedAt = epochSeconds;
+
+        if (state.count == 0) {
+            state.mean = viewerCount;
+            state.variance = 0;
+            state.count = 1;
+            return false;
+        }
+
+        double diff = viewerCount - state.mean;
+        double std = Math.max(Math.sqrt(state.variance), Math.max(1.0, state.mean * minRelativeStd));
+        boolean surging = state.count >= warmupSamples && viewerCount >= minViewers && diff / std >= zThreshold;
+
+        // 급상승 표본도 반영해 새 수준에 적응시킨다 (지수가중 평균/분산의 증분 갱신식)
+        double increment = alpha * diff;
+        state.mean += increment;
+        state.variance = (1 - alpha) * (state.variance + diff * increment);
+        state.count++;
+
+        boolean entered = surging && !state.hot;
+        state.hot = surging;
+        return entered;
+    }
+
+    @Override
+    public HotDetector forReplay() {
+        EwmaHotDetector replay = new EwmaHotDetector();
+        replay.alpha = alpha;
+        replay.zThreshold = zThreshold;
+        replay.warmupSamples = warmupSamples;
+        replay.minViewers = minViewers;
+        replay.minRelativeStd = minRelativeStd;
+        return replay;
+    }
+
+    @Override
+    public Map<String, String> checkpoint() {
+        Map<String, String> result = new HashMap<>(states.size());
+        states.forEach((channelId, state) -> result.put(channelId, state.encode()));
+        return result;
+    }
+
+    @Override
+    public void restore(Map<String, String> stored) {
+        int restored = 0;
+        for (Map.Entry<String, String> entry : stored.entrySet()) {
+            State state = State.decode(entry.getValue());
+            if (state == null) {
+                log.warn("[HotDetector] 잘못된 EWMA 상태 무시 - channelId = {}, value = {}", entry.getKey(), entry.getValue());
+                continue;
+            }
+            if (states.putIfAbsent(entry.getKey(), state) == null) restored++;
+        }
+        log.info("[HotDetector] EWMA 상태 {}건 복구", restored);
+    }
+
+    @Override
+    public Set<String> evictBefore(long epochSeconds) {
+        Set<String> evicted = new HashSet<>();
+        states.forEach((channelId, state) -> {
+            if (state.updatedAt < epochSeconds) evicted.add(channelId);
+        });
+        evicted.forEach(states::remove);
+        return evicted;
+    }
+
+    static final class State {
+        double mean;
+        double variance;
+        long count;
+        long updatedAt;
+        boolean hot;
+
+        // mean:variance:count:updatedAt:hot
+        String encode() {
+            return mean + ":" + variance + ":" + count + ":" + updatedAt + ":" + (hot ? 1 : 0);
+        }
+
+        static State decode(String value) {
+            String[] parts = value.split(":");
+            if (parts.length != 5) return null;
+            try {
+                State state = new State();
+                state.mean = Double.parseDouble(parts[0]);
+                state.variance = Double.parseDouble(parts[1]);
+                state.count = Long.parseLong(parts[2]);
+                state.updatedAt = Long.parseLong(parts[3]);
+                state.hot = "1".equals(parts[4]);
+                return state;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
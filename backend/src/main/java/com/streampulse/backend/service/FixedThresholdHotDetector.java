@@ -0,0 +1,28 @@
+package com.streampulse.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기존 고정 임계값 규칙입니다. 시청자 수가 최소값 이상이고 방송자 평균의 일정 배수를 넘으면 HOT 입니다.
+ * 상태가 없어 조건을 만족하는 동안 매 틱 HOT 으로 판정합니다.
+ */
+@Component
+public class FixedThresholdHotDetector implements HotDetector {
+
+    @Value("${app.hot.fixed.min-viewers:1000}")
+    private int minViewers;
+
+    @Value("${app.hot.fixed.average-ratio:1.5}")
+    private double averageRatio;
+
+    @Override
+    public String name() {
+        return "fixed";
+    }
+
+    @Override
+    public boolean observe(String channelId, int viewerCount, int averageViewerCount, long epochSeconds) {
+        return viewerCount >= minViewers && viewerCount > averageViewerCount * averageRatio;
+    }
+}
@@ -0,0 +1,73 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.infra.RedisHotCooldownStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * HOT 이벤트를 낼지 쿨다운 정책으로 정합니다. 세션, 방송자, 카테고리마다 쿨다운을 두고
+ * Redis 왕복 한 번으로 확인과 선점을 함께 해 동시에 도는 틱이 같은 HOT 을 두 번 내지 않게 합니다.
+ * HOT 이후 시청자 수가 re-arm-drop-ratio 이상 빠졌다가 다시 오르면 세션/방송자 쿨다운이 남아 있어도 다시 냅니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotCooldownEngine {
+
+    private final RedisHotCooldownStore redisHotCooldownStore;
+    private final LiveStateTable liveStateTable;
+    private final MeterRegistry meterRegistry;
+
+    // 0 이면 그 범위의 쿨다운을 쓰지 않는다
+    @Value("${app.hot.cooldown.session-ms:86400000}")
+    private long sessionCooldownMs;
+
+    @Value("${app.hot.cooldown.streamer-ms:0}")
+    private long streamerCooldownMs;
+
+    @Value("${app.hot.cooldown.category-ms:0}")
+    private long categoryCooldownMs;
+
+    @Value("${app.hot.cooldown.re-arm-drop-ratio:0.3}")
+    private double rearmDropRatio;
+
+    private static final String[] SCOPES = {"none", "session", "streamer", "category"};
+    private final Counter[] counters = new Counter[SCOPES.length];
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < SCOPES.length; i++) {
+            counters[i] = Counter.builder("hot_events_total")
+                    .description("HOT 이벤트 발행/쿨다운 억제 수")
+                    .tag("result", i == 0 ? "emitted" : "suppressed")
+                    .tag("scope", SCOPES[i])
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 쿨다운 중이 아니면 쿨다운을 선점하고 true 를 반환합니다. 선점한 뒤에는 이 HOT 의 시청자 수를 재무장 기준으로 삼습니다.
+     */
+    public boolean tryEmit(Long sessionId, String channelId, String category, int viewerCount) {
+        int lowSinceHot = liveStateTable.get(channelId).map(LiveStateTable.LiveState::getViewerLowSinceHot).orElse(-1);
+        int blocked = redisHotCooldownStore.acquire(sessionId, channelId, category,
+                new long[]{sessionCooldownMs, streamerCooldownMs, categoryCooldownMs},
+                viewerCount, lowSinceHot, rearmDropRatio);
+        if (blocked < 0 || blocked >= SCOPES.length) {
+            throw new IllegalStateException("알 수 없는 HOT 쿨다운 결과: " + blocked);
+        }
+
+        counters[blocked].increment();
+        if (blocked != 0) {
+            log.debug("[HotCooldown] {} 쿨다운으로 억제 - sessionId = {}, channelId = {}", SCOPES[blocked], sessionId, channelId);
+            return false;
+        }
+        liveStateTable.markHotEmitted(channelId, viewerCount);
+        return true;
+    }
+}
@@ -0,0 +1,170 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.infra.RedisHotDetectorStore;
+import com.streampulse.backend.infra.RedisLeaseManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 설정(app.hot.detectors)으로 켠 {@link HotDetector} 들을 묶어 HOT 을 판정합니다.
+ * 모든 탐지기가 매 관측을 받아 상태를 갱신하고, 하나라도 HOT 이면 HOT 입니다.
+ * 탐지기 상태는 주기적으로 Redis 에 체크포인트하고 기동 시 되살립니다.
+ * 체크포인트 해시는 모든 노드가 함께 쓰므로, 마지막 체크포인트 이후 이 노드가 관측한 방송만 쓰고
+ * 정리한 방송은 이 노드가 종료 판정을 맡은 방송만 지웁니다. FastScan 리스를 잃었으면 아무것도 쓰지 않습니다.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+@Slf4j
+public class HotDetectionEngine implements ApplicationRunner {
+
+    private final List<HotDetector> detectors;
+    private final RedisHotDetectorStore redisHotDetectorStore;
+    private final ThreadPoolTaskScheduler scanTaskScheduler;
+    private final MeterRegistry meterRegistry;
+    private final RedisLeaseManager leaseManager;
+
+    // 쉼표로 구분한 탐지기 이름 (fixed, slope, ewma)
+    @Value("${app.hot.detectors:slope}")
+    private String detectorNames;
+
+    @Value("${app.hot.checkpoint-interval-ms:60000}")
+    private long checkpointIntervalMs;
+
+    // 이 시간 동안 관측되지 않은 방송의 탐지기 상태는 지운다
+    @Value("${app.hot.state-retention-seconds:3600}")
+    private long retentionSeconds;
+
+    private HotDetector[] enabled;
+    private Counter[] firedCounters;
+    private ScheduledFuture<?> checkpointTask;
+    // 마지막 체크포인트 이후 이 노드가 관측한 방송. 한 틱에 한 방송은 한 노드만 처리하므로 지금 처리하는 노드만 상태를 쓴다
+    private final Set<String> observed = ConcurrentHashMap.newKeySet();
+    // 이번 스캔을 맡은 주체. bind 에서만 바뀐다
+    private volatile ScanPartition partition = ScanPartition.ALL;
+    private volatile RedisLeaseManager.Lease lease;
+
+    @PostConstruct
+    public void init() {
+        Map<String, HotDetector> byName = new HashMap<>();
+        detectors.forEach(detector -> byName.put(detector.name(), detector));
+
+        List<HotDetector> selected = new ArrayList<>();
+        for (String name : detectorNames.split(",")) {
+            if (name.isBlank()) continue;
+            HotDetector detector = byName.get(name.trim());
+            if (detector == null) {
+                throw new IllegalArgumentException("알 수 없는 HOT 탐지기: " + name.trim() + " (사용 가능: " + byName.keySet() + ")");
+            }
+            if (!selected.contains(detector)) selected.add(detector);
+        }
+
+        enabled = selected.toArray(new HotDetector[0]);
+        firedCounters = new Counter[enabled.length];
+        for (int i = 0; i < enabled.length; i++) {
+            firedCounters[i] = Counter.builder("hot_detector_fired_total")
+                    .description("탐지기별 HOT 판정 수")
+                    .tag("detector", enabled[i].name())
+                    .register(meterRegistry);
+        }
+        log.info("[HotDetector] 사용 탐지기: {}", selected.stream().map(HotDetector::name).toList());
+
+        checkpointTask = scanTaskScheduler.scheduleWithFixedDelay(this::checkpoint, Duration.ofMillis(checkpointIntervalMs));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (checkpointTask != null) checkpointTask.cancel(false);
+        checkpoint();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (HotDetector detector : enabled) {
+            try {
+                detector.restore(redisHotDetectorStore.load(detector.name()));
+            } catch (Exception e) {
+                // 복구하지 못해도 관측이 쌓이면 다시 판정할 수 있다
+                log.warn("[HotDetector] {} 상태 복구 실패, 빈 상태로 시작: {}", detector.name(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 이번 틱을 처리하는 주체를 기억합니다. 체크포인트에서 리스를 아직 쥐고 있는지, 어느 방송을 지울지 판단하는 데 씁니다.
+     *
+     * @param lease 리스 없이 나눠 스캔하면 null
+     */
+    public void bind(ScanPartition partition, RedisLeaseManager.Lease lease) {
+        this.partition = partition;
+        this.lease = lease;
+    }
+
+    /**
+     * 켜진 탐지기 모두에 이번 관측을 넣고 하나라도 HOT 이면 true 를 반환합니다.
+     */
+    public boolean isHot(String channelId, int viewerCount, int averageViewerCount, long epochSeconds) {
+        observed.add(channelId);
+        boolean hot = false;
+        // 중간에 멈추지 않고 모든 탐지기의 상태를 갱신한다
+        for (int i = 0; i < enabled.length; i++) {
+            if (enabled[i].observe(channelId, viewerCount, averageViewerCount, epochSeconds)) {
+                firedCounters[i].increment();
+                hot = true;
+            }
+        }
+        return hot;
+    }
+
+    /**
+     * 오래된 방송 상태를 정리하고, 이 노드가 맡은 방송의 상태만 Redis 에 쓰고 지웁니다.
+     */
+    public void checkpoint() {
+        if (enabled == null) return;
+        long purgeBefore = Instant.now().getEpochSecond() - retentionSeconds;
+        Set<String> written = new HashSet<>(observed);
+        observed.removeAll(written);
+
+        ScanPartition owner = partition;
+        RedisLeaseManager.Lease currentLease = lease;
+        // 리스를 잃었다면 다른 노드가 같은 방송의 더 새로운 상태를 쓰고 있다. 메모리만 정리한다
+        boolean held = currentLease == null || leaseManager.isHeld(currentLease);
+        if (!held) log.info("[HotDetector] {} 리스를 잃어 체크포인트를 쓰지 않습니다.", currentLease);
+
+        boolean failed = false;
+        for (HotDetector detector : enabled) {
+            try {
+                Set<String> evicted = detector.evictBefore(purgeBefore);
+                if (!held) continue;
+
+                Map<String, String> states = new HashMap<>(detector.checkpoint());
+                states.keySet().retainAll(written);
+                Set<String> removed = new HashSet<>();
+                for (String channelId : evicted) {
+                    if (owner.ownsChannel(channelId)) removed.add(channelId);
+                }
+                redisHotDetectorStore.save(detector.name(), states, removed);
+            } catch (Exception e) {
+                failed = true;
+                log.warn("[HotDetector] {} 체크포인트 실패, 다음 주기에 재시도: {}", detector.name(), e.getMessage());
+            }
+        }
+        if (failed) observed.addAll(written);
+    }
+}
@@ -0,0 +1,60 @@
+package com.streampulse.backend.service;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HOT(시청자 급상승) 판정 방식입니다. app.hot.detectors 에 이름을 나열해 켜며, 켜진 탐지기 중 하나라도 HOT 이면 HOT 입니다.
+ * 판정에 필요한 값을 모두 인자로 받으므로 지난 지표를 순서대로 넣어 다시 돌려 볼 수도 있습니다.
+ * observe 는 틱마다 방송마다 불리므로 상태를 갱신할 때 객체를 새로 만들지 않아야 하며, 같은 방송은 한 스레드에서만 불립니다.
+ */
+public interface HotDetector {
+
+    /**
+     * 설정(app.hot.detectors)과 체크포인트 키에 쓰이는 이름
+     */
+    String name();
+
+    /**
+     * 이번 관측을 상태에 반영하고 HOT 여부를 반환합니다.
+     *
+     * @param averageViewerCount 방송자의 종료된 세션 평균 시청자 수
+     */
+    boolean observe(String channelId, int viewerCount, int averageViewerCount, long epochSeconds);
+
+    /**
+     * 지난 지표를 다시 돌릴 때 쓸 인스턴스를 반환합니다. 실시간 판정 상태를 건드리지 않도록 상태를 따로 가져야 하며,
+     * 상태가 없는 탐지기는 자기 자신을 그대로 반환해도 됩니다.
+     */
+    default HotDetector forReplay() {
+        return this;
+    }
+
+    /**
+     * 지난 지표로 재현한 결과를 실시간 판정과 그대로 비교할 수 없는 이유. 없으면 null 입니다.
+     * StreamMetrics 는 데드밴드를 넘는 변화가 있을 때만 남으므로, 관측 간격에 기대는 탐지기는 이를 밝혀야 합니다.
+     */
+    default String replayCaveat() {
+        return null;
+    }
+
+    /**
+     * 방송별 상태를 문자열로 내보냅니다. 상태가 없는 탐지기는 빈 맵을 반환합니다.
+     */
+    default Map<String, String> checkpoint() {
+        return Map.of();
+    }
+
+    /**
+     * checkpoint 로 내보낸 상태를 되살립니다. 이미 메모리에 있는 방송은 덮어쓰지 않습니다.
+     */
+    default void restore(Map<String, String> states) {
+    }
+
+    /**
+     * 기준 시각 이전에 마지막으로 관측된 방송의 상태를 지우고 지운 방송을 반환합니다.
+     */
+    default Set<String> evictBefore(long epochSeconds) {
+        return Set.of();
+    }
+}
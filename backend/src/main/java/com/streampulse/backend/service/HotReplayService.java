@@ -0,0 +1,292 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.dto.HotReplayCandidateDTO;
+import com.streampulse.backend.dto.HotReplayReportDTO;
+import com.streampulse.backend.dto.HotReplayRequestDTO;
+import com.streampulse.backend.repository.HotReplayCandidateWriter;
+import com.streampulse.backend.repository.StreamMetricsHistoryReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지난 StreamMetrics 에 HOT 탐지기를 다시 돌려 그 규칙이었다면 어디서 HOT 이 났을지 보여 줍니다.
+ * 세션을 keyset 페이지로 읽고, 한 페이지의 세션들을 ForkJoinPool 에서 세션 단위로 나눠 병렬로 재현합니다.
+ * 세션마다 {@link HotDetector#forReplay()} 로 새 인스턴스를 받아 실시간 판정 상태를 건드리지 않으며,
+ * 지표는 세션별로 고정 크기 청크만큼만 읽고 후보는 바로 섀도 테이블에 쓰므로 메모리는 (세션 페이지 + 병렬도 × 청크) 로 묶입니다.
+ * 쿨다운과 카테고리 기준선은 재현하지 않으므로 탐지기 자체의 판정만 나옵니다.
+ * 지표 행은 데드밴드를 넘는 변화가 있을 때만 남으므로, 관측마다 상태를 갱신하는 탐지기는 실시간과 다른 계열을 보게 되며
+ * 그 차이는 {@link HotDetector#replayCaveat()} 로 보고서에 함께 담습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotReplayService {
+
+    private final List<HotDetector> detectors;
+    private final StreamMetricsHistoryReader streamMetricsHistoryReader;
+    private final HotReplayCandidateWriter hotReplayCandidateWriter;
+    private final ThreadPoolTaskExecutor hotReplayExecutor;
+
+    // 재현 작업 스레드 수. 작업마다 커넥션을 하나씩 쓰므로 Hikari 풀 크기보다 충분히 작게 둔다
+    @Value("${app.hot.replay.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.hot.replay.session-page-size:1000}")
+    private int sessionPageSize;
+
+    // 세션 하나의 지표를 한 번에 읽는 행 수
+    @Value("${app.hot.replay.chunk-size:5000}")
+    private int chunkSize;
+
+    // 이 수 이하의 세션 묶음은 더 나누지 않고 한 작업에서 처리한다
+    @Value("${app.hot.replay.leaf-sessions:8}")
+    private int leafSessions;
+
+    // 섀도 테이블에 쓰지 않을 때 보고서에 담는 후보 수
+    @Value("${app.hot.replay.sample-limit:100}")
+    private int sampleLimit;
+
+    private static final int RETAINED_RUNS = 20;
+
+    private final AtomicReference<Run> current = new AtomicReference<>();
+    private final Map<String, Run> runs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Run> eldest) {
+            return size() > RETAINED_RUNS;
+        }
+    });
+
+    /**
+     * 재현을 백그라운드에서 시작하고 시작 시점의 보고서를 반환합니다. 한 번에 하나만 실행합니다.
+     *
+     * @throws IllegalArgumentException 탐지기 이름이나 구간이 잘못된 경우
+     * @throws IllegalStateException    이미 실행 중인 재현이 있는 경우
+     */
+    public HotReplayReportDTO start(HotReplayRequestDTO request) {
+        Run run = newRun(request);
+        while (!current.compareAndSet(null, run)) {
+            // 비교와 조회 사이에 앞선 재현이 끝났을 수 있으므로 한 번만 읽고, 비었으면 다시 시도한다
+            Run running = current.get();
+            if (running != null) {
+                throw new IllegalStateException("이미 실행 중인 HOT 재현이 있습니다: " + running.runId);
+            }
+        }
+        runs.put(run.runId, run);
+        try {
+            hotReplayExecutor.execute(() -> {
+                try {
+                    execute(run);
+                } finally {
+                    current.set(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            current.set(null);
+            runs.remove(run.runId);
+            throw new IllegalStateException("HOT 재현을 시작하지 못했습니다: " + e.getMessage());
+        }
+        return run.report();
+    }
+
+    public Optional<HotReplayReportDTO> get(String runId) {
+        return Optional.ofNullable(runs.get(runId)).map(Run::report);
+    }
+
+    /**
+     * 호출한 스레드에서 재현을 끝까지 실행하고 보고서를 반환합니다.
+     */
+    HotReplayReportDTO replay(HotReplayRequestDTO request) {
+        Run run = newRun(request);
+        execute(run);
+        return run.report();
+    }
+
+    private Run newRun(HotReplayRequestDTO request) {
+        if (request.getFrom() == null || request.getTo() == null || !request.getFrom().isBefore(request.getTo())) {
+            throw new IllegalArgumentException("재현 구간이 올바르지 않습니다: " + request.getFrom() + " ~ " + request.getTo());
+        }
+        HotDetector detector = detectors.stream()
+                .filter(candidate -> candidate.name().equals(request.getDetector()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("알 수 없는 HOT 탐지기: " + request.getDetector()
+                        + " (사용 가능: " + detectors.stream().map(HotDetector::name).toList() + ")"));
+        return new Run(UUID.randomUUID().toString(), detector, request);
+    }
+
+    private void execute(Run run) {
+        log.info("[HotReplay] 시작 - runId: {}, 탐지기: {}, 구간: {} ~ {}, 섀도: {}",
+                run.runId, run.detector.name(), run.from, run.to, run.shadow);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long afterId = 0;
+            while (true) {
+                List<StreamMetricsHistoryReader.SessionRef> page =
+                        streamMetricsHistoryReader.findSessions(run.from, run.to, afterId, sessionPageSize);
+                if (page.isEmpty()) break;
+                pool.invoke(new SessionRangeTask(run, page, 0, page.size()));
+                if (page.size() < sessionPageSize) break;
+                afterId = page.get(page.size() - 1).getSessionId();
+            }
+            run.finish("DONE", null);
+            log.info("[HotReplay] 완료 - runId: {}, 세션: {}, 지표: {}, 후보: {}, 소요: {}ms",
+                    run.runId, run.sessions.sum(), run.rows.sum(), run.candidates.sum(), run.elapsedMs());
+        } catch (Exception e) {
+            log.error("[HotReplay] 실패 - runId: {}", run.runId, e);
+            run.finish("FAILED", e.getMessage());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 세션 하나의 지표를 청크 단위로 읽으며 탐지기에 넣습니다. 후보는 INSERT 한 문장 크기만큼 모이면 바로 씁니다.
+     */
+    private void replaySession(Run run, StreamMetricsHistoryReader.SessionRef session, StreamMetricsHistoryReader.MetricsChunk chunk) {
+        HotDetector detector = run.detector.forReplay();
+        ZoneId zone = ZoneId.systemDefault();
+        List<HotReplayCandidateDTO> pending = new ArrayList<>();
+        long afterId = 0;
+        int read;
+        do {
+            read = streamMetricsHistoryReader.readChunk(session.getSessionId(), run.from, run.to, afterId, chunk);
+            for (int i = 0; i < read; i++) {
+                if (!detector.observe(session.getChannelId(), chunk.viewerCount(i), session.getAverageViewerCount(), chunk.epochSeconds(i))) {
+                    continue;
+                }
+                run.candidates.increment();
+                HotReplayCandidateDTO candidate = HotReplayCandidateDTO.builder()
+                        .streamSessionId(session.getSessionId())
+                        .channelId(session.getChannelId())
+                        .streamMetricsId(chunk.id(i))
+                        .viewerCount(chunk.viewerCount(i))
+                        .observedAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(chunk.epochSeconds(i)), zone))
+                        .build();
+                if (!run.shadow) {
+                    run.sample(candidate, sampleLimit);
+                    continue;
+                }
+                pending.add(candidate);
+                if (pending.size() >= HotReplayCandidateWriter.ROWS_PER_STATEMENT) {
+                    hotReplayCandidateWriter.insertAll(run.runId, detector.name(), pending);
+                    pending.clear();
+                }
+            }
+            run.rows.add(read);
+            afterId = chunk.lastId();
+        } while (read == chunk.capacity());
+
+        if (!pending.isEmpty()) {
+            hotReplayCandidateWriter.insertAll(run.runId, detector.name(), pending);
+        }
+        run.sessions.increment();
+    }
+
+    /**
+     * 세션 목록의 [from, to) 구간을 반씩 나눠 처리하는 작업. 잎 작업 하나가 청크 하나를 만들어 여러 세션에 재사용합니다.
+     */
+    private class SessionRangeTask extends RecursiveAction {
+        private final Run run;
+        private final List<StreamMetricsHistoryReader.SessionRef> sessions;
+        private final int from;
+        private final int to;
+
+        SessionRangeTask(Run run, List<StreamMetricsHistoryReader.SessionRef> sessions, int from, int to) {
+            this.run = run;
+            this.sessions = sessions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > leafSessions) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SessionRangeTask(run, sessions, from, mid), new SessionRangeTask(run, sessions, mid, to));
+                return;
+            }
+            StreamMetricsHistoryReader.MetricsChunk chunk = new StreamMetricsHistoryReader.MetricsChunk(chunkSize);
+            for (int i = from; i < to; i++) {
+                replaySession(run, sessions.get(i), chunk);
+            }
+        }
+    }
+
+    /**
+     * 재현 한 번의 진행 상황. 작업 스레드들이 함께 갱신합니다.
+     */
+    private static class Run {
+        private final String runId;
+        private final HotDetector detector;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final boolean shadow;
+        private final long startedAtNanos = System.nanoTime();
+        private final LongAdder sessions = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder candidates = new LongAdder();
+        private final List<HotReplayCandidateDTO> samples = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "RUNNING";
+        private volatile String error;
+        private volatile long finishedAtNanos;
+
+        Run(String runId, HotDetector detector, HotReplayRequestDTO request) {
+            this.runId = runId;
+            this.detector = detector;
+            this.from = request.getFrom();
+            this.to = request.getTo();
+            this.shadow = request.isShadow();
+        }
+
+        void sample(HotReplayCandidateDTO candidate, int limit) {
+            synchronized (samples) {
+                if (samples.size() < limit) samples.add(candidate);
+            }
+        }
+
+        void finish(String status, String error) {
+            this.finishedAtNanos = System.nanoTime();
+            this.error = error;
+            this.status = status;
+        }
+
+        long elapsedMs() {
+            long end = finishedAtNanos != 0 ? finishedAtNanos : System.nanoTime();
+            return (end - startedAtNanos) / 1_000_000;
+        }
+
+        HotReplayReportDTO report() {
+            List<HotReplayCandidateDTO> copy;
+            synchronized (samples) {
+                copy = new ArrayList<>(samples);
+            }
+            return HotReplayReportDTO.builder()
+                    .runId(runId)
+                    .detector(detector.name())
+                    .from(from)
+                    .to(to)
+                    .shadow(shadow)
+                    .status(status)
+                    .sessions(sessions.sum())
+                    .rows(rows.sum())
+                    .candidates(candidates.sum())
+                    .elapsedMs(elapsedMs())
+                    .error(error)
+                    .caveat(detector.replayCaveat())
+                    .samples(copy)
+                    .build();
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.streampulse.backend.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.streampulse.backend.aop.LogExecution;
 import com.streampulse.backend.dto.LiveResponseDTO;
+import com.streampulse.backend.dto.StreamMetricsSampleDTO;
 import com.streampulse.backend.entity.StreamSession;
 import com.streampulse.backend.entity.Streamer;
 import com.streampulse.backend.enums.EventType;
+import com.streampulse.backend.infra.LiveFingerprint;
 import com.streampulse.backend.infra.RedisLiveStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,9 +32,9 @@ public class LiveHandlerService {
     private final SubscriptionService subscriptionService;
     private final StreamerService streamerService;
     private final StreamMetricsService streamMetricsService;
-    private final ObjectMapper objectMapper;
     private final StreamSessionService streamSessionService;
     private final RedisLiveStore redisLiveStore;
+    private final LiveStateTable liveStateTable;
 
     private static final int NOTIFY_VIEWER_THRESHOLD = 1;
     private static final DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -42,35 +42,60 @@ public class LiveHandlerService {
     private static final long maxDelayMin = 60;
 
 
+    /**
+     * 방송자, 같은 시작 시각의 세션, 구독자 유무를 방송마다 조회하지 않고 IN 조회로 한 번에 읽은 뒤 처리합니다.
+     */
     @LogExecution
     @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
-    public void handleStart(Set<String> nextIds, Map<String, LiveResponseDTO> dtoMap) {
+    public void handleStart(Set<String> nextIds, Map<String, LiveResponseDTO> dtoMap, RedisLiveStore.TickChanges changes) {
         if (nextIds.isEmpty()) return;
 
+        List<LiveResponseDTO> candidates = new ArrayList<>();
         for (String channelId : nextIds) {
-            redisLiveStore.setStaticKey(channelId);
-            try {
-                LiveResponseDTO dto = dtoMap.get(channelId);
+            changes.started(channelId);
+            // 이번 틱에서 세션을 다시 확인하기 전까지는 이전 틱의 세션 id 를 쓰지 않는다
+            liveStateTable.recordSession(channelId, null);
+            LiveResponseDTO dto = dtoMap.get(channelId);
+            if (dto != null) candidates.add(dto);
+        }
 
-                if (dto == null) continue;
+        Map<String, Streamer> streamers = resolveStreamers(candidates, "handleStart");
+        List<LiveResponseDTO> dtos = candidates.stream()
+                .filter(dto -> streamers.containsKey(dto.getChannelId()))
+                .toList();
 
-                Streamer streamer = streamerService.getOrCreateStreamer(dto);
+        Map<String, LocalDateTime> startedAts = new HashMap<>();
+        Map<Long, LocalDateTime> startedAtByStreamerId = new HashMap<>();
+        for (LiveResponseDTO dto : dtos) {
+            try {
+                LocalDateTime startedAt = LocalDateTime.parse(dto.getOpenDate(), fmt);
+                startedAts.put(dto.getChannelId(), startedAt);
+                startedAtByStreamerId.put(streamers.get(dto.getChannelId()).getId(), startedAt);
+            } catch (DateTimeParseException e) {
+                log.warn("[handleStart] startedAt 파싱 실패: {}, channelId={}", dto.getOpenDate(), dto.getChannelId());
+            }
+        }
+        Map<Long, List<StreamSession>> sameStartSessions = streamSessionService.findByStreamerIdAndStartedAt(startedAtByStreamerId);
 
-                LocalDateTime startedAt;
-                try {
-                    startedAt = LocalDateTime.parse(dto.getOpenDate(), fmt);
-                } catch (DateTimeParseException e) {
-                    log.warn("[handleStart] startedAt 파싱 실패: {}, channelId={}", dto.getOpenDate(), channelId);
-                    continue;
-                }
+        List<LiveResponseDTO> started = new ArrayList<>();
+        for (LiveResponseDTO dto : dtos) {
+            String channelId = dto.getChannelId();
+            try {
+                LocalDateTime startedAt = startedAts.get(channelId);
+                if (startedAt == null) continue;
+
+                Streamer streamer = streamers.get(channelId);
 
-                List<StreamSession> sameStartSessions = streamSessionService.findByStreamerAndStartedAt(streamer, startedAt);
-                if (!sameStartSessions.isEmpty()) {
-                    StreamSession existing = sameStartSessions.get(0);
+                List<StreamSession> sameStart = sameStartSessions.getOrDefault(streamer.getId(), List.of());
+                if (!sameStart.isEmpty()) {
+                    StreamSession existing = sameStart.get(0);
                     if (existing.getEndedAt() != null) {
+                        // 종료로 집계했던 세션이 이어지므로 방송자 집계에서 다시 뺀다
+                        streamer.removeEndedSession(existing);
                         existing.resetEndedAt();
                         log.info("[handleStart] endedAt 복구 - sessionId={}, channelId={}", existing.getId(), channelId);
                     }
+                    liveStateTable.recordSession(channelId, existing.getId());
                     continue;
                 }
 
@@ -79,51 +104,71 @@ public class LiveHandlerService {
                     continue;
                 }
 
-                streamSessionService.createSession(streamer, dto);
-                redisLiveStore.saveSnapshot(channelId, serialize(dto));
+                StreamSession created = streamSessionService.createSession(streamer, dto);
+                liveStateTable.recordSession(channelId, created.getId());
+                changes.fingerprint(channelId, LiveFingerprint.of(dto));
 
-                if (streamer.getAverageViewerCount() >= NOTIFY_VIEWER_THRESHOLD
-                        && subscriptionService.hasSubscribersFor(EventType.START, channelId)) {
-                    notificationService.requestStreamStartNotification(channelId, streamer.getNickname());
+                if (streamer.getAverageViewerCount() >= NOTIFY_VIEWER_THRESHOLD) {
+                    started.add(dto);
                 }
+                log.info("[handleStart] channelId = {}", channelId);
+            } catch (Exception e) {
+                log.error("[handleStart] 예외 발생 - channelId = {}, error = {}", channelId, e.getMessage(), e);
+            }
+        }
 
-                if (streamer.getAverageViewerCount() >= NOTIFY_VIEWER_THRESHOLD
-                        && subscriptionService.hasSubscribersFor(EventType.TOPIC, channelId)) {
+        Set<String> startedIds = channelIds(started);
+        Set<String> startSubscribed = subscriptionService.findChannelsWithSubscribers(EventType.START, startedIds);
+        Set<String> topicSubscribed = subscriptionService.findChannelsWithSubscribers(EventType.TOPIC, startedIds);
+        for (LiveResponseDTO dto : started) {
+            String channelId = dto.getChannelId();
+            try {
+                if (startSubscribed.contains(channelId)) {
+                    notificationService.requestStreamStartNotification(channelId, streamers.get(channelId).getNickname());
+                }
+                if (topicSubscribed.contains(channelId)) {
                     subscriptionService.detectTopicEvent(dto);
                 }
-                log.info("[handleStart] channelId = {}", channelId);
             } catch (Exception e) {
-                log.error("[handleStart] 예외 발생 - channelId = {}, error = {}", channelId, e.getMessage(), e);
+                log.error("[handleStart] 알림 예외 발생 - channelId = {}, error = {}", channelId, e.getMessage(), e);
             }
         }
     }
 
+    /**
+     * 종료 후보 중 종료되지 않은 세션이 있는 방송만 종료합니다. 종료 책임은 세션을 연 노드가 아니라 후보를 찾은 노드에 있으며,
+     * 나눠 스캔할 때는 channelId 해시로 정한 노드입니다(LiveSyncService 참고).
+     * 열린 세션이 없는 후보는 이 노드가 시작시킨 방송이 아니거나 이미 종료된 방송이므로 DB 와 알림은 건드리지 않고 남은 상태만 지웁니다.
+     */
     @LogExecution
     @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
-    public void handleEnd(Set<String> endIds) {
+    public void handleEnd(Set<String> endIds, RedisLiveStore.TickChanges changes) {
         if (endIds.isEmpty()) return;
 
+        Map<String, Streamer> streamers = streamerService.findByChannelIds(endIds);
+        Map<Long, List<StreamSession>> activeByStreamerId = streamSessionService.getUnendedSessionsByStreamerIds(
+                streamers.values().stream().map(Streamer::getId).toList());
+        Set<String> endSubscribed = subscriptionService.findChannelsWithSubscribers(EventType.END, streamers.keySet());
+
         for (String channelId : endIds) {
             try {
-                Optional<Streamer> optStreamer = streamerService.findByChannelId(channelId);
-                if (optStreamer.isEmpty()) continue;
-                Streamer streamer = optStreamer.get();
-
-                List<StreamSession> activeSessions = streamSessionService.getAllUnendedSessions(streamer);
-                if (activeSessions.isEmpty()) continue;
+                Streamer streamer = streamers.get(channelId);
+                List<StreamSession> activeSessions = streamer == null ? new ArrayList<>()
+                        : new ArrayList<>(activeByStreamerId.getOrDefault(streamer.getId(), List.of()));
+                if (activeSessions.isEmpty()) {
+                    // 다음 틱에 다시 후보로 잡히지 않도록 lastSeen 등 상태만 정리한다
+                    changes.ended(channelId);
+                    continue;
+                }
 
                 activeSessions.sort((a, b) -> b.getStartedAt().compareTo(a.getStartedAt()));
 
                 boolean notified = false;
                 for (StreamSession session : activeSessions) {
-                    StreamSession endedSession = streamSessionService.handleStreamEnd(streamer, session.getStartedAt());
-                    if (endedSession == null) {
-                        log.warn("[handleEnd] 세션 종료 실패 → SKIP, sessionId={}, channelId={}", session.getId(), channelId);
-                        continue;
-                    }
+                    streamSessionService.endSession(streamer, session);
 
                     if (!notified && streamer.getAverageViewerCount() >= NOTIFY_VIEWER_THRESHOLD
-                            && subscriptionService.hasSubscribersFor(EventType.END, channelId)) {
+                            && endSubscribed.contains(channelId)) {
                         notificationService.requestStreamEndNotification(streamer, session);
                         notified = true;
                     }
@@ -132,9 +177,7 @@ public class LiveHandlerService {
                 }
 
                 streamerService.updateLiveStatus(streamer, false);
-                redisLiveStore.deleteSnapshot(channelId);
-                redisLiveStore.deleteLastSeen(channelId);
-                redisLiveStore.deleteStaticKey(channelId);
+                changes.ended(channelId);
             } catch (Exception e) {
                 log.error("[handleEnd] 예외 발생 - channelId = {}, error = {}", channelId, e.getMessage(), e);
 
@@ -144,52 +187,127 @@ public class LiveHandlerService {
 
     @LogExecution
     @Transactional(propagation = Propagation.REQUIRES_NEW, isolation = Isolation.REPEATABLE_READ)
-    public void handleTopic(Set<String> nextIds, Map<String, LiveResponseDTO> dtoMap) {
+    public void handleTopic(Set<String> nextIds, Map<String, LiveResponseDTO> dtoMap, RedisLiveStore.TickChanges changes) {
         if (nextIds.isEmpty()) return;
 
+        // 지문은 메모리 상태에서 비교하고, 메모리에 없는 방송(다른 노드가 처리하던 방송 등)만 Redis 에서 HMGET 한 번으로 읽는다
+        Set<String> missing = new HashSet<>();
+        List<LiveResponseDTO> dtos = new ArrayList<>();
         for (String channelId : nextIds) {
-            try {
-                LiveResponseDTO dto = dtoMap.get(channelId);
+            if (liveStateTable.getFingerprint(channelId) == null && changes.pendingFingerprint(channelId) == null) {
+                missing.add(channelId);
+            }
+            LiveResponseDTO dto = dtoMap.get(channelId);
+            if (dto != null) dtos.add(dto);
+        }
+        Map<String, Long> storedFingerprints = redisLiveStore.getFingerprints(missing);
 
-                if (dto == null) continue;
+        Map<String, Streamer> streamers = resolveStreamers(dtos, "handleTopic");
+        Map<String, StreamSession> sessions = activeSessions(dtos, streamers);
 
-                Streamer streamer = streamerService.getOrCreateStreamer(dto);
-                List<StreamSession> activeSessions = streamSessionService.getAllUnendedSessions(streamer);
-                if (activeSessions.isEmpty()) {
+        List<LiveResponseDTO> topicChanged = new ArrayList<>();
+        List<StreamMetricsSampleDTO> samples = new ArrayList<>(dtos.size());
+        long now = Instant.now().getEpochSecond();
+        for (LiveResponseDTO dto : dtos) {
+            String channelId = dto.getChannelId();
+            try {
+                Streamer streamer = streamers.get(channelId);
+                StreamSession session = sessions.get(channelId);
+                if (session == null) {
                     continue;
                 }
 
-                StreamSession session = activeSessions.stream()
-                        .max(Comparator.comparing(StreamSession::getStartedAt))
-                        .get();
-
-                String currJson = serialize(dto);
-                String prevJson = redisLiveStore.getSnapshot(channelId);
+                long curr = LiveFingerprint.of(dto);
+                // handleStart 에서 이번 틱에 기록한 지문이 있으면 그것이 최신이다
+                Long prev = Optional.ofNullable(changes.pendingFingerprint(channelId))
+                        .or(() -> Optional.ofNullable(liveStateTable.getFingerprint(channelId)))
+                        .orElse(storedFingerprints.get(channelId));
 
-                if (!currJson.equals(prevJson)) {
-                    redisLiveStore.saveSnapshot(channelId, currJson);
-                    if (streamer.getAverageViewerCount() >= NOTIFY_VIEWER_THRESHOLD
-                            && subscriptionService.hasSubscribersFor(EventType.TOPIC, channelId)) {
-                        subscriptionService.detectTopicEvent(dto);
+                if (prev == null || prev != curr) {
+                    changes.fingerprint(channelId, curr);
+                    if (streamer.getAverageViewerCount() >= NOTIFY_VIEWER_THRESHOLD) {
+                        topicChanged.add(dto);
                     }
                 }
-                streamMetricsService.saveMetrics(session, dto, streamer.getAverageViewerCount());
+                samples.add(new StreamMetricsSampleDTO(session, dto, streamer.getAverageViewerCount()));
+                liveStateTable.recordViewerCount(channelId, dto.getConcurrentUserCount(), now);
             } catch (Exception e) {
                 log.error("[handleTopic] 예외 발생 - channelId = {}, error = {}", channelId, e.getMessage(), e);
             }
         }
+
+        // IDENTITY 키라 JPA 로는 묶어 넣을 수 없으므로 틱의 지표를 모아 여러 행 INSERT 로 저장한다
+        streamMetricsService.saveAllMetrics(samples);
+
+        Set<String> topicSubscribed = subscriptionService.findChannelsWithSubscribers(EventType.TOPIC, channelIds(topicChanged));
+        for (LiveResponseDTO dto : topicChanged) {
+            if (!topicSubscribed.contains(dto.getChannelId())) continue;
+            try {
+                subscriptionService.detectTopicEvent(dto);
+            } catch (Exception e) {
+                log.error("[handleTopic] 알림 예외 발생 - channelId = {}, error = {}", dto.getChannelId(), e.getMessage(), e);
+            }
+        }
     }
 
-    private String serialize(LiveResponseDTO dto) {
+    /**
+     * 없는 방송자를 별도 트랜잭션에서 묶어 만든 뒤 이 트랜잭션에서 읽습니다. 묶음 생성이 실패하면 방송마다 따로 만들어,
+     * 만들지 못한 방송만 결과에서 빠지고 나머지 방송과 호출한 트랜잭션은 그대로 진행됩니다.
+     * REPEATABLE_READ 스냅샷이 생성된 행을 보도록 이 트랜잭션의 첫 DB 조회보다 먼저 호출해야 합니다.
+     */
+    private Map<String, Streamer> resolveStreamers(List<LiveResponseDTO> dtos, String handler) {
         try {
-            return objectMapper.writeValueAsString(Map.of(
-                    "title", Optional.ofNullable(dto.getLiveTitle()).orElse(""),
-                    "category", Optional.ofNullable(dto.getLiveCategory()).orElse(""),
-                    "tags", dto.getTags() != null ? dto.getTags() : List.of()
-            ));
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+            streamerService.createMissingStreamers(dtos);
+        } catch (Exception e) {
+            log.warn("[{}] 방송자 일괄 생성 실패, 방송별로 다시 시도 - size = {}, error = {}", handler, dtos.size(), e.getMessage());
+            for (LiveResponseDTO dto : dtos) {
+                try {
+                    streamerService.createMissingStreamers(List.of(dto));
+                } catch (Exception ex) {
+                    log.error("[{}] 방송자 생성 실패 - channelId = {}, error = {}", handler, dto.getChannelId(), ex.getMessage(), ex);
+                }
+            }
+        }
+        return streamerService.findByChannelIds(channelIds(dtos));
+    }
+
+    /**
+     * handleStart 가 이번 틱에 확인한 세션은 그대로 쓰고, 나머지 방송의 진행 중인 세션만 IN 조회로 한 번에 읽습니다.
+     */
+    private Map<String, StreamSession> activeSessions(List<LiveResponseDTO> dtos, Map<String, Streamer> streamers) {
+        Map<String, StreamSession> result = new HashMap<>();
+        Map<Long, String> unknown = new HashMap<>();
+        for (LiveResponseDTO dto : dtos) {
+            String channelId = dto.getChannelId();
+            Streamer streamer = streamers.get(channelId);
+            if (streamer == null) continue;
+
+            Long sessionId = liveStateTable.get(channelId)
+                    .map(LiveStateTable.LiveState::getActiveSessionId)
+                    .orElse(null);
+            if (sessionId != null) {
+                result.put(channelId, streamSessionService.getReference(sessionId));
+            } else {
+                unknown.put(streamer.getId(), channelId);
+            }
         }
+        if (unknown.isEmpty()) return result;
+
+        streamSessionService.getUnendedSessionsByStreamerIds(unknown.keySet()).forEach((streamerId, sessions) ->
+                sessions.stream()
+                        .max(Comparator.comparing(StreamSession::getStartedAt))
+                        .ifPresent(session -> {
+                            String channelId = unknown.get(streamerId);
+                            result.put(channelId, session);
+                            liveStateTable.recordSession(channelId, session.getId());
+                        }));
+        return result;
+    }
+
+    private static Set<String> channelIds(List<LiveResponseDTO> dtos) {
+        Set<String> result = new HashSet<>();
+        dtos.forEach(dto -> result.add(dto.getChannelId()));
+        return result;
     }
 
 }
@@ -0,0 +1,317 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.infra.LiveFingerprint;
+import com.streampulse.backend.infra.RedisLeaseManager;
+import com.streampulse.backend.infra.RedisLiveStore;
+import com.streampulse.backend.repository.StreamMetricsRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 방송 중인 채널의 상태를 프로세스 메모리에 두는 기본 저장소입니다.
+ * 스캔하는 노드가 유일한 작성자이므로 매 틱 비교에 필요한 값은 Redis 를 읽지 않고 여기서 꺼냅니다.
+ * 변경은 모아 두었다가 flush 주기마다 {@link RedisLiveStore} 에 한 번에 써서(write-behind) 재시작 시 복구에만 사용합니다.
+ * 스캔을 맡는 주체(FastScan 리스의 펜스, 분할 몫)가 바뀌면 그동안 다른 노드가 쓴 Redis 상태를 다시 읽습니다.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+@Slf4j
+public class LiveStateTable implements ApplicationRunner {
+
+    private final RedisLiveStore redisLiveStore;
+    private final ThreadPoolTaskScheduler scanTaskScheduler;
+    private final MeterRegistry meterRegistry;
+    private final StreamMetricsRepository streamMetricsRepository;
+
+    // HOT 판정에 쓰는 방송별 시청자 수 구간의 길이(틱)
+    @Value("${app.hot.window-size:10}")
+    private int windowSize;
+
+    // 재시작 시 이 시간(초) 안의 지표로 시청자 수 구간을 다시 채운다
+    @Value("${app.hot.rehydrate-seconds:600}")
+    private long rehydrateSeconds;
+
+    @Value("${app.live-state.flush-interval-ms:10000}")
+    private long flushIntervalMs;
+
+    // 이 시간 동안 보이지 않은 방송은 메모리와 Redis 에서 함께 지운다
+    @Value("${app.live-state.retention-seconds:3600}")
+    private long retentionSeconds;
+
+    private final Map<String, LiveState> states = new ConcurrentHashMap<>();
+    private final Object pendingLock = new Object();
+    private RedisLiveStore.TickChanges pending = new RedisLiveStore.TickChanges();
+    // pending 에 마지막으로 붙인 틱의 시각. Redis 의 lastSeen 은 flush 시각이 아니라 관측한 틱 시각으로 남긴다
+    private long pendingAt;
+    private volatile boolean loaded;
+    private ScheduledFuture<?> flushTask;
+    // 마지막으로 표를 채운 주체(FastScan 리스 또는 분할 몫). bind 에서만 바뀐다
+    private Object owner;
+    // pending 을 Redis 에 쓸 때 확인할 리스. 리스 없이 나눠 스캔하면 null. pendingLock 아래에서 바뀐다
+    private RedisLeaseManager.Fence fence;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("live_state_table_size", states, Map::size)
+                .description("메모리에 올라와 있는 방송 상태 수")
+                .register(meterRegistry);
+        flushTask = scanTaskScheduler.scheduleWithFixedDelay(this::flush, Duration.ofMillis(flushIntervalMs));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushTask != null) flushTask.cancel(false);
+        // 종료 직전까지의 변경을 남겨 다음 기동 때 그대로 복구되게 한다
+        flush();
+    }
+
+    /**
+     * 기존 키 이전(RedisLiveStateMigration) 이후에 Redis 의 상태를 메모리로 올립니다.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        ensureLoaded();
+    }
+
+    /**
+     * 이번 틱을 처리하는 주체에 표를 맞춥니다. 리스를 새로 얻었거나(펜스가 바뀜) 분할 몫이 바뀌었다면
+     * 그동안 다른 노드가 종료/시작/지문을 Redis 에 썼을 수 있으므로, 남은 변경을 이전 펜스로 내보낸 뒤
+     * 메모리 상태(세션 id, 시청자 수 구간 포함)를 버리고 Redis 와 최근 지표에서 다시 채웁니다.
+     *
+     * @param owner 스캔을 맡은 주체. equals 가 같으면 같은 소유로 봅니다
+     * @param fence 이후 flush 를 펜싱할 리스. 리스 없이 나눠 스캔하면 null
+     */
+    public void bind(Object owner, RedisLeaseManager.Fence fence) {
+        if (loaded && Objects.equals(this.owner, owner)) return;
+        synchronized (this) {
+            if (loaded && Objects.equals(this.owner, owner)) return;
+            if (loaded) {
+                // 이전 소유 아래에서 모은 변경은 이전 펜스로만 쓴다. 이미 리스를 잃었다면 스크립트가 버린다
+                flush();
+                log.info("[LiveState] 스캔 소유가 바뀌어 방송 상태를 다시 읽습니다. {} → {}", this.owner, owner);
+                states.clear();
+                loaded = false;
+            }
+            synchronized (pendingLock) {
+                // 내보내지 못한 이전 소유의 변경을 새 펜스로 쓰지 않는다. 다시 읽은 Redis 상태가 기준이다
+                pending = new RedisLiveStore.TickChanges();
+                this.fence = fence;
+            }
+            this.owner = owner;
+            ensureLoaded();
+        }
+    }
+
+    /**
+     * 아직 복구하지 않았다면 Redis 에 저장된 상태를 읽어 옵니다. 첫 FastScan 이 러너보다 먼저 돌 수 있어 틱마다 호출됩니다.
+     */
+    public void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            try {
+                for (RedisLiveStore.StoredLiveState stored : redisLiveStore.loadAll()) {
+                    LiveState state = new LiveState(stored.getChannelId());
+                    state.startedAt = stored.getStartedAt();
+                    state.fingerprint = stored.getFingerprint();
+                    state.lastSeen = stored.getLastSeen() != null ? stored.getLastSeen() : 0;
+                    states.put(stored.getChannelId(), state);
+                }
+                log.info("[LiveState] Redis 에서 방송 상태 {}건 복구", states.size());
+            } catch (Exception e) {
+                // 복구하지 못해도 빈 상태로 시작하면 이후 틱에서 다시 채워진다
+                log.warn("[LiveState] 방송 상태 복구 실패, 빈 상태로 시작: {}", e.getMessage());
+            }
+            rehydrateFromRecentMetrics();
+            loaded = true;
+        }
+    }
+
+    /**
+     * 진행 중인 세션의 최근 지표로 시청자 수 구간과 마지막으로 저장한 행을 채웁니다. 복구된 방송에만 붙여, 상태가 없는 방송이 종료 후보로 잡히지 않게 합니다.
+     * 지표 행은 변화가 있을 때만 남으므로 구간이 덜 찰 수 있으며, 이후 틱에서 채워집니다.
+     * 마지막 행을 데드밴드 기준으로 삼아, 재시작이나 스캔 소유 변경 직후 틱에 모든 방송이 행을 다시 쓰지 않게 합니다.
+     */
+    private void rehydrateFromRecentMetrics() {
+        if (states.isEmpty()) return;
+        try {
+            LocalDateTime since = LocalDateTime.now().minusSeconds(rehydrateSeconds);
+            int restored = 0;
+            for (StreamMetricsRepository.ViewerCountPoint point : streamMetricsRepository.findRecentOpenSessionViewerCounts(since)) {
+                LiveState state = states.get(point.getChannelId());
+                if (state == null) continue;
+                long createdAt = point.getCreatedAt().atZone(ZoneId.systemDefault()).toEpochSecond();
+                viewerWindow(state).add(point.getViewerCount(), createdAt);
+                // 시각 순으로 읽으므로 마지막에 남는 값이 가장 최근에 저장한 행이다
+                state.lastWrittenViewerCount = point.getViewerCount();
+                state.lastWrittenTopic = LiveFingerprint.of(point.getTitle(), point.getCategory(), null);
+                state.lastWrittenAt = createdAt;
+                restored++;
+            }
+            log.info("[LiveState] 최근 지표 {}건으로 시청자 수 구간 복구", restored);
+        } catch (Exception e) {
+            log.warn("[LiveState] 시청자 수 구간 복구 실패, 빈 구간으로 시작: {}", e.getMessage());
+        }
+    }
+
+    public Optional<LiveState> get(String channelId) {
+        return Optional.ofNullable(states.get(channelId));
+    }
+
+    public Long getFingerprint(String channelId) {
+        LiveState state = states.get(channelId);
+        return state != null ? state.fingerprint : null;
+    }
+
+    /**
+     * 마지막 수집 시각이 기준 시각(seconds) 이전인 방송을 반환합니다.
+     */
+    public Set<String> findLastSeenBefore(long epochSeconds) {
+        Set<String> result = new HashSet<>();
+        states.forEach((channelId, state) -> {
+            if (state.lastSeen <= epochSeconds) result.add(channelId);
+        });
+        return result;
+    }
+
+    public void recordSession(String channelId, Long sessionId) {
+        states.computeIfAbsent(channelId, LiveState::new).activeSessionId = sessionId;
+    }
+
+    /**
+     * 이번 틱에 관측한 시청자 수를 방송의 시청자 수 구간에 추가하고 그 구간을 반환합니다.
+     */
+    public ViewerWindow recordViewerCount(String channelId, int viewerCount, long nowEpochSeconds) {
+        LiveState state = states.computeIfAbsent(channelId, LiveState::new);
+        if (state.viewerLowSinceHot >= 0 && viewerCount < state.viewerLowSinceHot) {
+            state.viewerLowSinceHot = viewerCount;
+        }
+        ViewerWindow window = viewerWindow(state);
+        window.add(viewerCount, nowEpochSeconds);
+        return window;
+    }
+
+    /**
+     * HOT 을 낸 시점의 시청자 수를 기억합니다. 이후 관측되는 최저 시청자 수가 HOT 쿨다운 재무장 판단에 쓰입니다.
+     */
+    public void markHotEmitted(String channelId, int viewerCount) {
+        states.computeIfAbsent(channelId, LiveState::new).viewerLowSinceHot = viewerCount;
+    }
+
+    private ViewerWindow viewerWindow(LiveState state) {
+        if (state.viewerWindow == null) state.viewerWindow = new ViewerWindow(windowSize);
+        return state.viewerWindow;
+    }
+
+    /**
+     * 지표 행을 저장했을 때 그 값을 기억합니다. 다음 표본의 데드밴드 비교 기준이 되며 Redis 에는 남기지 않고, 다시 읽을 때는 최근 지표에서 채웁니다.
+     */
+    public void recordWritten(String channelId, int viewerCount, long topic, long nowEpochSeconds) {
+        LiveState state = states.computeIfAbsent(channelId, LiveState::new);
+        state.lastWrittenViewerCount = viewerCount;
+        state.lastWrittenTopic = topic;
+        state.lastWrittenAt = nowEpochSeconds;
+    }
+
+    /**
+     * 한 틱의 변경을 메모리에 반영하고 write-behind 대기열에 붙입니다. Redis 에는 다음 flush 때 기록됩니다.
+     */
+    public void apply(RedisLiveStore.TickChanges changes, long nowEpochSeconds) {
+        changes.getEnded().forEach(states::remove);
+        for (String channelId : changes.getSeen()) {
+            states.computeIfAbsent(channelId, LiveState::new).lastSeen = nowEpochSeconds;
+        }
+        for (String channelId : changes.getStarted()) {
+            LiveState state = states.computeIfAbsent(channelId, LiveState::new);
+            if (state.startedAt == null) state.startedAt = nowEpochSeconds;
+        }
+        changes.getFingerprints().forEach((channelId, fingerprint) ->
+                states.computeIfAbsent(channelId, LiveState::new).fingerprint = fingerprint);
+
+        long purgeBefore = nowEpochSeconds - retentionSeconds;
+        states.values().removeIf(state -> state.lastSeen < purgeBefore);
+
+        synchronized (pendingLock) {
+            pending.merge(changes);
+            pendingAt = Math.max(pendingAt, nowEpochSeconds);
+        }
+    }
+
+    /**
+     * 모아 둔 변경을 Lua 스크립트 한 번으로 Redis 에 씁니다. 실패하면 다음 flush 때 이후 변경과 합쳐 다시 씁니다.
+     */
+    public void flush() {
+        RedisLiveStore.TickChanges batch;
+        RedisLeaseManager.Fence batchFence;
+        long seenAt;
+        synchronized (pendingLock) {
+            if (pending.isEmpty()) return;
+            batch = pending;
+            batchFence = fence;
+            seenAt = pendingAt;
+            pending = new RedisLiveStore.TickChanges();
+        }
+
+        long now = Instant.now().getEpochSecond();
+        try {
+            if (batchFence == null) {
+                redisLiveStore.commitTick(batch, seenAt, now - retentionSeconds);
+            } else if (redisLiveStore.commitTick(batch, seenAt, now - retentionSeconds, batchFence) == RedisLiveStore.FENCED) {
+                // 다른 노드가 리스를 가져가 Redis 의 상태가 더 새롭다. 다시 쓰지 않고 버린다
+                log.warn("[LiveState] {} 리스를 잃어 방송 상태 변경을 버립니다.", batchFence.getKey());
+            }
+        } catch (Exception e) {
+            log.warn("[LiveState] Redis 반영 실패, 다음 주기에 재시도: {}", e.getMessage());
+            synchronized (pendingLock) {
+                batch.merge(pending);
+                pending = batch;
+            }
+        }
+    }
+
+    /**
+     * 한 방송의 메모리 상태. FastScan 스레드만 갱신합니다.
+     */
+    @Getter
+    public static class LiveState {
+        private final String channelId;
+        // 시작을 처음 감지한 시각(epoch seconds)
+        private Long startedAt;
+        // 제목/카테고리/태그 지문(LiveFingerprint)
+        private Long fingerprint;
+        private long lastSeen;
+        private Long activeSessionId;
+        // 최근 시청자 수 (첫 관측 때 만든다)
+        private ViewerWindow viewerWindow;
+        // 마지막 HOT 이후 최저 시청자 수 (-1 이면 이 프로세스에서 HOT 을 낸 적 없음)
+        private int viewerLowSinceHot = -1;
+        // 마지막으로 저장한 지표 행 (lastWrittenAt 이 0 이면 이 프로세스에서 저장하거나 최근 지표에서 읽은 적 없음)
+        private int lastWrittenViewerCount;
+        private long lastWrittenTopic;
+        private long lastWrittenAt;
+
+        LiveState(String channelId) {
+            this.channelId = channelId;
+        }
+    }
+}
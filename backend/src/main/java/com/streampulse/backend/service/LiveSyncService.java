@@ -1,19 +1,29 @@
 package com.streampulse.backend.service;
 
 import com.streampulse.backend.aop.LogExecution;
+import com.streampulse.backend.config.SqlStatementCounter;
+import com.streampulse.backend.dto.FastScanResultDTO;
 import com.streampulse.backend.dto.LiveResponseDTO;
+import com.streampulse.backend.infra.RedisLeaseManager;
 import com.streampulse.backend.infra.RedisLiveStore;
+import com.streampulse.backend.infra.RedisScanMembership;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
-@Transactional
 @RequiredArgsConstructor
 @Slf4j
 public class LiveSyncService {
@@ -21,46 +31,242 @@ public class LiveSyncService {
     private final ChzzkLiveService chzzkLiveService;
     private final RedisLiveStore redisLiveStore;
     private final LiveHandlerService liveHandlerService;
+    private final RedisScanMembership scanMembership;
+    private final LiveStateTable liveStateTable;
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolTaskExecutor liveSyncExecutor;
+    private final CategoryBaselineTracker categoryBaselineTracker;
+    private final RedisLeaseManager leaseManager;
+    private final HotDetectionEngine hotDetectionEngine;
 
     private static final long END_THRESHOLD_SECONDS = 600;
 
+    // 1 이면 한 스레드에서 순서대로 처리하고, 그보다 크면 channelId 해시로 나눈 파티션을 liveSyncExecutor 에서 동시에 처리한다
+    @Value("${app.live-sync.partitions:1}")
+    private int processingPartitions;
+
     @LogExecution
     public void syncLiveBroadcasts() {
-        List<LiveResponseDTO> liveList = Optional.ofNullable(chzzkLiveService.collectLiveBroadcastersFromRedis())
-                .orElse(Collections.emptyList())
-                .stream()
-                .filter(Objects::nonNull)
-                .filter(dto -> dto.getChannelId() != null)
-                .toList();
+        syncLiveBroadcasts(ScanPartition.ALL, null);
+    }
+
+    /**
+     * FastScan 리스를 쥔 노드가 전체를 처리합니다. 페이지 조회가 끝난 뒤 리스를 잃었으면 DB 반영과 알림 없이 틱을 버립니다.
+     */
+    @LogExecution
+    public void syncLiveBroadcasts(RedisLeaseManager.Lease lease) {
+        syncLiveBroadcasts(ScanPartition.ALL, lease);
+    }
+
+    /**
+     * partition 이 맡은 페이지를 조회합니다.
+     * 여러 노드가 나눠 스캔할 때는 페이지에서 본 방송 중 channelId 해시로 이 노드가 맡은 방송만 처리하고,
+     * 나머지는 맡은 노드에 넘깁니다. 시청자 순위가 바뀌어 방송의 페이지가 바뀌어도 늘 같은 노드가 처리하므로
+     * 로컬 상태(정보 지문, 시청자 창, 마지막 기록)가 다른 노드의 처리와 어긋나지 않습니다.
+     */
+    @LogExecution
+    public void syncLiveBroadcasts(ScanPartition partition) {
+        syncLiveBroadcasts(partition, null);
+    }
 
-        log.info("syncLiveBroadcasts size: {}", liveList.size());
+    private void syncLiveBroadcasts(ScanPartition partition, RedisLeaseManager.Lease lease) {
+        FastScanResultDTO scan = Optional.ofNullable(chzzkLiveService.collectLiveBroadcastersFromRedis(partition))
+                .orElseGet(FastScanResultDTO::new);
+        List<LiveResponseDTO> liveList = validOnly(scan.getFresh());
+        List<LiveResponseDTO> carriedList = validOnly(scan.getCarried());
+
+        log.info("syncLiveBroadcasts partition: {}, size: {}, carried: {}", partition, liveList.size(), carriedList.size());
 
         Map<String, LiveResponseDTO> dtoMap = liveList.stream()
                 .collect(Collectors.toMap(LiveResponseDTO::getChannelId, dto -> dto, (e, r) -> e));
 
+        if (partition.isShared()) {
+            routeToOwners(partition, dtoMap);
+        }
+
         Set<String> nextIds = dtoMap.keySet();
 
-        nextIds.forEach(redisLiveStore::updateLastSeen);
+        // 이어 쓴 페이지의 방송은 이번 틱에 확인하지 않았으므로 lastSeen 과 지표는 건드리지 않고 종료 판정에서만 제외한다
+        Set<String> carriedIds = carriedList.stream()
+                .map(LiveResponseDTO::getChannelId)
+                .collect(Collectors.toSet());
 
-        Set<String> staticPrevIds = redisLiveStore.getStaticKeys();
+        // 조회에 시간이 걸리는 동안 다른 노드가 리스를 가져갔다면 그 노드가 같은 방송을 처리한다
+        if (lease != null && !leaseManager.isHeld(lease)) {
+            meterRegistry.counter("live_sync_fenced_ticks_total").increment();
+            log.warn("[syncLiveBroadcasts] {} 리스를 잃어 이번 틱의 처리를 버립니다.", lease);
+            return;
+        }
 
+        // 리스를 새로 얻었거나 분할 몫이 바뀌었으면 다른 노드가 쓴 상태를 다시 읽는다
+        liveStateTable.bind(lease != null ? lease : partition, lease != null ? leaseManager.fenceOf(lease) : null);
+        hotDetectionEngine.bind(partition, lease);
         long now = Instant.now().getEpochSecond();
+        // 핸들러가 이번 시청자 수를 기록하기 전에 같은 목록으로 카테고리 기준선을 갱신한다
+        categoryBaselineTracker.observeTick(dtoMap.values(), carriedList, now);
+        RedisLiveStore.TickChanges changes = new RedisLiveStore.TickChanges();
+        changes.seen(nextIds);
+
+        // 나눠 스캔할 때는 다른 노드가 본 방송의 lastSeen 이 Redis 에만 있으므로 종료 후보는 Redis 에서 찾는다
+        Set<String> lastSeenBefore = partition.isShared()
+                ? redisLiveStore.findLastSeenBefore(now - END_THRESHOLD_SECONDS - 1)
+                : liveStateTable.findLastSeenBefore(now - END_THRESHOLD_SECONDS - 1);
         Set<String> endIds = new HashSet<>();
-        for (String channelId : staticPrevIds) {
-            if(nextIds.contains(channelId)) continue;;
+        for (String channelId : lastSeenBefore) {
+            if(nextIds.contains(channelId) || carriedIds.contains(channelId)) continue;
+            // 다른 노드가 맡은 방송은 그 노드가 판정한다
+            if(!partition.ownsChannel(channelId)) continue;
+            endIds.add(channelId);
+        }
 
-            Long lastSeen = redisLiveStore.getLastSeen(channelId);
-            if(lastSeen == null) continue;
+        long statementsBefore = sqlStatementCounter.currentThreadCount();
+        long workerStatements = 0;
+        boolean parallel = processingPartitions > 1;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            if (parallel) {
+                workerStatements = handlePartitioned(endIds, nextIds, dtoMap, changes);
+            } else {
+                handle(endIds, nextIds, dtoMap, changes);
+            }
+        } finally {
+            sample.stop(Timer.builder("live_sync_handlers_seconds")
+                    .description("FastScan 한 틱의 시작/종료/정보 변경 처리 시간")
+                    .tag("mode", parallel ? "parallel" : "serial")
+                    .register(meterRegistry));
 
-            if (now - lastSeen > END_THRESHOLD_SECONDS) {
-                endIds.add(channelId);
+            // 핸들러 하나가 실패해도 그때까지의 변경과 lastSeen 은 반영한다. Redis 에는 LiveStateTable 이 모아서 쓴다
+            liveStateTable.apply(changes, now);
+
+            long statements = sqlStatementCounter.currentThreadCount() - statementsBefore + workerStatements;
+            DistributionSummary.builder("live_sync_sql_statements")
+                    .description("FastScan 한 틱의 방송 처리에서 실행된 SQL 문 수")
+                    .register(meterRegistry)
+                    .record(statements);
+            log.info("syncLiveBroadcasts partition: {}, sql statements: {}", partition, statements);
+        }
+
+    }
+
+    /**
+     * 다른 노드가 맡은 방송은 그 노드에 넘기고, 다른 노드가 넘긴 방송을 dtoMap 에 더합니다.
+     * 넘겨받은 방송은 이 노드가 직접 조회한 값이 없을 때만 씁니다. 넘기기에 실패한 방송은 이번 틱에 처리되지 않고,
+     * 다음 조회에서 다시 넘어갑니다.
+     */
+    private void routeToOwners(ScanPartition partition, Map<String, LiveResponseDTO> dtoMap) {
+        Map<Integer, List<LiveResponseDTO>> foreign = new HashMap<>();
+        for (Iterator<LiveResponseDTO> it = dtoMap.values().iterator(); it.hasNext(); ) {
+            LiveResponseDTO dto = it.next();
+            int owner = partition.ownerOf(dto.getChannelId());
+            if (owner == partition.getIndex()) continue;
+            foreign.computeIfAbsent(owner, k -> new ArrayList<>()).add(dto);
+            it.remove();
+        }
+
+        int forwarded = foreign.values().stream().mapToInt(List::size).sum();
+        int received = 0;
+        try {
+            scanMembership.forward(partition.getCount(), foreign);
+        } catch (Exception e) {
+            log.warn("[syncLiveBroadcasts] 다른 노드에 방송 {}건 넘기기 실패: {}", forwarded, e.getMessage());
+        }
+        try {
+            for (LiveResponseDTO dto : validOnly(scanMembership.drain(partition.getCount(), partition.getIndex()))) {
+                if (!partition.ownsChannel(dto.getChannelId())) continue;
+                if (dtoMap.putIfAbsent(dto.getChannelId(), dto) == null) received++;
             }
+        } catch (Exception e) {
+            log.warn("[syncLiveBroadcasts] 넘겨받은 방송 읽기 실패: {}", e.getMessage());
         }
+        meterRegistry.counter("live_sync_routed_total", "direction", "forwarded").increment(forwarded);
+        meterRegistry.counter("live_sync_routed_total", "direction", "received").increment(received);
+    }
 
-        liveHandlerService.handleEnd(endIds);
-        liveHandlerService.handleStart(nextIds, dtoMap);
-        liveHandlerService.handleTopic(nextIds, dtoMap);
+    /**
+     * 한 방송의 종료 → 시작 → 정보 변경 처리 순서는 그대로 두고, 각 처리는 핸들러마다 별도 트랜잭션으로 실행됩니다.
+     * 틱 전체를 감싸는 트랜잭션은 없으므로 페이지 조회와 파티션 대기 동안에는 커넥션을 쥐지 않습니다.
+     */
+    private void handle(Set<String> endIds, Set<String> nextIds, Map<String, LiveResponseDTO> dtoMap,
+                        RedisLiveStore.TickChanges changes) {
+        liveHandlerService.handleEnd(endIds, changes);
+        liveHandlerService.handleStart(nextIds, dtoMap, changes);
+        liveHandlerService.handleTopic(nextIds, dtoMap, changes);
+    }
 
+    /**
+     * channelId 해시로 방송을 나눠 파티션마다 {@link #handle} 을 liveSyncExecutor 에서 실행합니다.
+     * 한 방송은 항상 한 파티션에만 속하므로 방송별 처리 순서는 유지되고, 트랜잭션은 파티션 크기만큼만 짧아집니다.
+     * 한 파티션이 실패해도 다른 파티션의 결과는 반영됩니다.
+     *
+     * @return 작업 스레드에서 실행된 SQL 문 수
+     */
+    private long handlePartitioned(Set<String> endIds, Set<String> nextIds, Map<String, LiveResponseDTO> dtoMap,
+                                   RedisLiveStore.TickChanges changes) {
+        List<Set<String>> endParts = split(endIds);
+        List<Set<String>> nextParts = split(nextIds);
+
+        List<CompletableFuture<PartitionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < processingPartitions; i++) {
+            Set<String> ends = endParts.get(i);
+            Set<String> nexts = nextParts.get(i);
+            if (ends.isEmpty() && nexts.isEmpty()) continue;
+
+            int index = i;
+            futures.add(CompletableFuture.supplyAsync(() -> handlePartition(index, ends, nexts, dtoMap), liveSyncExecutor));
+        }
+
+        long statements = 0;
+        for (CompletableFuture<PartitionResult> future : futures) {
+            PartitionResult result = future.join();
+            changes.merge(result.getChanges());
+            statements += result.getStatements();
+        }
+        return statements;
+    }
+
+    private PartitionResult handlePartition(int index, Set<String> endIds, Set<String> nextIds,
+                                            Map<String, LiveResponseDTO> dtoMap) {
+        RedisLiveStore.TickChanges changes = new RedisLiveStore.TickChanges();
+        long before = sqlStatementCounter.currentThreadCount();
+        try {
+            handle(endIds, nextIds, dtoMap, changes);
+        } catch (Exception e) {
+            meterRegistry.counter("live_sync_partition_failures_total").increment();
+            log.error("[syncLiveBroadcasts] 파티션 {} 처리 실패 - end: {}, live: {}, error = {}",
+                    index, endIds.size(), nextIds.size(), e.getMessage(), e);
+        }
+        return new PartitionResult(changes, sqlStatementCounter.currentThreadCount() - before);
+    }
+
+    List<Set<String>> split(Set<String> channelIds) {
+        List<Set<String>> parts = new ArrayList<>(processingPartitions);
+        for (int i = 0; i < processingPartitions; i++) {
+            parts.add(new HashSet<>());
+        }
+        for (String channelId : channelIds) {
+            // 노드 분할(ScanPartition)도 hashCode 나머지를 쓰므로, 그대로 쓰면 한 노드의 방송이 일부 파티션에만 몰린다
+            int hash = channelId.hashCode() * 0x9E3779B9;
+            hash ^= hash >>> 16;
+            parts.get(Math.floorMod(hash, processingPartitions)).add(channelId);
+        }
+        return parts;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class PartitionResult {
+        private final RedisLiveStore.TickChanges changes;
+        private final long statements;
+    }
+
+    private static List<LiveResponseDTO> validOnly(List<LiveResponseDTO> list) {
+        return Optional.ofNullable(list)
+                .orElse(Collections.emptyList())
+                .stream()
+                .filter(Objects::nonNull)
+                .filter(dto -> dto.getChannelId() != null)
+                .toList();
     }
 
 }
@@ -0,0 +1,107 @@
+package com.streampulse.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * P² 알고리즘(Jain & Chlamtac)으로 한 분위수를 표본을 저장하지 않고 추정합니다.
+ * 마커 다섯 개의 높이와 위치만 두므로 표본 수와 관계없이 크기가 일정하고 add 에서 객체를 만들지 않습니다.
+ */
+final class P2Quantile {
+
+    private final double p;
+    private final double[] heights = new double[5];
+    private final double[] positions = new double[5];
+    private final double[] desired = new double[5];
+    private final double[] increments;
+    private int count;
+
+    P2Quantile(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("분위수는 0 과 1 사이여야 합니다: " + p);
+        }
+        this.p = p;
+        this.increments = new double[]{0, p / 2, p, (1 + p) / 2, 1};
+    }
+
+    void add(double x) {
+        if (count < 5) {
+            heights[count++] = x;
+            if (count == 5) {
+                Arrays.sort(heights);
+                for (int i = 0; i < 5; i++) {
+                    positions[i] = i + 1;
+                }
+                desired[0] = 1;
+                desired[1] = 1 + 2 * p;
+                desired[2] = 1 + 4 * p;
+                desired[3] = 3 + 2 * p;
+                desired[4] = 5;
+            }
+            return;
+        }
+
+        // x 가 들어갈 칸 k (heights[k] <= x < heights[k + 1]) 를 찾고, 양 끝을 벗어나면 최소/최대 마커를 옮긴다
+        int k;
+        if (x < heights[0]) {
+            heights[0] = x;
+            k = 0;
+        } else if (x >= heights[4]) {
+            heights[4] = x;
+            k = 3;
+        } else {
+            k = 0;
+            while (x >= heights[k + 1]) k++;
+        }
+        for (int i = k + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desired[i] += increments[i];
+        }
+        count++;
+
+        // 가운데 마커가 원하는 위치에서 한 칸 이상 벗어났으면 포물선(안 되면 직선) 보간으로 높이를 고친다
+        for (int i = 1; i <= 3; i++) {
+            double d = desired[i] - positions[i];
+            if ((d >= 1 && positions[i + 1] - positions[i] > 1) || (d <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int s = d > 0 ? 1 : -1;
+                double candidate = parabolic(i, s);
+                heights[i] = heights[i - 1] < candidate && candidate < heights[i + 1] ? candidate : linear(i, s);
+                positions[i] += s;
+            }
+        }
+    }
+
+    /**
+     * 현재 추정값. 표본이 다섯 개보다 적으면 가진 표본에서 바로 구하고, 없으면 NaN 입니다.
+     */
+    double value() {
+        if (count == 0) return Double.NaN;
+        if (count < 5) {
+            double[] sorted = Arrays.copyOf(heights, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.round(p * (count - 1))];
+        }
+        return heights[2];
+    }
+
+    int count() {
+        return count;
+    }
+
+    void reset() {
+        count = 0;
+    }
+
+    private double parabolic(int i, int s) {
+        double left = positions[i] - positions[i - 1];
+        double right = positions[i + 1] - positions[i];
+        return heights[i] + s / (positions[i + 1] - positions[i - 1])
+                * ((left + s) * (heights[i + 1] - heights[i]) / right
+                + (right - s) * (heights[i] - heights[i - 1]) / left);
+    }
+
+    private double linear(int i, int s) {
+        return heights[i] + s * (heights[i + s] - heights[i]) / (positions[i + s] - positions[i]);
+    }
+}
@@ -0,0 +1,53 @@
+package com.streampulse.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * FastScan 페이지 인덱스 구간별 갱신 주기입니다.
+ * "0:30000,1:60000,5:120000" 은 0번 페이지는 30초, 1~4번은 60초, 5번 이후는 120초마다 다시 조회한다는 뜻입니다.
+ */
+class PollingTiers {
+
+    private final int[] startIndexes;
+    private final long[] intervalsMs;
+
+    private PollingTiers(int[] startIndexes, long[] intervalsMs) {
+        this.startIndexes = startIndexes;
+        this.intervalsMs = intervalsMs;
+    }
+
+    static PollingTiers parse(String spec) {
+        String[] entries = spec.split(",");
+        int[] starts = new int[entries.length];
+        long[] intervals = new long[entries.length];
+
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("잘못된 폴링 구간 설정: " + entries[i]);
+            }
+            starts[i] = Integer.parseInt(parts[0].trim());
+            intervals[i] = Long.parseLong(parts[1].trim());
+            if (i == 0 && starts[i] != 0) {
+                throw new IllegalArgumentException("폴링 구간은 0번 페이지부터 시작해야 합니다: " + spec);
+            }
+            if (i > 0 && starts[i] <= starts[i - 1]) {
+                throw new IllegalArgumentException("폴링 구간 시작 인덱스는 오름차순이어야 합니다: " + spec);
+            }
+            if (intervals[i] <= 0) {
+                throw new IllegalArgumentException("폴링 주기는 0보다 커야 합니다: " + entries[i]);
+            }
+        }
+        return new PollingTiers(starts, intervals);
+    }
+
+    long intervalFor(int pageIndex) {
+        int pos = Arrays.binarySearch(startIndexes, pageIndex);
+        if (pos < 0) pos = -pos - 2;
+        return intervalsMs[Math.max(0, pos)];
+    }
+
+    int size() {
+        return startIndexes.length;
+    }
+}
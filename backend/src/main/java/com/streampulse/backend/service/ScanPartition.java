@@ -0,0 +1,83 @@
+package com.streampulse.backend.service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 분할 FastScan 에서 이 노드가 맡은 몫입니다.
+ * 커서 페이지는 pageIndex % count 로 번갈아 나눠 상위 페이지(자주 조회되는 구간)가 한 노드에 몰리지 않게 하고,
+ * 방송 처리와 종료 판정은 channelId 해시로 나눠 한 방송을 한 노드만 맡게 합니다.
+ * 시청자 순위가 바뀌면 방송이 다른 페이지로 옮겨 가므로, 페이지에서 본 방송은 해시로 맡은 노드에 넘겨 처리합니다.
+ */
+public final class ScanPartition {
+
+    public static final ScanPartition ALL = new ScanPartition(null, 0, 1);
+
+    private final String nodeId;
+    private final int index;
+    private final int count;
+
+    private ScanPartition(String nodeId, int index, int count) {
+        this.nodeId = nodeId;
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * 살아 있는 노드 목록을 정렬해 이 노드의 순번을 정합니다. 목록에 없으면(하트비트 직후 조회 실패 등) 전체를 맡습니다.
+     */
+    public static ScanPartition of(String nodeId, List<String> liveMembers) {
+        List<String> sorted = liveMembers.stream().sorted().toList();
+        int position = sorted.indexOf(nodeId);
+        if (position < 0 || sorted.size() <= 1) return ALL;
+        return new ScanPartition(nodeId, position, sorted.size());
+    }
+
+    public boolean ownsPage(int pageIndex) {
+        return pageIndex % count == index;
+    }
+
+    public boolean ownsChannel(String channelId) {
+        return ownerOf(channelId) == index;
+    }
+
+    /**
+     * channelId 를 맡은 노드의 순번
+     */
+    public int ownerOf(String channelId) {
+        return Math.floorMod(channelId.hashCode(), count);
+    }
+
+    public boolean isShared() {
+        return count > 1;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ScanPartition other)) return false;
+        return index == other.index && count == other.count && Objects.equals(nodeId, other.nodeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nodeId, index, count);
+    }
+
+    @Override
+    public String toString() {
+        return (index + 1) + "/" + count;
+    }
+}
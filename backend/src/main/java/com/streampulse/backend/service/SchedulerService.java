@@ -1,11 +1,19 @@
 package com.streampulse.backend.service;
 
 import com.streampulse.backend.aop.LogExecution;
+import com.streampulse.backend.infra.RedisLeaseManager;
+import com.streampulse.backend.infra.RedisScanMembership;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
 @Service
@@ -15,40 +23,169 @@ public class SchedulerService {
 
     private final LiveSyncService liveSyncService;
     private final ChzzkLiveService chzzkLiveService;
-    private final StringRedisTemplate redisTemplate;
+    private final ThreadPoolTaskScheduler scanTaskScheduler;
+    private final RedisLeaseManager leaseManager;
+    private final RedisScanMembership scanMembership;
+    // 같은 JVM 안의 겹침은 lock 으로, 인스턴스 간 겹침은 리스로 막는다
     private final ReentrantLock lock = new ReentrantLock();
-    private static final String REDIS_KEY = "cursor_zset:current";
+    // 같은 노드는 DeepScan 리스에 재진입해 같은 펜스를 받으므로, 전체 탐색(재시도 대기 포함)과 부분 재탐색이
+    // 동시에 쥐면 먼저 반납하는 쪽이 다른 쪽의 펜스를 지운다. 이 노드에서는 한 번에 하나만 리스를 쓴다
+    private final AtomicBoolean deepScanLeaseInUse = new AtomicBoolean();
+    private static final String FAST_SCAN_LEASE = "fast-scan";
+    private static final String DEEP_SCAN_LEASE = "deep-scan";
+    private static final int MAX_DEEP_SCAN_ATTEMPTS = 3;
+    private static final long DEEP_SCAN_RETRY_DELAY_MS = 5000;
+
+    // FastScan 의 부분 재탐색이 커서를 이 시간 안에 갱신했다면 주기적인 전체 탐색은 건너뛴다
+    @Value("${app.deep-scan.fallback-interval-ms:21600000}")
+    private long deepScanFallbackIntervalMs;
+
+    // true 면 모든 인스턴스가 커서 페이지를 나눠 FastScan 하고, false 면 리스를 쥔 인스턴스 하나만 전체를 스캔한다
+    @Value("${app.fast-scan.partitioned:false}")
+    private boolean partitioned;
+
+    @PreDestroy
+    public void leavePartition() {
+        if (partitioned) scanMembership.leave(leaseManager.getNodeId());
+    }
 
     @LogExecution
     public void doDeepScan() {
-        int maxAttempts = 3;
+        if (chzzkLiveService.isDeepScanRunning()) {
+            log.info("DeepScan 이 이미 진행 중이라 이번 주기는 건너뜁니다.");
+            return;
+        }
+        if (!deepScanLeaseInUse.compareAndSet(false, true)) {
+            log.info("이 노드에서 DeepScan 리스를 쓰는 작업이 있어 이번 주기는 건너뜁니다.");
+            return;
+        }
+
+        Optional<RedisLeaseManager.Lease> lease = leaseManager.acquire(DEEP_SCAN_LEASE);
+        if (lease.isEmpty()) {
+            deepScanLeaseInUse.set(false);
+            log.info("다른 인스턴스가 DeepScan 리스를 쥐고 있어 이번 주기는 건너뜁니다.");
+            return;
+        }
 
-        for(int i = 1; i <= maxAttempts; i++) {
-            boolean success = chzzkLiveService.fetchAndStoreValidCursors();
-            if (success) {
-                log.info("DeepScan 성공 ({}회 시도)", i);
+        try {
+            Instant publishedAt = chzzkLiveService.getCursorsPublishedAt();
+            if (chzzkLiveService.hasCursors() && publishedAt != null
+                    && publishedAt.isAfter(Instant.now().minusMillis(deepScanFallbackIntervalMs))) {
+                log.info("커서가 {} 에 갱신되어 전체 DeepScan 을 건너뜁니다.", publishedAt);
+                releaseDeepScanLease(lease.get());
                 return;
             }
+        } catch (RuntimeException e) {
+            releaseDeepScanLease(lease.get());
+            throw e;
+        }
+        startDeepScanAttempt(1, lease.get());
+    }
 
-            log.warn("DeepScan 실패 ({} 회차), 재시도 중...", i);
-            try {
-                Thread.sleep(5000);
-            }catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+    /**
+     * DeepScan 시도를 시작하고, 실패하면 다음 시도를 지연 작업으로 예약합니다.
+     * 호출 스레드는 탐색이 끝날 때까지 기다리지 않습니다.
+     * 이 노드의 다른 탐색 때문에 시작하지 못한 경우는 시도 횟수로 세지 않고 같은 회차를 다시 예약합니다.
+     */
+    private void startDeepScanAttempt(int attempt, RedisLeaseManager.Lease lease) {
+        if (chzzkLiveService.isDeepScanRunning()) {
+            log.info("이 노드에서 다른 탐색이 진행 중이라 DeepScan {}회차를 미룹니다.", attempt);
+            scanTaskScheduler.schedule(() -> startDeepScanAttempt(attempt, lease),
+                    Instant.now().plusMillis(DEEP_SCAN_RETRY_DELAY_MS));
+            return;
+        }
+
+        CompletableFuture<Boolean> result;
+        try {
+            result = chzzkLiveService.startDeepScan(lease);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
         }
-        log.error("DeepScan {}회 시도 후 실패.", maxAttempts);
+        result.whenComplete((success, e) -> {
+            if (Boolean.TRUE.equals(success)) {
+                log.info("DeepScan 성공 ({}회 시도)", attempt);
+                releaseDeepScanLease(lease);
+                return;
+            }
+            if (attempt >= MAX_DEEP_SCAN_ATTEMPTS) {
+                log.error("DeepScan {}회 시도 후 실패.", MAX_DEEP_SCAN_ATTEMPTS);
+                releaseDeepScanLease(lease);
+                return;
+            }
+
+            log.warn("DeepScan 실패 ({} 회차), 재시도 중...", attempt);
+            scanTaskScheduler.schedule(() -> startDeepScanAttempt(attempt + 1, lease),
+                    Instant.now().plusMillis(DEEP_SCAN_RETRY_DELAY_MS));
+        });
     }
 
+    /**
+     * FastScan 리스는 반납하지 않고 매 주기 연장해, 리스를 쥔 인스턴스만 계속 스캔합니다.
+     * 그 인스턴스가 멈추면 TTL 이 지난 뒤 대기 중인 인스턴스가 이어받습니다.
+     * 분할 모드에서는 리스 대신 노드 목록으로 몫을 나눠 모든 인스턴스가 스캔합니다.
+     * 커서 목록은 어느 모드에서든 DeepScan 리스 아래에서만 발행합니다.
+     */
     public void doFastScan() {
-        Boolean exists = redisTemplate.hasKey(REDIS_KEY);
-        if (!exists) return;
+        if (!chzzkLiveService.hasCursors()) return;
         if (!lock.tryLock()) return;
         try {
-            liveSyncService.syncLiveBroadcasts();
+            if (partitioned) {
+                doPartitionedFastScan();
+                return;
+            }
+
+            Optional<RedisLeaseManager.Lease> lease = leaseManager.acquire(FAST_SCAN_LEASE);
+            if (lease.isEmpty()) {
+                log.debug("다른 인스턴스가 FastScan 리스를 쥐고 있어 대기합니다.");
+                return;
+            }
+
+            liveSyncService.syncLiveBroadcasts(lease.get());
+            rescanDriftedTail();
         } finally {
             lock.unlock();
         }
     }
+
+    private void doPartitionedFastScan() {
+        String nodeId = leaseManager.getNodeId();
+        ScanPartition partition = ScanPartition.of(nodeId, scanMembership.heartbeat(nodeId));
+        liveSyncService.syncLiveBroadcasts(partition);
+        rescanDriftedTail();
+    }
+
+    /**
+     * 커서 재탐색은 전체 탐색과 같은 DeepScan 리스를 잠깐 빌려 한 노드만 합니다.
+     * 이 노드에서 전체 탐색이 리스를 쥐고 있거나 재시도를 기다리는 중이면 그 리스를 건드리지 않습니다.
+     */
+    private void rescanDriftedTail() {
+        if (!chzzkLiveService.hasDrift() || chzzkLiveService.isDeepScanRunning()) return;
+        if (!deepScanLeaseInUse.compareAndSet(false, true)) return;
+
+        Optional<RedisLeaseManager.Lease> lease = leaseManager.acquire(DEEP_SCAN_LEASE);
+        if (lease.isEmpty()) {
+            deepScanLeaseInUse.set(false);
+            return;
+        }
+
+        CompletableFuture<Boolean> result;
+        try {
+            result = chzzkLiveService.rescanDriftedTail(lease.get());
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((stored, e) -> {
+            if (e != null) {
+                log.error("부분 DeepScan 중 오류 발생", e);
+            } else if (Boolean.TRUE.equals(stored)) {
+                log.info("부분 DeepScan 으로 커서를 갱신했습니다.");
+            }
+            releaseDeepScanLease(lease.get());
+        });
+    }
+
+    private void releaseDeepScanLease(RedisLeaseManager.Lease lease) {
+        leaseManager.release(lease);
+        deepScanLeaseInUse.set(false);
+    }
 }
@@ -0,0 +1,79 @@
+package com.streampulse.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 방송의 최근 시청자 수 구간(ViewerWindow)의 기울기와 가속도로 급상승을 판정합니다.
+ * 기울기가 현재 시청자 수 대비 분당 slope-ratio 이상이고 증가 속도가 줄지 않을 때 급상승으로 보고,
+ * 급상승이 새로 시작된 틱에만 HOT 으로 판정해 오래 이어지는 방송이 매 틱 HOT 을 내지 않게 합니다.
+ * 구간은 LiveStateTable 이 관리하며 재시작 시 최근 지표로 다시 채워지므로 따로 체크포인트하지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlopeHotDetector implements HotDetector {
+
+    private final LiveStateTable liveStateTable;
+
+    // HOT 으로 볼 최소 시청자 수
+    @Value("${app.hot.slope.min-viewers:1000}")
+    private int minViewers;
+
+    // 기울기를 믿을 수 있는 최소 표본 수
+    @Value("${app.hot.slope.min-samples:4}")
+    private int minSamples;
+
+    // 현재 시청자 수 대비 분당 증가율이 이 값 이상이면 급상승으로 본다 (0.05 = 분당 5%)
+    @Value("${app.hot.slope.ratio:0.05}")
+    private double slopeRatio;
+
+    // 재현할 때 방송별로 따로 쌓는 구간의 길이. LiveStateTable 의 구간과 같게 둔다
+    @Value("${app.hot.window-size:10}")
+    private int windowSize;
+
+    @Override
+    public String name() {
+        return "slope";
+    }
+
+    @Override
+    public boolean observe(String channelId, int viewerCount, int averageViewerCount, long epochSeconds) {
+        ViewerWindow window = liveStateTable.get(channelId).map(LiveStateTable.LiveState::getViewerWindow).orElse(null);
+        if (window == null) return false;
+        return enterRising(window, viewerCount);
+    }
+
+    /**
+     * 실시간 구간 대신 관측을 직접 쌓는 구간으로 판정하는 인스턴스를 반환합니다.
+     */
+    @Override
+    public HotDetector forReplay() {
+        Map<String, ViewerWindow> windows = new HashMap<>();
+        return new HotDetector() {
+            @Override
+            public String name() {
+                return SlopeHotDetector.this.name();
+            }
+
+            @Override
+            public boolean observe(String channelId, int viewerCount, int averageViewerCount, long epochSeconds) {
+                ViewerWindow window = windows.computeIfAbsent(channelId, id -> new ViewerWindow(windowSize));
+                window.add(viewerCount, epochSeconds);
+                return enterRising(window, viewerCount);
+            }
+        };
+    }
+
+    private boolean enterRising(ViewerWindow window, int viewerCount) {
+        // 부동소수 오차로 일정한 증가가 감속으로 보이지 않도록 분당 1명까지는 허용한다
+        boolean rising = viewerCount >= minViewers
+                && window.size() >= minSamples
+                && window.slope() >= viewerCount * slopeRatio
+                && window.acceleration() > -1;
+        return window.enterRising(rising);
+    }
+}
@@ -5,34 +5,44 @@ import com.streampulse.backend.entity.StreamEvent;
 import com.streampulse.backend.entity.StreamMetrics;
 import com.streampulse.backend.enums.EventType;
 import com.streampulse.backend.repository.StreamEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
-
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Slf4j
 public class StreamEventService {
 
     private final StreamEventRepository streamEventRepository;
     private final SubscriptionService subscriptionService;
-    private final StringRedisTemplate redisTemplate;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final CategoryBaselineTracker categoryBaselineTracker;
+    private final HotCooldownEngine hotCooldownEngine;
+    private final MeterRegistry meterRegistry;
 
-    private static final String STREAM_EVENT_KEY = "hot:";
-    private static final Duration STREAM_EVENT_TTL = Duration.ofDays(1);
+    // 켜면 급상승이 같은 카테고리의 평소 증가율(CategoryBaselineTracker)까지 넘어야 HOT 이벤트를 남긴다
+    @Value("${app.hot.category.require-baseline:false}")
+    private boolean requireCategoryBaseline;
 
     @LogExecution
     public void saveStreamEvent(StreamMetrics metrics, Integer averageViewerCount) {
-        String sessionId = metrics.getStreamSession().getId().toString();
-
-        String cacheKey = STREAM_EVENT_KEY + sessionId;
+        Long sessionId = metrics.getStreamSession().getId();
+        String channelId = metrics.getStreamSession().getStreamer().getChannelId();
+        if (requireCategoryBaseline
+                && !categoryBaselineTracker.beatsBaseline(metrics.getCategory(), channelId, metrics.getViewerCount())) {
+            meterRegistry.counter("hot_events_total", "result", "suppressed", "scope", "baseline").increment();
+            log.debug("[saveStreamEvent] 카테고리 기준선 미달 - channelId = {}, category = {}", channelId, metrics.getCategory());
+            return;
+        }
 
-        if (redisTemplate.hasKey(cacheKey)) {
+        // 쿨다운 확인과 선점을 한 번에 한다. 선점 후 저장이 실패하면 이번 HOT 은 쿨다운이 끝날 때까지 다시 나오지 않는다
+        if (!hotCooldownEngine.tryEmit(sessionId, channelId, metrics.getCategory(), metrics.getViewerCount())) {
             return;
         }
 
@@ -49,9 +59,7 @@ public class StreamEventService {
 
         streamEvent = streamEventRepository.save(streamEvent);
 
-        redisTemplate.opsForValue().set(cacheKey, "HOT", STREAM_EVENT_TTL);
-
-        if (!subscriptionService.hasSubscribersFor(EventType.HOT, metrics.getStreamSession().getStreamer().getChannelId())) {
+        if (!subscriptionService.hasSubscribersFor(EventType.HOT, channelId)) {
             return;
         }
 
@@ -1,32 +1,201 @@
 package com.streampulse.backend.service;
 
 import com.streampulse.backend.dto.LiveResponseDTO;
+import com.streampulse.backend.dto.StreamMetricsSampleDTO;
 import com.streampulse.backend.entity.StreamMetrics;
 import com.streampulse.backend.entity.StreamSession;
+import com.streampulse.backend.infra.LiveFingerprint;
+import com.streampulse.backend.infra.RedisLiveStore;
+import com.streampulse.backend.repository.StreamMetricsBatchWriter;
 import com.streampulse.backend.repository.StreamMetricsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Slf4j
 public class StreamMetricsService {
 
     private final StreamMetricsRepository streamMetricsRepository;
     private final StreamEventService streamEventService;
+    private final StreamMetricsBatchWriter streamMetricsBatchWriter;
+    private final LiveStateTable liveStateTable;
+    private final RedisLiveStore redisLiveStore;
+    private final HotDetectionEngine hotDetectionEngine;
+    private final MeterRegistry meterRegistry;
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    // 마지막으로 저장한 행보다 시청자 수가 이 비율(%) 이상 움직이면 저장한다 (min-delta 명 이상일 때만)
+    @Value("${app.metrics.deadband.percent:10}")
+    private double deadbandPercent;
+
+    // 작은 방송의 ±몇 명 흔들림이 비율 조건을 넘지 않도록 하는 최소 변화량
+    @Value("${app.metrics.deadband.min-delta:5}")
+    private int deadbandMinDelta;
+
+    // 비율과 무관하게 이만큼 움직이면 저장한다
+    @Value("${app.metrics.deadband.absolute:100}")
+    private int deadbandAbsolute;
+
+    // 변화가 없어도 이 간격(초)마다 한 행은 남긴다
+    @Value("${app.metrics.heartbeat-seconds:600}")
+    private long heartbeatSeconds;
+
+    // 어느 노드도 관측한 적 없을 때(새 방송) 한 표본이 대표하는 시간
+    @Value("${app.metrics.default-observed-seconds:30}")
+    private long defaultObservedSeconds;
+
+    // 장애 등으로 관측이 길게 끊겼을 때 한 표본이 평균을 끌고 가지 않도록 하는 가중치 상한
+    @Value("${app.metrics.max-observed-seconds:600}")
+    private long maxObservedSeconds;
+
+    /**
+     * 한 틱의 지표를 모아 저장합니다.
+     * 마지막으로 저장한 행과 비교해 시청자 수가 데드밴드를 벗어났거나, 제목/카테고리가 바뀌었거나, heartbeat 간격이 지난 방송만 행을 남깁니다.
+     * HOT 판정은 HotDetectionEngine 에 맡기며, LiveHandlerService 가 이번 틱 시청자 수를 ViewerWindow 에 먼저 넣어 둡니다.
+     * HOT 이벤트가 참조할 id 가 필요한 행은 항상 JPA 로 저장하고, 나머지는 여러 행 INSERT 로 한 번에 씁니다.
+     * 행을 건너뛴 방송도 세션 누적 집계에는 매 틱 반영하며, 이전 관측 이후 경과 시간으로 가중해 평균이 표본 간격에 치우치지 않게 합니다.
+     * 이전 관측은 어느 노드의 것이든 Redis 의 live:last_seen 과 이 노드의 값 중 늦은 쪽으로 보아, 방송이 노드를 옮겨 다녀도 같은 시간을 두 번 세지 않습니다.
+     * 여러 행 INSERT 와 누적 집계는 별도 트랜잭션에서 실행되어, 실패해도 호출한 트랜잭션(HOT 이벤트, TOPIC 알림)은 롤백되지 않습니다.
+     *
+     * @return 저장한 행 수
+     */
+    public int saveAllMetrics(List<StreamMetricsSampleDTO> samples) {
+        long now = Instant.now().getEpochSecond();
+        List<StreamMetricsBatchWriter.Observation> observations = new ArrayList<>(samples.size());
+        List<StreamMetrics> batch = new ArrayList<>(samples.size());
+        List<StreamMetricsSampleDTO> hotSamples = new ArrayList<>();
+        List<StreamMetrics> hotRows = new ArrayList<>();
+        int suppressed = 0;
+        int invalid = 0;
+        Map<String, Long> sharedLastSeen = sharedLastSeen(samples);
+        for (StreamMetricsSampleDTO sample : samples) {
+            if (!isValid(sample)) {
+                invalid++;
+                log.warn("[saveAllMetrics] 저장할 수 없는 지표 제외 - {}", sample);
+                continue;
+            }
+            try {
+                StreamMetrics metrics = toMetrics(sample.getSession(), sample.getLive());
+                String channelId = sample.getLive().getChannelId();
+                LiveStateTable.LiveState state = liveStateTable.get(channelId).orElse(null);
+                observations.add(new StreamMetricsBatchWriter.Observation(
+                        sample.getSession().getId(), metrics.getViewerCount(), observedSeconds(state, sharedLastSeen.get(channelId), now)));
+
+                long topic = LiveFingerprint.of(metrics.getTitle(), metrics.getCategory(), null);
+                boolean hot = hotDetectionEngine.isHot(channelId, metrics.getViewerCount(), sample.getAverageViewerCount(), now);
+                if (!hot && !shouldWrite(state, metrics.getViewerCount(), topic, now)) {
+                    suppressed++;
+                    continue;
+                }
+                liveStateTable.recordWritten(channelId, metrics.getViewerCount(), topic, now);
+                if (hot) {
+                    hotSamples.add(sample);
+                    hotRows.add(metrics);
+                } else {
+                    batch.add(metrics);
+                }
+            } catch (Exception e) {
+                // 이 트랜잭션은 HOT 이벤트와 TOPIC 알림을 함께 담으므로 한 방송의 예외를 밖으로 보내지 않는다
+                invalid++;
+                log.error("[saveAllMetrics] 지표 분류 실패 - sessionId = {}, error = {}", sample.getSession().getId(), e.getMessage(), e);
+            }
+        }
+
+        // HOT 행을 이 트랜잭션에서 넣기 전에 실행해야 한다. 먼저 넣으면 세션 행의 외래 키 잠금을 쥔 채 별도 트랜잭션의 세션 UPDATE 를 기다리게 된다
+        int inserted = 0;
+        try {
+            inserted = streamMetricsBatchWriter.writeTick(batch, observations);
+        } catch (Exception e) {
+            meterRegistry.counter("stream_metrics_samples_total", "result", "failed").increment(batch.size());
+            log.error("[saveAllMetrics] 지표 일괄 저장 실패 - rows = {}, sessions = {}, error = {}",
+                    batch.size(), observations.size(), e.getMessage(), e);
+        }
+
+        int saved = 0;
+        for (int i = 0; i < hotRows.size(); i++) {
+            StreamMetricsSampleDTO sample = hotSamples.get(i);
+            try {
+                StreamMetrics metrics = streamMetricsRepository.save(hotRows.get(i));
+                saved++;
+                streamEventService.saveStreamEvent(metrics, sample.getAverageViewerCount());
+            } catch (Exception e) {
+                log.error("[saveAllMetrics] HOT 이벤트 저장 실패 - sessionId = {}, error = {}",
+                        sample.getSession().getId(), e.getMessage(), e);
+            }
+        }
 
-    public void saveMetrics(StreamSession session, LiveResponseDTO dto, Integer averageViewerCount) {
-        StreamMetrics metrics = StreamMetrics.builder()
+        meterRegistry.counter("stream_metrics_samples_total", "result", "written").increment(saved + inserted);
+        meterRegistry.counter("stream_metrics_samples_total", "result", "suppressed").increment(suppressed);
+        meterRegistry.counter("stream_metrics_samples_total", "result", "invalid").increment(invalid);
+        return saved + inserted;
+    }
+
+    private static boolean isValid(StreamMetricsSampleDTO sample) {
+        return sample.getSession() != null && sample.getSession().getId() != null
+                && sample.getLive() != null && sample.getLive().getChannelId() != null
+                && sample.getLive().getConcurrentUserCount() != null && sample.getLive().getConcurrentUserCount() >= 0;
+    }
+
+    /**
+     * 마지막으로 저장한 행 기준으로 이번 표본을 남길지 판단합니다. 저장 이력이 없으면(재시작 직후 포함) 항상 남깁니다.
+     */
+    boolean shouldWrite(LiveStateTable.LiveState state, int viewerCount, long topic, long nowEpochSeconds) {
+        if (state == null || state.getLastWrittenAt() == 0) return true;
+        if (state.getLastWrittenTopic() != topic) return true;
+        if (nowEpochSeconds - state.getLastWrittenAt() >= heartbeatSeconds) return true;
+
+        int last = state.getLastWrittenViewerCount();
+        int delta = Math.abs(viewerCount - last);
+        if (delta >= deadbandAbsolute) return true;
+        return delta >= deadbandMinDelta && delta * 100.0 >= last * deadbandPercent;
+    }
+
+    // 다른 노드가 마지막으로 관측한 시각. 읽지 못하면 이 노드의 값만으로 가중한다
+    private Map<String, Long> sharedLastSeen(List<StreamMetricsSampleDTO> samples) {
+        List<String> channelIds = samples.stream()
+                .filter(StreamMetricsService::isValid)
+                .map(sample -> sample.getLive().getChannelId())
+                .toList();
+        try {
+            return redisLiveStore.getLastSeen(channelIds);
+        } catch (Exception e) {
+            log.warn("[saveAllMetrics] 마지막 관측 시각 조회 실패, 이 노드의 값만 씁니다: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    // 어느 노드든 마지막으로 관측한 뒤 경과 시간. 이번 표본이 그 구간 동안의 시청자 수를 대표한다고 본다
+    private long observedSeconds(LiveStateTable.LiveState state, Long sharedLastSeen, long nowEpochSeconds) {
+        long lastSeen = Math.max(state != null ? state.getLastSeen() : 0, sharedLastSeen != null ? sharedLastSeen : 0);
+        long elapsed = lastSeen > 0 ? nowEpochSeconds - lastSeen : defaultObservedSeconds;
+        return Math.max(1, Math.min(elapsed, maxObservedSeconds));
+    }
+
+    private static StreamMetrics toMetrics(StreamSession session, LiveResponseDTO dto) {
+        return StreamMetrics.builder()
                 .streamSession(session)
                 .viewerCount(dto.getConcurrentUserCount())
-                .category(dto.getLiveCategoryValue())
-                .title(dto.getLiveTitle())
+                .category(column(dto.getLiveCategoryValue()))
+                .title(column(dto.getLiveTitle()))
                 .build();
-        metrics = streamMetricsRepository.save(metrics);
-        if(metrics.getViewerCount() >= 1000 && metrics.getViewerCount() > averageViewerCount * 1.5) {
-            streamEventService.saveStreamEvent(metrics, averageViewerCount);
-        }
+    }
+
+    // category/title 은 not null varchar(255) 이므로 한 행 때문에 여러 행 INSERT 전체가 실패하지 않게 맞춘다
+    private static String column(String value) {
+        if (value == null) return "";
+        return value.length() > MAX_TEXT_LENGTH ? value.substring(0, MAX_TEXT_LENGTH) : value;
     }
 
 }
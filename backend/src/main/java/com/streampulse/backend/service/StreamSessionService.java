@@ -2,10 +2,8 @@ package com.streampulse.backend.service;
 
 import com.streampulse.backend.aop.LogExecution;
 import com.streampulse.backend.dto.LiveResponseDTO;
-import com.streampulse.backend.entity.StreamMetrics;
 import com.streampulse.backend.entity.StreamSession;
 import com.streampulse.backend.entity.Streamer;
-import com.streampulse.backend.repository.StreamMetricsRepository;
 import com.streampulse.backend.repository.StreamSessionRepository;
 import com.streampulse.backend.repository.StreamerRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.*;
 
 @Service
 @Transactional
@@ -25,9 +23,8 @@ public class StreamSessionService {
 
     private final StreamSessionRepository streamSessionRepository;
     private final StreamerRepository streamerRepository;
-    private final StreamMetricsRepository streamMetricsRepository;
 
-    public void createSession(Streamer streamer, LiveResponseDTO dto) {
+    public StreamSession createSession(Streamer streamer, LiveResponseDTO dto) {
         LocalDateTime startedAt = LocalDateTime.parse(dto.getOpenDate(), DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
 
         StreamSession session = StreamSession.builder()
@@ -37,51 +34,76 @@ public class StreamSessionService {
                 .startedAt(startedAt)
                 .build();
 
-        streamSessionRepository.save(session);
+        return streamSessionRepository.save(session);
     }
 
     @LogExecution
     public StreamSession handleStreamEnd(Streamer streamer,LocalDateTime startedAt) {
         return streamSessionRepository.findByStreamer_ChannelIdAndStartedAt(streamer.getChannelId(), startedAt)
-                .map(streamSession -> {
-                    streamSession.setEndedAtToNow();
-
-                    List<StreamMetrics> streamMetricsList = streamMetricsRepository.findByStreamSessionId(streamSession.getId());
-
-                    int sessionAvgViewer = (int) streamMetricsList.stream()
-                            .mapToInt(StreamMetrics::getViewerCount)
-                            .average()
-                            .orElse(0.0);
-
-                    streamSession.updateAverageViewerCount(sessionAvgViewer);
-
-                    int sessionPeakViewer = streamMetricsList.stream()
-                            .mapToInt(StreamMetrics::getViewerCount)
-                            .max()
-                            .orElse(0);
+                .map(streamSession -> endSession(streamer, streamSession))
+                .orElse(null);
+    }
 
-                    streamSession.updatePeakViewerCount(sessionPeakViewer);
+    /**
+     * 이미 조회한 세션을 종료하고 세션/방송자 평균 시청자 수를 갱신합니다.
+     * 평균과 최고값은 지표를 저장할 때 누적해 둔 값으로 계산하므로 지표나 세션 이력을 다시 읽지 않습니다.
+     */
+    public StreamSession endSession(Streamer streamer, StreamSession streamSession) {
+        streamSession.setEndedAtToNow();
 
-                    List<StreamSession> streamSessionList = streamSessionRepository.findByStreamerIdAndEndedAtIsNotNull(streamer.getId());
-                    int streamerAvgViewer = (int) streamSessionList.stream()
-                            .mapToInt(StreamSession::getAverageViewerCount)
-                            .average()
-                            .orElse(0.0);
+        int sessionAvgViewer = streamSession.runningAverageViewerCount();
+        streamSession.updateAverageViewerCount(sessionAvgViewer);
 
-                    streamer.updateAverageViewerCount(streamerAvgViewer);
-                    streamerRepository.save(streamer);
+        streamer.addEndedSession(streamSession);
+        streamerRepository.save(streamer);
 
-                    return streamSessionRepository.save(streamSession);
-                })
-                .orElse(null);
+        return streamSessionRepository.save(streamSession);
     }
 
     public List<StreamSession> findByStreamerAndStartedAt(Streamer streamer, LocalDateTime startedAt) {
         return streamSessionRepository.findByStreamerAndStartedAt(streamer, startedAt);
     }
 
+    /**
+     * id 를 이미 알고 있는 세션을 SELECT 없이 참조합니다.
+     */
+    public StreamSession getReference(Long sessionId) {
+        return streamSessionRepository.getReferenceById(sessionId);
+    }
+
     public List<StreamSession> getAllUnendedSessions(Streamer streamer) {
         return streamSessionRepository.findByStreamerIdAndEndedAtIsNull(streamer.getId());
     }
 
+    /**
+     * 여러 방송자의 진행 중인 세션을 IN 조회로 읽어 방송자 id 별로 묶습니다.
+     */
+    public Map<Long, List<StreamSession>> getUnendedSessionsByStreamerIds(Collection<Long> streamerIds) {
+        Map<Long, List<StreamSession>> result = new HashMap<>();
+        for (List<Long> chunk : Chunks.of(streamerIds)) {
+            streamSessionRepository.findByStreamerIdInAndEndedAtIsNull(chunk).forEach(session ->
+                    result.computeIfAbsent(session.getStreamer().getId(), id -> new ArrayList<>()).add(session));
+        }
+        return result;
+    }
+
+    /**
+     * (방송자 id, 시작 시각) 쌍마다 일치하는 세션을 읽습니다. 각 목록은 id 내림차순입니다.
+     */
+    public Map<Long, List<StreamSession>> findByStreamerIdAndStartedAt(Map<Long, LocalDateTime> startedAtByStreamerId) {
+        Map<Long, List<StreamSession>> result = new HashMap<>();
+        for (List<Long> chunk : Chunks.of(startedAtByStreamerId.keySet())) {
+            Set<LocalDateTime> startedAts = new HashSet<>();
+            chunk.forEach(streamerId -> startedAts.add(startedAtByStreamerId.get(streamerId)));
+
+            for (StreamSession session : streamSessionRepository.findByStreamerIdInAndStartedAtIn(chunk, startedAts)) {
+                Long streamerId = session.getStreamer().getId();
+                if (session.getStartedAt().equals(startedAtByStreamerId.get(streamerId))) {
+                    result.computeIfAbsent(streamerId, id -> new ArrayList<>()).add(session);
+                }
+            }
+        }
+        return result;
+    }
+
 }
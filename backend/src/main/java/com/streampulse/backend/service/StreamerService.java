@@ -6,9 +6,10 @@ import com.streampulse.backend.entity.Streamer;
 import com.streampulse.backend.repository.StreamerRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.*;
 
 
 @Service
@@ -20,13 +21,50 @@ public class StreamerService {
 
     public Streamer getOrCreateStreamer(LiveResponseDTO dto) {
         return streamerRepository.findByChannelId(dto.getChannelId()).orElseGet(
-                () -> streamerRepository.save(
-                        Streamer.builder()
-                                .channelId(dto.getChannelId())
-                                .nickname(dto.getChannelName())
-                                .averageViewerCount(dto.getConcurrentUserCount())
-                                .live(false)
-                                .build()));
+                () -> streamerRepository.save(newStreamer(dto)));
+    }
+
+    /**
+     * 여러 방송의 방송자를 IN 조회로 한 번에 읽고, 없는 방송자는 만들어 channelId 별로 돌려줍니다.
+     */
+    public Map<String, Streamer> getOrCreateStreamers(Collection<LiveResponseDTO> dtos) {
+        Map<String, LiveResponseDTO> byChannelId = new LinkedHashMap<>();
+        dtos.forEach(dto -> byChannelId.putIfAbsent(dto.getChannelId(), dto));
+
+        Map<String, Streamer> result = findByChannelIds(byChannelId.keySet());
+
+        List<Streamer> created = byChannelId.values().stream()
+                .filter(dto -> !result.containsKey(dto.getChannelId()))
+                .map(this::newStreamer)
+                .toList();
+        streamerRepository.saveAll(created).forEach(streamer -> result.put(streamer.getChannelId(), streamer));
+        return result;
+    }
+
+    /**
+     * 없는 방송자만 별도 트랜잭션에서 만듭니다. 실패해도(다른 노드가 같은 방송자를 먼저 만든 경우 등) 호출한 트랜잭션은 롤백 대상이 되지 않습니다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createMissingStreamers(Collection<LiveResponseDTO> dtos) {
+        getOrCreateStreamers(dtos);
+    }
+
+    public Map<String, Streamer> findByChannelIds(Collection<String> channelIds) {
+        Map<String, Streamer> result = new HashMap<>();
+        for (List<String> chunk : Chunks.of(channelIds)) {
+            streamerRepository.findByChannelIdIn(chunk)
+                    .forEach(streamer -> result.putIfAbsent(streamer.getChannelId(), streamer));
+        }
+        return result;
+    }
+
+    private Streamer newStreamer(LiveResponseDTO dto) {
+        return Streamer.builder()
+                .channelId(dto.getChannelId())
+                .nickname(dto.getChannelName())
+                .averageViewerCount(dto.getConcurrentUserCount())
+                .live(false)
+                .build();
     }
 
     @LogExecution
@@ -279,5 +279,20 @@ public class SubscriptionService {
         return subscriptionRepository.existsActiveByEventTypeAndChannelIdOrAll(eventType, channelId);
     }
 
+    /**
+     * 주어진 방송 중 해당 이벤트 구독자가 있는 방송만 돌려줍니다. 전체 구독이 있으면 모든 방송이 대상입니다.
+     * 방송마다 hasSubscribersFor 를 부르는 대신 IN 조회를 나눠 실행합니다.
+     */
+    public Set<String> findChannelsWithSubscribers(EventType eventType, Collection<String> channelIds) {
+        if (channelIds.isEmpty()) return Set.of();
+        if (subscriptionRepository.existsActiveGlobal(eventType)) return new HashSet<>(channelIds);
+
+        Set<String> result = new HashSet<>();
+        for (List<String> chunk : Chunks.of(channelIds)) {
+            result.addAll(subscriptionRepository.findSubscribedChannelIds(eventType, chunk));
+        }
+        return result;
+    }
+
 
 }
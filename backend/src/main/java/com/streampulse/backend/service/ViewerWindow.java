@@ -0,0 +1,133 @@
+package com.streampulse.backend.service;
+
+/**
+ * 방송 하나의 최근 시청자 수를 최근 N틱만큼 담는 고정 크기 링 버퍼입니다.
+ * 틱마다 쌓이는 값이라 박싱과 노드 할당이 없도록 int 배열 두 개(시청자 수, 기준 시각으로부터의 초)로 보관합니다.
+ * 한 방송은 한 스레드만 갱신하므로 동기화하지 않습니다.
+ */
+public final class ViewerWindow {
+
+    private final int[] viewers;
+    private final int[] offsets;
+    // offsets 의 기준 시각(epoch seconds). 첫 표본 시각으로 정해진다
+    private long baseEpochSeconds;
+    private int head;
+    private int size;
+    // 마지막 판정에서 급상승 중이었는지. 상승이 이어지는 동안 HOT 을 반복해서 내지 않기 위해 둔다
+    private boolean rising;
+
+    public ViewerWindow(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("시청자 수 구간은 2틱 이상이어야 합니다: " + capacity);
+        }
+        this.viewers = new int[capacity];
+        this.offsets = new int[capacity];
+    }
+
+    /**
+     * 표본을 추가합니다. 마지막 표본과 같은 시각이면 덮어쓰고, 가득 차 있으면 가장 오래된 표본을 밀어냅니다.
+     */
+    public void add(int viewerCount, long epochSeconds) {
+        if (size == 0) {
+            baseEpochSeconds = epochSeconds;
+        }
+        int offset = (int) (epochSeconds - baseEpochSeconds);
+        if (size > 0) {
+            int last = index(size - 1);
+            if (offset <= offsets[last]) {
+                // 같은 틱의 중복 관측이거나 시계가 뒤로 간 경우
+                viewers[last] = viewerCount;
+                return;
+            }
+        }
+        viewers[head] = viewerCount;
+        offsets[head] = offset;
+        head = (head + 1) % viewers.length;
+        if (size < viewers.length) size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return viewers.length;
+    }
+
+    public int latest() {
+        if (size == 0) throw new IllegalStateException("표본이 없습니다");
+        return viewers[index(size - 1)];
+    }
+
+    /**
+     * 가장 최근 표본 바로 앞의 시청자 수. 표본이 2개 미만이면 -1 입니다.
+     */
+    public int previous() {
+        return size < 2 ? -1 : viewers[index(size - 2)];
+    }
+
+    /**
+     * 가장 최근 표본의 시각(epoch seconds). 표본이 없으면 -1 입니다.
+     */
+    public long latestEpochSeconds() {
+        return size == 0 ? -1 : baseEpochSeconds + offsets[index(size - 1)];
+    }
+
+    /**
+     * 바로 앞 표본에서 가장 최근 표본까지 지난 초. 표본이 2개 미만이면 -1 입니다.
+     */
+    public int secondsSincePrevious() {
+        return size < 2 ? -1 : offsets[index(size - 1)] - offsets[index(size - 2)];
+    }
+
+    /**
+     * 구간 전체에 대한 최소제곱 기울기(분당 시청자 증감). 표본이 2개 미만이면 0 입니다.
+     */
+    public double slope() {
+        return slope(0, size);
+    }
+
+    /**
+     * 최근 절반 구간의 기울기에서 이전 절반 구간의 기울기를 뺀 값(분당 시청자 증감의 변화).
+     * 양수면 증가 속도가 빨라지고 있다는 뜻입니다. 표본이 4개 미만이면 0 입니다.
+     */
+    public double acceleration() {
+        if (size < 4) return 0;
+        int half = size / 2;
+        return slope(size - half, size) - slope(0, size - half);
+    }
+
+    /**
+     * 이번 판정 결과를 기록하고, 상승이 새로 시작된 경우에만 true 를 반환합니다.
+     */
+    public boolean enterRising(boolean risingNow) {
+        boolean entered = risingNow && !rising;
+        rising = risingNow;
+        return entered;
+    }
+
+    // 오래된 순서 기준 [from, to) 구간의 기울기. x 는 마지막 표본 기준 분 단위로 바꿔 값이 커지지 않게 한다
+    private double slope(int from, int to) {
+        int n = to - from;
+        if (n < 2) return 0;
+        int lastOffset = offsets[index(to - 1)];
+
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+        for (int i = from; i < to; i++) {
+            int idx = index(i);
+            double x = (offsets[idx] - lastOffset) / 60.0;
+            double y = viewers[idx];
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    // 오래된 순서 기준 i 번째 표본의 배열 위치
+    private int index(int i) {
+        return (head - size + i + viewers.length) % viewers.length;
+    }
+}
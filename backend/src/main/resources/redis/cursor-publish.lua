@@ -0,0 +1,39 @@
+-- 새 커서 세대를 쓰고 활성 포인터를 바꾼다. 세대 발급, 이전 세대 조회, 포인터 교체, 이전 세대 만료가 한 번에 일어나므로
+-- 동시에 발행해도 어느 세대도 만료 없이 남거나 활성 세대가 만료되지 않는다.
+-- 발행 리스를 같은 펜스로 쥐고 있을 때만 쓴다. 확인과 발행 사이에 리스가 넘어가는 틈이 없다.
+-- KEYS[1] = 세대 번호 카운터, KEYS[2] = 활성 포인터, KEYS[3] = 세대 도입 전의 단일 키, KEYS[4] = 리스 키
+-- ARGV[1] = '노드ID|펜스', ARGV[2] = 세대 키 접두사(<namespace>:gen:), ARGV[3] = 이전 세대를 남겨 둘 시간(ms)
+-- 세대 키는 발급한 번호로 스크립트 안에서 만들므로 KEYS 로 넘기지 못한다. Redis Cluster 에서 한 슬롯 안에서만 돌도록
+-- namespace 는 리스 키와 같은 해시 태그로 시작해야 한다(예: 리스 lease:{deep-scan}, namespace {deep-scan}:cursor_zset).
+-- 그러면 KEYS 와 세대 키가 모두 같은 슬롯에 놓인다. RedisCursorStore 가 호출 전에 태그가 같은지 확인한다.
+-- ARGV[4..] = pageIndex, 커서 쌍
+-- 반환: 활성화된 세대 번호, 리스를 잃었으면 -1
+local BATCH = 500
+
+if redis.call('GET', KEYS[4]) ~= ARGV[1] then
+    return -1
+end
+
+local generation = redis.call('INCR', KEYS[1])
+local generationKey = ARGV[2] .. generation
+
+local args = {}
+for i = 4, #ARGV, 2 do
+    args[#args + 1] = ARGV[i]
+    args[#args + 1] = ARGV[i + 1]
+    if #args >= BATCH * 2 then
+        redis.call('ZADD', generationKey, unpack(args))
+        args = {}
+    end
+end
+if #args > 0 then
+    redis.call('ZADD', generationKey, unpack(args))
+end
+
+local previous = redis.call('GET', KEYS[2])
+redis.call('SET', KEYS[2], generation)
+if previous then
+    redis.call('PEXPIRE', ARGV[2] .. previous, ARGV[3])
+end
+redis.call('DEL', KEYS[3])
+return generation
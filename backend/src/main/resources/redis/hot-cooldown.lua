@@ -0,0 +1,30 @@
+-- HOT 이벤트 쿨다운을 확인하고 통과하면 바로 선점한다. 확인과 기록이 한 번에 일어나므로 겹친 틱이 같은 HOT 을 두 번 내지 않는다.
+-- KEYS[1] = 세션 키, KEYS[2] = 방송자 키, KEYS[3] = 카테고리 키
+-- ARGV[1..3] = 각 키의 쿨다운(ms). 0 이면 그 범위는 보지도 쓰지도 않는다
+-- ARGV[4] = 이번 시청자 수, ARGV[5] = 마지막 HOT 이후 최저 시청자 수(-1 이면 모름), ARGV[6] = 재무장 하락 비율(0.3 = 30%)
+-- 세션/방송자 키에는 HOT 당시 시청자 수를 저장하고, 그 뒤 시청자 수가 비율 이상 떨어졌던 적이 있으면 쿨다운 중이어도 다시 허용한다
+-- 반환: 0 = 선점(발행), 1/2/3 = 해당 범위 쿨다운으로 억제
+local low = tonumber(ARGV[5])
+local dropRatio = tonumber(ARGV[6])
+
+for i = 1, 3 do
+    if tonumber(ARGV[i]) > 0 then
+        local emitted = redis.call('GET', KEYS[i])
+        if emitted then
+            -- 예전 키("HOT")처럼 숫자가 아니면 재무장할 기준이 없으므로 만료까지 기다린다
+            local level = tonumber(emitted)
+            local rearmed = i < 3 and level ~= nil and low >= 0 and low <= level * (1 - dropRatio)
+            if not rearmed then
+                return i
+            end
+        end
+    end
+end
+
+for i = 1, 3 do
+    local ttl = tonumber(ARGV[i])
+    if ttl > 0 then
+        redis.call('SET', KEYS[i], ARGV[4], 'PX', ttl)
+    end
+end
+return 0
@@ -0,0 +1,15 @@
+-- KEYS[1] = 리스 키, KEYS[2] = 펜스 토큰 카운터. Redis Cluster 에서 한 슬롯에 있도록 둘 다 lease:{name} 해시 태그를 쓴다
+-- ARGV[1] = 노드 ID, ARGV[2] = TTL(ms)
+-- 이미 이 노드가 쥐고 있으면 만료만 연장하고 같은 펜스를, 비어 있으면 새 펜스를 발급하고, 다른 노드가 쥐고 있으면 -1 을 반환한다
+local current = redis.call('GET', KEYS[1])
+local prefix = ARGV[1] .. '|'
+if current then
+    if string.sub(current, 1, #prefix) == prefix then
+        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        return tonumber(string.sub(current, #prefix + 1))
+    end
+    return -1
+end
+local fence = redis.call('INCR', KEYS[2])
+redis.call('SET', KEYS[1], prefix .. fence, 'PX', ARGV[2])
+return fence
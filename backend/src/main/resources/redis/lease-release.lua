@@ -0,0 +1,5 @@
+-- KEYS[1] = 리스 키, ARGV[1] = '노드ID|펜스'
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
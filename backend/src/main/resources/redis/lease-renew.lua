@@ -0,0 +1,7 @@
+-- KEYS[1] = 리스 키, ARGV[1] = '노드ID|펜스', ARGV[2] = TTL(ms)
+-- 같은 펜스로 쥐고 있을 때만 연장한다. 만료 후 다시 얻은 리스는 새 펜스이므로 연장되지 않는다
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    redis.call('PEXPIRE', KEYS[1], ARGV[2])
+    return 1
+end
+return 0
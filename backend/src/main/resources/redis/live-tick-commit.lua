@@ -0,0 +1,82 @@
+-- 한 FastScan 틱의 방송 상태 변경을 원자적으로 반영한다.
+-- KEYS[1] = live:static (channelId → 시작 감지 시각), KEYS[2] = live:fingerprint (channelId → 방송 정보 지문),
+-- KEYS[3] = live:last_seen (channelId → 마지막 수집 시각 ZSET), KEYS[4] = (선택) FastScan 리스 키
+-- ARGV[1] = KEYS[4] 에 있어야 할 '노드ID|펜스'. 리스 키가 없으면 무시한다
+-- ARGV[2] = 현재 시각(epoch seconds), ARGV[3] = 이 시각 이전에 마지막으로 수집된 항목은 정리
+-- ARGV[4..7] = seen, started, fingerprint(쌍), ended 개수, 이후 각 목록이 순서대로 이어진다
+-- 반환: 정리된 방송 수, 리스를 잃었으면 아무것도 쓰지 않고 -1
+if #KEYS >= 4 and redis.call('GET', KEYS[4]) ~= ARGV[1] then
+    return -1
+end
+
+local now = ARGV[2]
+local purgeBefore = ARGV[3]
+local nSeen = tonumber(ARGV[4])
+local nStarted = tonumber(ARGV[5])
+local nSnapshots = tonumber(ARGV[6])
+local nEnded = tonumber(ARGV[7])
+
+-- unpack 인자 수 제한을 넘지 않도록 나눠서 호출한다
+local BATCH = 500
+
+local function flush(command, key, args)
+    if #args > 0 then
+        redis.call(command, key, unpack(args))
+    end
+    return {}
+end
+
+local i = 8
+
+local args = {}
+for j = 0, nSeen - 1 do
+    args[#args + 1] = now
+    args[#args + 1] = ARGV[i + j]
+    if #args >= BATCH * 2 then args = flush('ZADD', KEYS[3], args) end
+end
+flush('ZADD', KEYS[3], args)
+i = i + nSeen
+
+for j = 0, nStarted - 1 do
+    redis.call('HSETNX', KEYS[1], ARGV[i + j], now)
+end
+i = i + nStarted
+
+args = {}
+for j = 0, nSnapshots - 1 do
+    args[#args + 1] = ARGV[i + 2 * j]
+    args[#args + 1] = ARGV[i + 2 * j + 1]
+    if #args >= BATCH * 2 then args = flush('HSET', KEYS[2], args) end
+end
+flush('HSET', KEYS[2], args)
+i = i + 2 * nSnapshots
+
+local function remove(ids)
+    local batch = {}
+    for _, id in ipairs(ids) do
+        batch[#batch + 1] = id
+        if #batch >= BATCH then
+            redis.call('HDEL', KEYS[1], unpack(batch))
+            redis.call('HDEL', KEYS[2], unpack(batch))
+            redis.call('ZREM', KEYS[3], unpack(batch))
+            batch = {}
+        end
+    end
+    if #batch > 0 then
+        redis.call('HDEL', KEYS[1], unpack(batch))
+        redis.call('HDEL', KEYS[2], unpack(batch))
+        redis.call('ZREM', KEYS[3], unpack(batch))
+    end
+end
+
+local ended = {}
+for j = 0, nEnded - 1 do
+    ended[#ended + 1] = ARGV[i + j]
+end
+remove(ended)
+
+-- 종료 처리되지 못하고 오래 남은 방송은 세 자료구조에서 함께 지운다 (기존 키별 1시간 TTL 대체)
+local expired = redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', '(' .. purgeBefore)
+remove(expired)
+
+return #expired
@@ -0,0 +1,7 @@
+-- KEYS[1] = 이 노드가 맡은 방송의 수신함 해시 (channelId → 방송 JSON)
+-- 다른 노드가 넘긴 방송을 모두 읽고 비운다. 읽기와 삭제 사이에 들어온 방송을 잃지 않도록 한 번에 실행한다
+local entries = redis.call('HGETALL', KEYS[1])
+if #entries > 0 then
+    redis.call('DEL', KEYS[1])
+end
+return entries
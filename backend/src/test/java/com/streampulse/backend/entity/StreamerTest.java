@@ -0,0 +1,80 @@
+package com.streampulse.backend.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamerTest {
+
+    @Test
+    void 종료한_세션들의_시간_가중_평균을_다시_평균낸다() {
+        Streamer streamer = Streamer.builder().build();
+
+        streamer.addEndedSession(ended(100 * 600, 600));
+        streamer.addEndedSession(ended(200 * 30, 30));
+        // 한 세션 안에서는 관측 시간으로 가중한다: (1000×60 + 100×540) / 600 = 190
+        streamer.addEndedSession(ended(1000 * 60 + 100 * 540, 600));
+
+        assertEquals(3, streamer.getEndedSessionCount());
+        assertEquals(490, streamer.getEndedSessionAverageSum());
+        assertEquals(163, streamer.getAverageViewerCount());
+    }
+
+    @Test
+    void 다시_이어진_세션을_빼고_다시_종료하면_같은_평균이_된다() {
+        Streamer streamer = Streamer.builder().build();
+        StreamSession first = ended(100 * 60, 60);
+        StreamSession revived = ended(301 * 60, 60);
+        streamer.addEndedSession(first);
+        streamer.addEndedSession(revived);
+        assertEquals(200, streamer.getAverageViewerCount());
+
+        streamer.removeEndedSession(revived);
+        assertEquals(1, streamer.getEndedSessionCount());
+        assertEquals(100, streamer.getAverageViewerCount());
+
+        streamer.addEndedSession(revived);
+        assertEquals(2, streamer.getEndedSessionCount());
+        assertEquals(401, streamer.getEndedSessionAverageSum());
+        assertEquals(200, streamer.getAverageViewerCount());
+    }
+
+    @Test
+    void 집계한_세션이_없으면_빼지_않는다() {
+        Streamer streamer = Streamer.builder().averageViewerCount(50).build();
+
+        streamer.removeEndedSession(ended(100 * 60, 60));
+
+        assertEquals(0, streamer.getEndedSessionCount());
+        assertEquals(0, streamer.getEndedSessionAverageSum());
+        assertEquals(50, streamer.getAverageViewerCount());
+    }
+
+    @Test
+    void 관측이_없는_세션은_평균에_더하지도_빼지도_않는다() {
+        Streamer streamer = Streamer.builder().build();
+        streamer.addEndedSession(ended(300 * 60, 60));
+
+        StreamSession empty = ended(0, 0);
+        assertFalse(empty.hasObservations());
+        assertEquals(0, empty.runningAverageViewerCount());
+
+        streamer.addEndedSession(empty);
+        assertEquals(1, streamer.getEndedSessionCount());
+        assertEquals(300, streamer.getAverageViewerCount());
+
+        streamer.removeEndedSession(empty);
+        assertEquals(1, streamer.getEndedSessionCount());
+        assertEquals(300, streamer.getAverageViewerCount());
+    }
+
+    // StreamSessionService.endSession 처럼 누적값으로 평균을 확정한 세션
+    private static StreamSession ended(long viewerSecondsSum, long observedSeconds) {
+        StreamSession session = StreamSession.builder()
+                .viewerSecondsSum(viewerSecondsSum)
+                .observedSeconds(observedSeconds)
+                .build();
+        session.updateAverageViewerCount(session.runningAverageViewerCount());
+        return session;
+    }
+}
@@ -0,0 +1,67 @@
+package com.streampulse.backend.infra;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.streampulse.backend.dto.ChzzkRootResponseDTO;
+import com.streampulse.backend.dto.LiveResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChzzkLivePageDecoderTest {
+
+    private final ChzzkLivePageDecoder decoder = new ChzzkLivePageDecoder(new ObjectMapper());
+
+    @Test
+    void null_이나_객체가_아닌_원소가_있어도_나머지_방송과_다음_커서를_읽는다() throws IOException {
+        ChzzkRootResponseDTO root = decode("""
+                {"code": 200, "message": null, "content": {"data": [
+                  {"channelId": "a", "concurrentUserCount": 100},
+                  null,
+                  42,
+                  ["x", {"channelId": "nested"}],
+                  {"channelId": "b", "concurrentUserCount": 200}
+                ], "page": {"next": "cursor-2"}}}
+                """);
+
+        List<LiveResponseDTO> data = root.getContent().getData();
+        assertEquals(List.of("a", "b"), data.stream().map(LiveResponseDTO::getChannelId).toList());
+        assertEquals(200, data.get(1).getConcurrentUserCount());
+        assertEquals("cursor-2", root.getContent().getPage().getNext());
+    }
+
+    @Test
+    void 필드_순서와_모르는_필드에_관계없이_필요한_필드만_채운다() throws IOException {
+        ChzzkRootResponseDTO root = decode("""
+                {"content": {"page": {"next": null}, "data": [
+                  {"channelImageUrl": null, "extra": {"channelId": "inner", "tags": ["무시"]},
+                   "tags": ["롤", null, 3, "랭크"], "channelId": "c", "liveTitle": "제목",
+                   "liveCategoryValue": "리그 오브 레전드", "openDate": "2025-01-01 10:00:00",
+                   "concurrentUserCount": 1234, "adult": true, "liveCategory": null}
+                ]}, "code": 200}
+                """);
+
+        LiveResponseDTO dto = root.getContent().getData().get(0);
+        assertEquals(200, root.getCode());
+        assertEquals("c", dto.getChannelId());
+        assertEquals("제목", dto.getLiveTitle());
+        assertEquals(List.of("롤", "랭크"), dto.getTags());
+        assertEquals("리그 오브 레전드", dto.getLiveCategoryValue());
+        assertNull(dto.getLiveCategory());
+        assertEquals(1234, dto.getConcurrentUserCount());
+        assertNull(root.getContent().getPage().getNext());
+    }
+
+    @Test
+    void 끝나지_않은_배열은_오류로_본다() {
+        assertThrows(IOException.class, () -> decode("{\"content\": {\"data\": [{\"channelId\": \"a\"}, "));
+    }
+
+    private ChzzkRootResponseDTO decode(String json) throws IOException {
+        return decoder.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
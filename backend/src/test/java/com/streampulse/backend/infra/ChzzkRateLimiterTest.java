@@ -0,0 +1,76 @@
+package com.streampulse.backend.infra;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChzzkRateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChzzkRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new ChzzkRateLimiter(meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "initialRate", 10.0);
+        ReflectionTestUtils.setField(rateLimiter, "minRate", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "maxRate", 12.0);
+        ReflectionTestUtils.setField(rateLimiter, "increaseStep", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "decreaseFactor", 0.5);
+        ReflectionTestUtils.setField(rateLimiter, "burst", 2.0);
+        rateLimiter.init();
+    }
+
+    @Test
+    void 성공하면_속도가_최대치까지만_가산증가한다() {
+        rateLimiter.onSuccess();
+        assertEquals(11.0, rateLimiter.getRate());
+
+        rateLimiter.onSuccess();
+        rateLimiter.onSuccess();
+        assertEquals(12.0, rateLimiter.getRate());
+    }
+
+    @Test
+    void 호출제한을_받으면_속도가_절반으로_줄고_연속된_429는_한번만_반영된다() {
+        rateLimiter.onThrottle();
+        rateLimiter.onThrottle();
+
+        assertEquals(5.0, rateLimiter.getRate());
+        assertEquals(2.0, meterRegistry.counter("chzzk_rate_limiter_throttled_total").count());
+    }
+
+    @Test
+    void 버스트를_넘는_호출은_충전될때까지_대기한다() {
+        long start = System.nanoTime();
+        assertTrue(rateLimiter.acquire());
+        assertTrue(rateLimiter.acquire());
+        assertTrue(rateLimiter.acquire());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // 10/s 속도에서 세 번째 토큰은 약 100ms 뒤에 생긴다
+        assertTrue(elapsedMs >= 80, "elapsedMs=" + elapsedMs);
+    }
+
+    @Test
+    void 대기중_인터럽트되면_토큰을_돌려주고_인터럽트_상태를_유지한다() {
+        assertTrue(rateLimiter.acquire());
+        assertTrue(rateLimiter.acquire());
+
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(rateLimiter.acquire());
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        // 선점했던 토큰을 돌려받아 빚(-1)이 남지 않는다
+        double tokens = (double) ReflectionTestUtils.getField(rateLimiter, "tokens");
+        assertTrue(tokens > -0.5, "tokens=" + tokens);
+    }
+}
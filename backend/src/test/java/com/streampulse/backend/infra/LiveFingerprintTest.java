@@ -0,0 +1,39 @@
+package com.streampulse.backend.infra;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveFingerprintTest {
+
+    @Test
+    void 태그_순서와_무관하게_같은_지문이_나온다() {
+        long a = LiveFingerprint.of("제목", "게임", List.of("롤", "랭크", "듀오"));
+        long b = LiveFingerprint.of("제목", "게임", List.of("듀오", "롤", "랭크"));
+
+        assertEquals(a, b);
+    }
+
+    @Test
+    void 제목_카테고리_태그가_바뀌면_지문이_달라진다() {
+        long base = LiveFingerprint.of("제목", "게임", List.of("롤"));
+
+        assertNotEquals(base, LiveFingerprint.of("제목!", "게임", List.of("롤")));
+        assertNotEquals(base, LiveFingerprint.of("제목", "토크", List.of("롤")));
+        assertNotEquals(base, LiveFingerprint.of("제목", "게임", List.of("롤", "롤")));
+        assertNotEquals(base, LiveFingerprint.of("제목", "게임", List.of()));
+    }
+
+    @Test
+    void 필드_경계가_달라지면_지문이_달라진다() {
+        assertNotEquals(LiveFingerprint.of("ab", "c", List.of()), LiveFingerprint.of("a", "bc", List.of()));
+        assertNotEquals(LiveFingerprint.of("a", "", List.of("b")), LiveFingerprint.of("a", "b", List.of()));
+    }
+
+    @Test
+    void null_은_빈_값과_같게_취급한다() {
+        assertEquals(LiveFingerprint.of("", "", List.of()), LiveFingerprint.of(null, null, null));
+    }
+}
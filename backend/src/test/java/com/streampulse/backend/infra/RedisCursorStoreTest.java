@@ -0,0 +1,28 @@
+package com.streampulse.backend.infra;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisCursorStoreTest {
+
+    @Test
+    void 해시_태그는_첫_중괄호_안의_비어_있지_않은_부분이다() {
+        assertEquals("deep-scan", RedisCursorStore.hashTag("lease:{deep-scan}"));
+        assertEquals("deep-scan", RedisCursorStore.hashTag("{deep-scan}:cursor_zset:gen:3"));
+        // 태그가 없거나 비어 있으면 키 전체로 슬롯을 정한다
+        assertEquals("cursor_zset:active", RedisCursorStore.hashTag("cursor_zset:active"));
+        assertEquals("{}:cursor_zset", RedisCursorStore.hashTag("{}:cursor_zset"));
+    }
+
+    @Test
+    void 리스_키와_해시_태그가_다른_네임스페이스로는_발행하지_않는다() {
+        RedisCursorStore store = new RedisCursorStore(null);
+        RedisLeaseManager.Fence fence = new RedisLeaseManager.Fence("lease:{deep-scan}", "node|1");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> store.publishGeneration("cursor_zset", Map.of(0, ""), fence));
+    }
+}
@@ -0,0 +1,205 @@
+package com.streampulse.backend.repository;
+
+import com.streampulse.backend.config.SqlStatementCounter;
+import com.streampulse.backend.entity.StreamMetrics;
+import com.streampulse.backend.entity.StreamSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamMetricsBatchWriterTest {
+
+    // 배치로 묶어 보낸 문도 드라이버가 한 문장씩 보내므로 addBatch 를 한 문장으로 센다
+    private static final Set<String> EXECUTIONS = Set.of("execute", "executeUpdate", "executeQuery", "executeLargeUpdate", "addBatch");
+
+    private final AtomicInteger executedStatements = new AtomicInteger();
+    private JdbcTemplate jdbcTemplate;
+    private SqlStatementCounter sqlStatementCounter;
+    private StreamMetricsBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:metrics-writer;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists stream_metrics");
+        jdbcTemplate.execute("create table stream_metrics (viewer_count integer not null, created_at datetime(6) not null, "
+                + "id bigint not null auto_increment, stream_session_id bigint not null, updated_at datetime(6) not null, "
+                + "category varchar(255) not null, title varchar(255) not null, primary key (id))");
+        jdbcTemplate.execute("drop table if exists stream_session");
+        jdbcTemplate.execute("create table stream_session (id bigint not null, peak_viewer_count integer not null, "
+                + "observed_seconds bigint not null, viewer_seconds_sum bigint not null, primary key (id))");
+        jdbcTemplate.update("insert into stream_session (id, peak_viewer_count, observed_seconds, viewer_seconds_sum) "
+                + "values (7, 500, 60, 18000)");
+        sqlStatementCounter = new SqlStatementCounter(new SimpleMeterRegistry());
+        writer = new StreamMetricsBatchWriter(new JdbcTemplate(new CountingDataSource(dataSource)), sqlStatementCounter);
+    }
+
+    @Test
+    void 여러_문장으로_나눠_모든_행을_저장한다() {
+        StreamSession session = StreamSession.builder().id(7L).build();
+        List<StreamMetrics> rows = new ArrayList<>();
+        for (int i = 0; i < StreamMetricsBatchWriter.ROWS_PER_STATEMENT * 2 + 1; i++) {
+            rows.add(StreamMetrics.builder()
+                    .streamSession(session)
+                    .viewerCount(i)
+                    .category("게임")
+                    .title("제목 " + i)
+                    .build());
+        }
+
+        int inserted = writer.insertAll(rows);
+
+        assertEquals(rows.size(), inserted);
+        assertEquals(rows.size(), jdbcTemplate.queryForObject("select count(*) from stream_metrics", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from stream_metrics where created_at is null or stream_session_id <> 7", Integer.class));
+    }
+
+    @Test
+    void 여러_행_INSERT_가_실패하면_한_행씩_다시_저장하고_실패한_행만_뺀다() {
+        StreamSession session = StreamSession.builder().id(7L).build();
+        List<StreamMetrics> rows = List.of(
+                StreamMetrics.builder().streamSession(session).viewerCount(100).category("게임").title("첫 행").build(),
+                StreamMetrics.builder().streamSession(session).viewerCount(200).category("게임").title(null).build(),
+                StreamMetrics.builder().streamSession(session).viewerCount(300).category("게임").title("셋째 행").build());
+
+        int inserted = writer.insertAll(rows);
+
+        assertEquals(2, inserted);
+        assertEquals(List.of(100, 300), jdbcTemplate.queryForList(
+                "select viewer_count from stream_metrics order by viewer_count", Integer.class));
+    }
+
+    @Test
+    void 빈_목록이면_아무것도_실행하지_않는다() {
+        assertEquals(0, writer.insertAll(List.of()));
+    }
+
+    @Test
+    void 세션별_시간_가중_누적값과_최고값을_갱신한다() {
+        List<StreamMetricsBatchWriter.Observation> observations = List.of(
+                new StreamMetricsBatchWriter.Observation(7L, 400, 30),
+                new StreamMetricsBatchWriter.Observation(7L, 800, 120));
+
+        writer.accumulateSessions(observations);
+
+        assertEquals(1, executedStatements.get());
+        // 18000 + 400*30 + 800*120
+        assertEquals(126000L, jdbcTemplate.queryForObject("select viewer_seconds_sum from stream_session where id = 7", Long.class));
+        assertEquals(210L, jdbcTemplate.queryForObject("select observed_seconds from stream_session where id = 7", Long.class));
+        assertEquals(800, jdbcTemplate.queryForObject("select peak_viewer_count from stream_session where id = 7", Integer.class));
+    }
+
+    @Test
+    void 관측한_최고값이_저장된_최고값보다_낮으면_최고값은_그대로_둔다() {
+        jdbcTemplate.update("insert into stream_session (id, peak_viewer_count, observed_seconds, viewer_seconds_sum) "
+                + "values (8, 0, 0, 0)");
+
+        writer.accumulateSessions(List.of(
+                new StreamMetricsBatchWriter.Observation(7L, 300, 30),
+                new StreamMetricsBatchWriter.Observation(8L, 120, 30)));
+
+        assertEquals(500, jdbcTemplate.queryForObject("select peak_viewer_count from stream_session where id = 7", Integer.class));
+        assertEquals(27000L, jdbcTemplate.queryForObject("select viewer_seconds_sum from stream_session where id = 7", Long.class));
+        // 처음 관측한 세션은 그 값이 최고값이 된다
+        assertEquals(120, jdbcTemplate.queryForObject("select peak_viewer_count from stream_session where id = 8", Integer.class));
+        assertEquals(30L, jdbcTemplate.queryForObject("select observed_seconds from stream_session where id = 8", Long.class));
+    }
+
+    @Test
+    void 세션_누적은_세션_수와_관계없이_묶음마다_UPDATE_한_문장만_보낸다() {
+        int sessions = StreamMetricsBatchWriter.ROWS_PER_STATEMENT + 1;
+        List<StreamMetricsBatchWriter.Observation> observations = new ArrayList<>();
+        for (long id = 100; id < 100 + sessions; id++) {
+            jdbcTemplate.update("insert into stream_session (id, peak_viewer_count, observed_seconds, viewer_seconds_sum) "
+                    + "values (?, 10, 30, 300)", id);
+            observations.add(new StreamMetricsBatchWriter.Observation(id, (int) id, 30));
+        }
+
+        long counted = sqlStatementCounter.currentThreadCount();
+        writer.accumulateSessions(observations);
+
+        assertEquals(2, executedStatements.get());
+        assertEquals(2, sqlStatementCounter.currentThreadCount() - counted);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from stream_session where id >= 100 and "
+                + "(observed_seconds <> 60 or peak_viewer_count <> id or viewer_seconds_sum <> 300 + id * 30)", Integer.class));
+        // 관측하지 않은 세션은 그대로 둔다
+        assertEquals(18000L, jdbcTemplate.queryForObject("select viewer_seconds_sum from stream_session where id = 7", Long.class));
+    }
+
+    @Test
+    void 여러_행_INSERT_는_묶음마다_한_문장으로_센다() {
+        StreamSession session = StreamSession.builder().id(7L).build();
+        List<StreamMetrics> rows = new ArrayList<>();
+        for (int i = 0; i < StreamMetricsBatchWriter.ROWS_PER_STATEMENT + 1; i++) {
+            rows.add(StreamMetrics.builder().streamSession(session).viewerCount(i).category("게임").title("제목").build());
+        }
+
+        long counted = sqlStatementCounter.currentThreadCount();
+        writer.writeTick(rows, List.of(new StreamMetricsBatchWriter.Observation(7L, 400, 30)));
+
+        assertEquals(3, executedStatements.get());
+        assertEquals(3, sqlStatementCounter.currentThreadCount() - counted);
+    }
+
+    @Test
+    void 관측_목록이_비면_세션을_건드리지_않는다() {
+        writer.accumulateSessions(List.of());
+
+        assertEquals(18000L, jdbcTemplate.queryForObject("select viewer_seconds_sum from stream_session where id = 7", Long.class));
+        assertEquals(60L, jdbcTemplate.queryForObject("select observed_seconds from stream_session where id = 7", Long.class));
+    }
+
+    /**
+     * 작성기가 실행한 문을 드라이버 호출 기준으로 셉니다.
+     */
+    private class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DriverManagerDataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        return result instanceof Statement statement ? countingStatement(statement, method.getReturnType()) : result;
+                    });
+        }
+
+        private Object countingStatement(Statement statement, Class<?> type) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if (EXECUTIONS.contains(method.getName())) executedStatements.incrementAndGet();
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
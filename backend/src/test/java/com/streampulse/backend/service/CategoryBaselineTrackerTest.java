@@ -0,0 +1,127 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.dto.LiveResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CategoryBaselineTrackerTest {
+
+    private static final long NOW = 10_000;
+
+    private final Map<String, ViewerWindow> windows = new HashMap<>();
+    private CategoryBaselineTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        LiveStateTable liveStateTable = mock(LiveStateTable.class);
+        when(liveStateTable.get(anyString())).thenAnswer(invocation -> {
+            ViewerWindow window = windows.get(invocation.<String>getArgument(0));
+            if (window == null) return Optional.empty();
+            LiveStateTable.LiveState state = mock(LiveStateTable.LiveState.class);
+            when(state.getViewerWindow()).thenReturn(window);
+            return Optional.of(state);
+        });
+
+        tracker = new CategoryBaselineTracker(liveStateTable);
+        ReflectionTestUtils.setField(tracker, "windowTicks", 1);
+        ReflectionTestUtils.setField(tracker, "quantile", 0.95);
+        ReflectionTestUtils.setField(tracker, "minSamples", 30);
+    }
+
+    @Test
+    void 한_번의_순회로_카테고리별_합계와_방송_수를_낸다() {
+        List<LiveResponseDTO> fresh = List.of(live("a", "LoL", 1000), live("b", "LoL", 500), live("c", null, 10));
+
+        tracker.observeTick(fresh, List.of(live("d", "LoL", 300)), NOW);
+
+        CategoryBaselineTracker.CategoryBaseline lol = tracker.get("LoL").orElseThrow();
+        assertEquals(1800, lol.getTotalViewers());
+        assertEquals(3, lol.getLiveCount());
+        assertEquals(600, lol.averageViewers());
+        assertEquals(1, tracker.get(null).orElseThrow().getLiveCount());
+    }
+
+    @Test
+    void 같은_증가폭도_카테고리의_평소_증가율에_따라_판정이_달라진다() {
+        List<LiveResponseDTO> fresh = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            // 큰 카테고리는 틱마다 0~4% 움직이고, 작은 카테고리는 0~78% 출렁인다
+            fresh.add(tick("lol-" + i, "LoL", 1000, 1000 + i));
+            fresh.add(tick("small-" + i, "소규모", 100, 100 + i * 2));
+        }
+        fresh.add(tick("lol-surge", "LoL", 1000, 1600));
+        fresh.add(tick("small-surge", "소규모", 100, 160));
+        // observeTick 은 이전 값만 보도록 이번 값은 틱 처리 후(핸들러) 기록된다
+        tracker.observeTick(fresh, List.of(), NOW);
+        fresh.forEach(dto -> windows.get(dto.getChannelId()).add(dto.getConcurrentUserCount(), NOW));
+
+        assertTrue(tracker.beatsBaseline("LoL", "lol-surge", 1600));
+        assertFalse(tracker.beatsBaseline("소규모", "small-surge", 160));
+    }
+
+    @Test
+    void 증가율은_관측_간격으로_나눠_분당_값으로_비교한다() {
+        List<LiveResponseDTO> fresh = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            // 30초마다 0~4% 움직이는 카테고리 = 분당 0~8%
+            fresh.add(tick("lol-" + i, "LoL", 1000, 1000 + i));
+        }
+        // 10분 만에 관측한 방송의 30% 증가는 분당 3% 로, 30초 만의 30% 증가(분당 60%)와 다르게 본다
+        fresh.add(tick("lol-slow", "LoL", 1000, 1300, NOW - 600));
+        fresh.add(tick("lol-fast", "LoL", 1000, 1300));
+        tracker.observeTick(fresh, List.of(), NOW);
+        fresh.forEach(dto -> windows.get(dto.getChannelId()).add(dto.getConcurrentUserCount(), NOW));
+
+        CategoryBaselineTracker.CategoryBaseline lol = tracker.get("LoL").orElseThrow();
+        assertTrue(lol.getGrowthUpper() > 0.06 && lol.getGrowthUpper() < 0.6, "growthUpper = " + lol.getGrowthUpper());
+        assertFalse(tracker.beatsBaseline("LoL", "lol-slow", 1300));
+        assertTrue(tracker.beatsBaseline("LoL", "lol-fast", 1300));
+    }
+
+    @Test
+    void 표본이_부족하거나_이전_값을_모르면_막지_않는다() {
+        tracker.observeTick(List.of(tick("a", "LoL", 1000, 1000)), List.of(), NOW);
+
+        assertTrue(tracker.beatsBaseline("LoL", "a", 1001));
+        assertTrue(tracker.beatsBaseline("없는카테고리", "unknown", 5000));
+    }
+
+    @Test
+    void 방송이_모두_끝난_카테고리는_지운다() {
+        tracker.observeTick(List.of(live("a", "LoL", 1000)), List.of(), NOW);
+        tracker.observeTick(List.of(), List.of(), NOW + 30);
+
+        assertTrue(tracker.get("LoL").isEmpty());
+    }
+
+    // 이전 틱(30초 전) 값이 구간에 들어 있는 방송의 이번 틱 DTO
+    private LiveResponseDTO tick(String channelId, String category, int previous, int current) {
+        return tick(channelId, category, previous, current, NOW - 30);
+    }
+
+    private LiveResponseDTO tick(String channelId, String category, int previous, int current, long previousAt) {
+        ViewerWindow window = new ViewerWindow(10);
+        window.add(previous, previousAt);
+        windows.put(channelId, window);
+        return live(channelId, category, current);
+    }
+
+    private static LiveResponseDTO live(String channelId, String category, int viewers) {
+        LiveResponseDTO dto = new LiveResponseDTO();
+        dto.setChannelId(channelId);
+        dto.setLiveCategoryValue(category);
+        dto.setConcurrentUserCount(viewers);
+        return dto;
+    }
+}
@@ -0,0 +1,52 @@
+package com.streampulse.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageIndexTest {
+
+    private static Set<String> ids(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "ch" + i)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    @Test
+    void 이전페이지와_80퍼센트이상_겹치면_중복으로_판단한다() {
+        CursorPageIndex index = new CursorPageIndex();
+        index.add(0, "", ids(0, 20));
+        index.add(1, "c1", ids(20, 40));
+
+        assertTrue(index.isDuplicate(2, "c2", ids(24, 44)));   // 16/20 = 0.8
+        assertFalse(index.isDuplicate(2, "c2", ids(25, 45)));  // 15/20 = 0.75
+    }
+
+    @Test
+    void 같은_인덱스나_같은_커서의_페이지는_비교하지_않는다() {
+        CursorPageIndex index = new CursorPageIndex();
+        index.add(0, "", ids(0, 20));
+        index.add(1, "c1", ids(20, 40));
+
+        assertFalse(index.isDuplicate(1, "c1-retry", ids(20, 40)));
+        assertFalse(index.isDuplicate(2, "c1", ids(20, 40)));
+    }
+
+    @Test
+    void 인덱스가_덮어써진_이전_커서도_비교대상에_남는다() {
+        CursorPageIndex index = new CursorPageIndex();
+        index.add(0, "", ids(0, 20));
+        index.add(1, "old", ids(20, 40));
+        // 백트랙 후 같은 인덱스에 다른 커서가 저장됨
+        index.add(1, "new", ids(40, 60));
+
+        assertEquals("new", index.getIndexToCursor().get(1));
+        assertTrue(index.isDuplicate(1, "other", ids(20, 40)));
+        assertEquals(2, index.size());
+        assertEquals(3, index.getCursorToBroadcasterIds().size());
+    }
+}
@@ -0,0 +1,267 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.dto.ChzzkRootResponseDTO;
+import com.streampulse.backend.dto.DeepScanCheckpointDTO;
+import com.streampulse.backend.dto.DeepScanPageDTO;
+import com.streampulse.backend.dto.LiveListResponseDTO;
+import com.streampulse.backend.dto.LiveResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeepScanRunTest {
+
+    private static final long RETRY_WAIT_MS = 10_000;
+    private static final int MAX_PARENT_RETRIES = 3;
+
+    private static ChzzkRootResponseDTO page(int from, int lastViewers, String next) {
+        List<LiveResponseDTO> data = new ArrayList<>();
+        IntStream.range(from, from + 20).forEach(i -> data.add(LiveResponseDTO.builder()
+                .channelId("ch" + i)
+                .concurrentUserCount(i == from + 19 ? lastViewers : 1000)
+                .build()));
+        LiveListResponseDTO.PageInfo pageInfo = new LiveListResponseDTO.PageInfo();
+        pageInfo.setNext(next);
+        return ChzzkRootResponseDTO.builder()
+                .content(LiveListResponseDTO.builder().data(data).page(pageInfo).build())
+                .build();
+    }
+
+    private static long runToEnd(DeepScanRun run, List<Long> delays) {
+        long delay;
+        while ((delay = run.step()) != DeepScanRun.DONE) {
+            delays.add(delay);
+        }
+        return delay;
+    }
+
+    @Test
+    void threshold_아래로_내려가면_탐색을_마친다() {
+        Map<String, ChzzkRootResponseDTO> pages = Map.of(
+                "", page(0, 500, "c1"),
+                "c1", page(20, 300, "c2"),
+                "c2", page(40, 50, "c3"));
+
+        DeepScanRun run = new DeepScanRun(pages::get, 100, 5, RETRY_WAIT_MS, MAX_PARENT_RETRIES);
+        List<Long> delays = new ArrayList<>();
+        runToEnd(run, delays);
+
+        assertTrue(run.isFinished());
+        assertEquals(List.of(0L, 0L), delays);
+        assertEquals(Map.of(0, "", 1, "c1", 2, "c2"), run.getPages().getIndexToCursor());
+    }
+
+    @Test
+    void 실패한_커서는_재우지_않고_지연후_부모를_다시_조회한다() {
+        Deque<String> parentNexts = new ArrayDeque<>(List.of("bad", "bad", "good"));
+        Function<String, ChzzkRootResponseDTO> fetcher = cursor -> switch (cursor) {
+            case "" -> page(0, 500, parentNexts.isEmpty() ? "good" : parentNexts.poll());
+            case "good" -> page(20, 50, "end");
+            default -> null;
+        };
+
+        DeepScanRun run = new DeepScanRun(fetcher, 100, 5, RETRY_WAIT_MS, MAX_PARENT_RETRIES);
+        List<Long> delays = new ArrayList<>();
+        runToEnd(run, delays);
+
+        // "" → bad(실패) → 대기 → 부모 재조회(같은 bad) → 대기 → 부모 재조회(good) → good
+        assertEquals(List.of(0L, RETRY_WAIT_MS, RETRY_WAIT_MS, 0L), delays);
+        assertTrue(run.isFinished());
+        assertEquals(1, run.getBacktracks());
+        assertEquals(1, run.getRetries());
+        assertEquals(Map.of(0, "", 1, "good"), run.getPages().getIndexToCursor());
+    }
+
+    @Test
+    void 루트에서_막히면_정해진_횟수만큼_처음부터_다시_걷고_포기한다() {
+        DeepScanRun run = new DeepScanRun(cursor -> null, 100, 3, RETRY_WAIT_MS, MAX_PARENT_RETRIES);
+        runToEnd(run, new ArrayList<>());
+
+        assertFalse(run.isFinished());
+        assertEquals(DeepScanRun.Phase.ABANDONED, run.getPhase());
+        assertEquals(3, run.getWalk());
+    }
+
+    @Test
+    void 부모가_같은_next_만_돌려주면_재시도_한도_후_탐색을_끝낸다() {
+        // "" 는 항상 실패하는 bad 만 next 로 돌려준다
+        Function<String, ChzzkRootResponseDTO> fetcher = cursor -> cursor.isEmpty() ? page(0, 500, "bad") : null;
+
+        DeepScanRun run = new DeepScanRun(fetcher, 100, 2, RETRY_WAIT_MS, MAX_PARENT_RETRIES);
+        int steps = 0;
+        while (run.step() != DeepScanRun.DONE) {
+            assertTrue(++steps < 100, "탐색이 끝나지 않음");
+        }
+
+        assertEquals(DeepScanRun.Phase.ABANDONED, run.getPhase());
+        assertEquals(2, run.getWalk());
+        // 회차마다 한도만큼만 부모를 다시 조회한다
+        assertEquals(2 * MAX_PARENT_RETRIES, run.getRetries());
+    }
+
+    /**
+     * RedisDeepScanCheckpointStore 처럼 페이지는 덧붙이고, 방문/실패 커서는 delta 를 누적해 보관합니다.
+     */
+    private static class RecordingListener implements DeepScanRun.CheckpointListener {
+        final List<DeepScanPageDTO> storedPages = new ArrayList<>();
+        final List<DeepScanCheckpointDTO> deltas = new ArrayList<>();
+        final Set<String> visited = new LinkedHashSet<>();
+        final Set<String> failed = new LinkedHashSet<>();
+
+        @Override
+        public void onPageStored(DeepScanPageDTO page, DeepScanCheckpointDTO delta) {
+            storedPages.add(page);
+            deltas.add(delta);
+            visited.addAll(delta.getVisited());
+            failed.addAll(delta.getFailed());
+        }
+
+        @Override
+        public void onReset() {
+            storedPages.clear();
+            deltas.clear();
+            visited.clear();
+            failed.clear();
+        }
+
+        DeepScanCheckpointDTO loadState() {
+            return deltas.get(deltas.size() - 1).toBuilder()
+                    .visited(new ArrayList<>(visited))
+                    .failed(new ArrayList<>(failed))
+                    .build();
+        }
+
+        List<String> storedCursors() {
+            return storedPages.stream().map(DeepScanPageDTO::getCursor).toList();
+        }
+    }
+
+    @Test
+    void 체크포인트에는_직전_저장_이후_늘어난_방문_커서만_넘긴다() {
+        Map<String, ChzzkRootResponseDTO> pages = Map.of(
+                "", page(0, 500, "c1"),
+                "c1", page(20, 300, "c2"),
+                "c2", page(40, 50, "c3"));
+        RecordingListener listener = new RecordingListener();
+
+        DeepScanRun run = new DeepScanRun(pages::get, 100, 5, RETRY_WAIT_MS, MAX_PARENT_RETRIES, listener);
+        runToEnd(run, new ArrayList<>());
+
+        assertEquals(List.of(List.of(""), List.of("c1"), List.of("c2")),
+                listener.deltas.stream().map(DeepScanCheckpointDTO::getVisited).toList());
+        assertEquals(List.of("c1", "c2", "c3"),
+                listener.deltas.stream().map(DeepScanCheckpointDTO::getNext).toList());
+    }
+
+    @Test
+    void 체크포인트에서_재개하면_저장된_페이지를_유지하고_마지막_페이지부터_이어간다() {
+        RecordingListener listener = new RecordingListener();
+
+        // 첫 실행: c1 이 이미 방문한 커서를 next 로 돌려줘 루트까지 백트랙한 뒤 포기
+        Map<String, ChzzkRootResponseDTO> firstPages = Map.of(
+                "", page(0, 500, "c1"),
+                "c1", page(20, 300, ""));
+        DeepScanRun first = new DeepScanRun(firstPages::get, 100, 1, RETRY_WAIT_MS, MAX_PARENT_RETRIES, listener);
+        runToEnd(first, new ArrayList<>());
+        assertFalse(first.isFinished());
+        DeepScanCheckpointDTO state = listener.loadState();
+        assertEquals(List.of("", "c1"), state.getChain());
+
+        // 재개: 저장된 next 를 쓸 수 없으므로 c1 을 다시 조회해 새 next 로 이어간다
+        Map<String, ChzzkRootResponseDTO> secondPages = Map.of(
+                "c1", page(20, 300, "c2b"),
+                "c2b", page(40, 50, "end"));
+        DeepScanRun resumed = DeepScanRun.resume(secondPages::get, 100, 1, RETRY_WAIT_MS, MAX_PARENT_RETRIES, listener,
+                state, new ArrayList<>(listener.storedPages));
+        runToEnd(resumed, new ArrayList<>());
+
+        assertTrue(resumed.isFinished());
+        assertEquals(1, resumed.getResumes());
+        assertEquals(Map.of(0, "", 1, "c1", 2, "c2b"), resumed.getPages().getIndexToCursor());
+        // 다시 조회한 c1 은 체크포인트에 두 번 저장되지 않는다
+        assertEquals(List.of("", "c1", "c2b"), listener.storedCursors());
+    }
+
+    @Test
+    void 회차가_실패해_체크포인트부터_다시_걸어도_마지막_페이지를_다시_저장하지_않는다() {
+        // c2 가 빈 페이지라 회차가 끝나면, 체크포인트의 마지막 페이지 c1 을 다시 조회해 새 next 로 이어간다
+        Deque<String> c1Nexts = new ArrayDeque<>(List.of("c2", "c2b"));
+        Function<String, ChzzkRootResponseDTO> fetcher = cursor -> switch (cursor) {
+            case "" -> page(0, 500, "c1");
+            case "c1" -> page(20, 300, c1Nexts.poll());
+            case "c2" -> ChzzkRootResponseDTO.builder()
+                    .content(LiveListResponseDTO.builder().data(List.of()).build())
+                    .build();
+            case "c2b" -> page(40, 50, "end");
+            default -> null;
+        };
+        RecordingListener listener = new RecordingListener();
+
+        DeepScanRun run = new DeepScanRun(fetcher, 100, 2, RETRY_WAIT_MS, MAX_PARENT_RETRIES, listener);
+        runToEnd(run, new ArrayList<>());
+
+        assertTrue(run.isFinished());
+        assertEquals(2, run.getWalk());
+        assertEquals(Map.of(0, "", 1, "c1", 2, "c2b"), run.getPages().getIndexToCursor());
+        assertEquals(List.of("", "c1", "c2b"), listener.storedCursors());
+    }
+
+    @Test
+    void 저장된_next_가_유효하면_마지막_페이지를_다시_조회하지_않고_그_다음_인덱스부터_재개한다() {
+        List<DeepScanPageDTO> storedPages = List.of(
+                DeepScanPageDTO.builder().pageIndex(0).cursor("").channelIds(List.of("ch0")).build(),
+                DeepScanPageDTO.builder().pageIndex(1).cursor("c1").channelIds(List.of("ch20")).build());
+        DeepScanCheckpointDTO state = DeepScanCheckpointDTO.builder()
+                .chain(List.of("", "c1"))
+                .next("c2")
+                .visited(List.of("", "c1"))
+                .failed(List.of())
+                .walk(1)
+                .build();
+
+        List<String> fetched = new ArrayList<>();
+        Map<String, ChzzkRootResponseDTO> pages = Map.of("c2", page(40, 50, "end"));
+        RecordingListener listener = new RecordingListener();
+        DeepScanRun resumed = DeepScanRun.resume(cursor -> {
+            fetched.add(cursor);
+            return pages.get(cursor);
+        }, 100, 1, RETRY_WAIT_MS, MAX_PARENT_RETRIES, listener, state, storedPages);
+        runToEnd(resumed, new ArrayList<>());
+
+        assertTrue(resumed.isFinished());
+        assertEquals(List.of("c2"), fetched);
+        assertEquals(Map.of(0, "", 1, "c1", 2, "c2"), resumed.getPages().getIndexToCursor());
+        assertEquals(List.of("c2"), listener.storedCursors());
+        assertEquals(List.of("c2"), listener.deltas.get(0).getVisited());
+    }
+
+    @Test
+    void 앞쪽_페이지를_유지하고_마지막_유지페이지의_새_next_부터_다시_탐색한다() {
+        List<String> fetched = new ArrayList<>();
+        Map<String, ChzzkRootResponseDTO> pages = Map.of(
+                "c1", page(20, 300, "fresh2"),
+                "fresh2", page(40, 200, "fresh3"),
+                "fresh3", page(60, 50, "end"));
+        Function<String, ChzzkRootResponseDTO> fetcher = cursor -> {
+            fetched.add(cursor);
+            return pages.get(cursor);
+        };
+
+        List<DeepScanPageDTO> prefix = List.of(
+                DeepScanPageDTO.builder().pageIndex(0).cursor("").channelIds(List.of("ch0", "ch1")).build(),
+                DeepScanPageDTO.builder().pageIndex(1).cursor("c1").channelIds(List.of("ch20", "ch21")).build());
+
+        DeepScanRun run = DeepScanRun.fromPrefix(fetcher, 100, 2, RETRY_WAIT_MS, MAX_PARENT_RETRIES, prefix);
+        runToEnd(run, new ArrayList<>());
+
+        assertTrue(run.isFinished());
+        assertEquals(0, run.getResumes());
+        // 첫 페이지는 다시 조회하지 않는다
+        assertEquals(List.of("c1", "fresh2", "fresh3"), fetched);
+        assertEquals(Map.of(0, "", 1, "c1", 2, "fresh2", 3, "fresh3"), run.getPages().getIndexToCursor());
+    }
+}
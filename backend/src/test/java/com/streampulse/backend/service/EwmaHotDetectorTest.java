@@ -0,0 +1,93 @@
+package com.streampulse.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EwmaHotDetectorTest {
+
+    private EwmaHotDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = newDetector();
+    }
+
+    @Test
+    void 중간_규모_방송의_급상승을_한_번_잡는다() {
+        feed("mid", 400, 410, 395, 405, 400, 398, 402, 407, 396, 401, 403, 399);
+
+        assertTrue(detector.observe("mid", 700, 2000, 400));
+        // 상승이 이어지는 동안은 다시 내지 않는다
+        assertFalse(detector.observe("mid", 760, 2000, 430));
+    }
+
+    @Test
+    void 큰_방송의_평소_흔들림에는_반응하지_않는다() {
+        feed("big", 50000, 51000, 49500, 50500, 50200, 49800, 50100, 50900, 49700, 50300, 50000, 50400);
+
+        assertFalse(detector.observe("big", 51500, 10000, 400));
+    }
+
+    @Test
+    void 표본이_쌓이기_전에는_판정하지_않는다() {
+        feed("new", 400, 400, 400);
+
+        assertFalse(detector.observe("new", 2000, 100, 100));
+    }
+
+    @Test
+    void 체크포인트로_상태를_되살린다() {
+        feed("mid", 400, 410, 395, 405, 400, 398, 402, 407, 396, 401, 403, 399);
+        Map<String, String> checkpoint = detector.checkpoint();
+
+        EwmaHotDetector restored = newDetector();
+        restored.restore(checkpoint);
+        restored.restore(Map.of("broken", "x:y"));
+
+        assertTrue(restored.observe("mid", 700, 2000, 400));
+        assertEquals(Set.of("mid"), restored.checkpoint().keySet());
+    }
+
+    @Test
+    void 오래_관측되지_않은_방송의_상태를_지운다() {
+        detector.observe("old", 400, 0, 100);
+        detector.observe("recent", 400, 0, 500);
+
+        assertEquals(Set.of("old"), detector.evictBefore(300));
+        assertEquals(Set.of("recent"), detector.checkpoint().keySet());
+    }
+
+    @Test
+    void 재현용_인스턴스는_설정만_이어받고_상태를_공유하지_않는다() {
+        feed("mid", 400, 410, 395, 405, 400, 398, 402, 407, 396, 401, 403, 399);
+        HotDetector replay = detector.forReplay();
+
+        // 재현 인스턴스는 표본이 쌓이기 전이라 판정하지 않는다
+        assertFalse(replay.observe("mid", 700, 2000, 400));
+        assertTrue(replay.checkpoint().containsKey("mid"));
+        // 실시간 인스턴스의 상태는 그대로 남아 급상승을 잡는다
+        assertTrue(detector.observe("mid", 700, 2000, 400));
+    }
+
+    private void feed(String channelId, int... viewers) {
+        for (int i = 0; i < viewers.length; i++) {
+            assertFalse(detector.observe(channelId, viewers[i], 0, i * 30L));
+        }
+    }
+
+    private static EwmaHotDetector newDetector() {
+        EwmaHotDetector detector = new EwmaHotDetector();
+        ReflectionTestUtils.setField(detector, "alpha", 0.1);
+        ReflectionTestUtils.setField(detector, "zThreshold", 3.0);
+        ReflectionTestUtils.setField(detector, "warmupSamples", 10);
+        ReflectionTestUtils.setField(detector, "minViewers", 300);
+        ReflectionTestUtils.setField(detector, "minRelativeStd", 0.02);
+        return detector;
+    }
+}
@@ -0,0 +1,20 @@
+package com.streampulse.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedThresholdHotDetectorTest {
+
+    @Test
+    void 최소_시청자_수와_평균의_배수를_모두_넘어야_HOT_이다() {
+        FixedThresholdHotDetector detector = new FixedThresholdHotDetector();
+        ReflectionTestUtils.setField(detector, "minViewers", 1000);
+        ReflectionTestUtils.setField(detector, "averageRatio", 1.5);
+
+        assertTrue(detector.observe("ch", 1200, 500, 0));   // >= 1000, > 750
+        assertFalse(detector.observe("ch", 300, 200, 0));   // 1000 미만
+        assertFalse(detector.observe("ch", 1200, 1000, 0)); // 평균의 1.5배 이하
+    }
+}
@@ -0,0 +1,61 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.infra.RedisHotCooldownStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HotCooldownEngineTest {
+
+    private RedisHotCooldownStore store;
+    private LiveStateTable liveStateTable;
+    private SimpleMeterRegistry meterRegistry;
+    private HotCooldownEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(RedisHotCooldownStore.class);
+        liveStateTable = mock(LiveStateTable.class);
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new HotCooldownEngine(store, liveStateTable, meterRegistry);
+        ReflectionTestUtils.setField(engine, "sessionCooldownMs", 86_400_000L);
+        ReflectionTestUtils.setField(engine, "streamerCooldownMs", 3_600_000L);
+        ReflectionTestUtils.setField(engine, "categoryCooldownMs", 0L);
+        ReflectionTestUtils.setField(engine, "rearmDropRatio", 0.3);
+        engine.init();
+    }
+
+    @Test
+    void 쿨다운이_없으면_선점하고_재무장_기준을_기록한다() {
+        LiveStateTable.LiveState state = mock(LiveStateTable.LiveState.class);
+        when(state.getViewerLowSinceHot()).thenReturn(700);
+        when(liveStateTable.get("ch")).thenReturn(Optional.of(state));
+        when(store.acquire(eq(1L), eq("ch"), eq("게임"), any(), eq(1500), eq(700), eq(0.3))).thenReturn(0);
+
+        assertTrue(engine.tryEmit(1L, "ch", "게임", 1500));
+
+        verify(store).acquire(eq(1L), eq("ch"), eq("게임"),
+                argThat(ttl -> ttl[0] == 86_400_000L && ttl[1] == 3_600_000L && ttl[2] == 0L), eq(1500), eq(700), eq(0.3));
+        verify(liveStateTable).markHotEmitted("ch", 1500);
+        assertEquals(1.0, meterRegistry.get("hot_events_total").tag("result", "emitted").counter().count());
+    }
+
+    @Test
+    void 쿨다운_중이면_억제하고_범위별로_센다() {
+        when(liveStateTable.get("ch")).thenReturn(Optional.empty());
+        when(store.acquire(any(), anyString(), any(), any(), anyInt(), eq(-1), anyDouble())).thenReturn(2);
+
+        assertFalse(engine.tryEmit(1L, "ch", "게임", 1500));
+
+        verify(liveStateTable, never()).markHotEmitted(anyString(), anyInt());
+        assertEquals(1.0, meterRegistry.get("hot_events_total").tag("scope", "streamer").counter().count());
+        assertEquals(0.0, meterRegistry.get("hot_events_total").tag("result", "emitted").counter().count());
+    }
+}
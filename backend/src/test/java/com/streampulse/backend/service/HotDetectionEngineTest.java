@@ -0,0 +1,111 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.infra.RedisHotDetectorStore;
+import com.streampulse.backend.infra.RedisLeaseManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class HotDetectionEngineTest {
+
+    private final RedisHotDetectorStore store = mock(RedisHotDetectorStore.class);
+    private final RedisLeaseManager leaseManager = mock(RedisLeaseManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void 켜진_탐지기_모두에_관측을_넣고_하나라도_HOT_이면_HOT_이다() {
+        HotDetector first = detector("first");
+        HotDetector second = detector("second");
+        HotDetector off = detector("off");
+        when(first.observe("ch", 1200, 500, 100)).thenReturn(true);
+
+        HotDetectionEngine engine = engine("first, second", first, second, off);
+
+        assertTrue(engine.isHot("ch", 1200, 500, 100));
+        verify(second).observe("ch", 1200, 500, 100);
+        verify(off, never()).observe(anyString(), anyInt(), anyInt(), anyLong());
+        assertEquals(1.0, meterRegistry.get("hot_detector_fired_total").tag("detector", "first").counter().count());
+    }
+
+    @Test
+    void 알_수_없는_탐지기_이름이면_기동에_실패한다() {
+        assertThrows(IllegalArgumentException.class, () -> engine("missing", detector("first")));
+    }
+
+    @Test
+    void 기동_시_상태를_되살리고_체크포인트에서_정리한_방송은_Redis_에서도_지운다() {
+        HotDetector stateful = detector("ewma");
+        when(store.load("ewma")).thenReturn(Map.of("ch", "state"));
+        when(stateful.evictBefore(anyLong())).thenReturn(Set.of("gone"));
+        when(stateful.checkpoint()).thenReturn(Map.of("ch", "state2"));
+
+        HotDetectionEngine engine = engine("ewma", stateful);
+        engine.run(null);
+        engine.isHot("ch", 100, 50, 100);
+        engine.checkpoint();
+
+        verify(stateful).restore(Map.of("ch", "state"));
+        verify(store).save("ewma", Map.of("ch", "state2"), Set.of("gone"));
+    }
+
+    @Test
+    void 체크포인트는_이_노드가_관측한_방송만_쓰고_종료_판정을_맡은_방송만_지운다() {
+        HotDetector stateful = detector("ewma");
+        // 2 노드 중 두 번째 몫: gone-a, gone-c 는 이 노드가, gone-b 는 다른 노드가 종료 판정을 맡는다
+        ScanPartition partition = ScanPartition.of("node-b", List.of("node-a", "node-b"));
+        when(stateful.evictBefore(anyLong())).thenReturn(Set.of("gone-a", "gone-b", "gone-c"));
+        when(stateful.checkpoint()).thenReturn(Map.of("mine", "s1", "handed-over", "s2"));
+
+        HotDetectionEngine engine = engine("ewma", stateful);
+        engine.bind(partition, null);
+        engine.isHot("mine", 100, 50, 100);
+        engine.checkpoint();
+
+        verify(store).save("ewma", Map.of("mine", "s1"), Set.of("gone-a", "gone-c"));
+
+        // 다음 체크포인트까지 다시 관측하지 않은 방송은 쓰지 않는다
+        when(stateful.evictBefore(anyLong())).thenReturn(Set.of());
+        engine.checkpoint();
+        verify(store).save("ewma", Map.of(), Set.of());
+    }
+
+    @Test
+    void 리스를_잃었으면_메모리만_정리하고_Redis_에는_쓰지_않는다() {
+        HotDetector stateful = detector("ewma");
+        RedisLeaseManager.Lease lease = new RedisLeaseManager.Lease("fast-scan", 3);
+        when(leaseManager.isHeld(lease)).thenReturn(false);
+
+        HotDetectionEngine engine = engine("ewma", stateful);
+        engine.bind(ScanPartition.ALL, lease);
+        engine.isHot("ch", 100, 50, 100);
+        engine.checkpoint();
+
+        verify(stateful).evictBefore(anyLong());
+        verify(store, never()).save(anyString(), anyMap(), anyCollection());
+    }
+
+    private HotDetectionEngine engine(String names, HotDetector... detectors) {
+        HotDetectionEngine engine = new HotDetectionEngine(List.of(detectors), store,
+                mock(ThreadPoolTaskScheduler.class), meterRegistry, leaseManager);
+        ReflectionTestUtils.setField(engine, "detectorNames", names);
+        ReflectionTestUtils.setField(engine, "checkpointIntervalMs", 60000L);
+        ReflectionTestUtils.setField(engine, "retentionSeconds", 3600L);
+        engine.init();
+        return engine;
+    }
+
+    private static HotDetector detector(String name) {
+        HotDetector detector = mock(HotDetector.class);
+        when(detector.name()).thenReturn(name);
+        return detector;
+    }
+}
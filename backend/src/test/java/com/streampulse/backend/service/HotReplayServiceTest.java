@@ -0,0 +1,169 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.dto.HotReplayReportDTO;
+import com.streampulse.backend.dto.HotReplayRequestDTO;
+import com.streampulse.backend.repository.HotReplayCandidateWriter;
+import com.streampulse.backend.repository.StreamMetricsHistoryReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class HotReplayServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 20, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private LiveStateTable liveStateTable;
+    private HotReplayService service;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:hot-replay;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists streamer");
+        jdbcTemplate.execute("create table streamer (id bigint not null, channel_id varchar(255) not null, "
+                + "average_viewer_count integer not null, primary key (id))");
+        jdbcTemplate.execute("drop table if exists stream_session");
+        jdbcTemplate.execute("create table stream_session (id bigint not null, streamer_id bigint not null, "
+                + "started_at datetime(6) not null, ended_at datetime(6), primary key (id))");
+        jdbcTemplate.execute("drop table if exists stream_metrics");
+        jdbcTemplate.execute("create table stream_metrics (id bigint not null auto_increment, stream_session_id bigint not null, "
+                + "viewer_count integer not null, created_at datetime(6) not null, primary key (id))");
+        jdbcTemplate.execute("drop table if exists hot_replay_candidate");
+        jdbcTemplate.execute("create table hot_replay_candidate (viewer_count integer not null, created_at datetime(6) not null, "
+                + "id bigint not null auto_increment, observed_at datetime(6) not null, stream_metrics_id bigint not null, "
+                + "stream_session_id bigint not null, updated_at datetime(6) not null, run_id varchar(36) not null, "
+                + "detector varchar(255) not null, primary key (id))");
+
+        jdbcTemplate.update("insert into streamer values (1, 'rising', 800), (2, 'flat', 1500), (3, 'old', 100)");
+        jdbcTemplate.update("insert into stream_session values (10, 1, ?, null), (20, 2, ?, ?), (30, 3, ?, ?)",
+                ts(BASE.minusHours(1)), ts(BASE.minusHours(1)), ts(BASE.plusHours(1)),
+                ts(BASE.minusDays(2)), ts(BASE.minusDays(1)));
+        for (int t = 0; t < 16; t++) {
+            // 가속하며 오르는 방송과 평탄한 방송을 분 단위로 번갈아 넣는다
+            insertMetric(10, 1000 + 10 * t * t, BASE.plusMinutes(t));
+            insertMetric(20, 1500, BASE.plusMinutes(t));
+        }
+        // 구간 밖의 행은 읽지 않는다
+        insertMetric(10, 90000, BASE.minusMinutes(5));
+        insertMetric(30, 90000, BASE.minusDays(2));
+
+        liveStateTable = mock(LiveStateTable.class);
+        SlopeHotDetector slope = new SlopeHotDetector(liveStateTable);
+        ReflectionTestUtils.setField(slope, "minViewers", 1000);
+        ReflectionTestUtils.setField(slope, "minSamples", 4);
+        ReflectionTestUtils.setField(slope, "slopeRatio", 0.05);
+        ReflectionTestUtils.setField(slope, "windowSize", 10);
+
+        EwmaHotDetector ewma = new EwmaHotDetector();
+        ReflectionTestUtils.setField(ewma, "alpha", 0.1);
+        ReflectionTestUtils.setField(ewma, "zThreshold", 3.0);
+        ReflectionTestUtils.setField(ewma, "warmupSamples", 10);
+        ReflectionTestUtils.setField(ewma, "minViewers", 300);
+        ReflectionTestUtils.setField(ewma, "minRelativeStd", 0.02);
+
+        service = service(List.of(slope, ewma), null);
+    }
+
+    @Test
+    void 구간_안의_지표를_재현해_후보를_섀도_테이블에_쓴다() {
+        HotReplayReportDTO report = service.replay(request(true));
+
+        assertEquals("DONE", report.getStatus());
+        assertEquals(2, report.getSessions());
+        assertEquals(32, report.getRows());
+        assertEquals(1, report.getCandidates());
+        assertTrue(report.getSamples().isEmpty());
+
+        // 상승이 시작된 10분째(1000 + 10*10*10) 한 번만 HOT 이다
+        assertEquals(2000, jdbcTemplate.queryForObject(
+                "select viewer_count from hot_replay_candidate where run_id = ? and stream_session_id = 10 and detector = 'slope'",
+                Integer.class, report.getRunId()));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from hot_replay_candidate", Integer.class));
+        verifyNoInteractions(liveStateTable);
+    }
+
+    @Test
+    void 섀도_테이블을_쓰지_않으면_보고서에_표본을_담는다() {
+        HotReplayReportDTO report = service.replay(request(false));
+
+        assertEquals(1, report.getCandidates());
+        assertEquals(1, report.getSamples().size());
+        assertEquals("rising", report.getSamples().get(0).getChannelId());
+        assertEquals(BASE.plusMinutes(10), report.getSamples().get(0).getObservedAt());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from hot_replay_candidate", Integer.class));
+    }
+
+    @Test
+    void 관측_간격에_기대는_탐지기는_보고서에_재현의_한계를_밝힌다() {
+        HotReplayRequestDTO ewma = request(false);
+        ewma.setDetector("ewma");
+
+        assertNotNull(service.replay(ewma).getCaveat());
+        assertNull(service.replay(request(false)).getCaveat());
+    }
+
+    @Test
+    void 실행_중인_재현이_있으면_그_실행_id_로_거절한다() {
+        // 작업을 받기만 하고 실행하지 않아 첫 재현이 계속 실행 중으로 남는다
+        HotReplayService pending = service(List.of(new SlopeHotDetector(liveStateTable)), mock(ThreadPoolTaskExecutor.class));
+        HotReplayReportDTO first = pending.start(request(true));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> pending.start(request(true)));
+        assertTrue(e.getMessage().contains(first.getRunId()));
+        assertEquals("RUNNING", pending.get(first.getRunId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void 알_수_없는_탐지기나_잘못된_구간은_거절한다() {
+        HotReplayRequestDTO unknown = request(true);
+        unknown.setDetector("none");
+        assertThrows(IllegalArgumentException.class, () -> service.start(unknown));
+
+        HotReplayRequestDTO reversed = request(true);
+        reversed.setFrom(BASE.plusHours(1));
+        assertThrows(IllegalArgumentException.class, () -> service.start(reversed));
+    }
+
+    private HotReplayService service(List<HotDetector> detectors, ThreadPoolTaskExecutor executor) {
+        HotReplayService replayService = new HotReplayService(detectors, new StreamMetricsHistoryReader(jdbcTemplate),
+                new HotReplayCandidateWriter(jdbcTemplate), executor);
+        ReflectionTestUtils.setField(replayService, "parallelism", 2);
+        // 세션 페이지와 지표 청크가 여러 번 넘어가도록 작게 둔다
+        ReflectionTestUtils.setField(replayService, "sessionPageSize", 1);
+        ReflectionTestUtils.setField(replayService, "chunkSize", 4);
+        ReflectionTestUtils.setField(replayService, "leafSessions", 1);
+        ReflectionTestUtils.setField(replayService, "sampleLimit", 100);
+        return replayService;
+    }
+
+    private HotReplayRequestDTO request(boolean shadow) {
+        return HotReplayRequestDTO.builder()
+                .detector("slope")
+                .from(BASE)
+                .to(BASE.plusHours(1))
+                .shadow(shadow)
+                .build();
+    }
+
+    private void insertMetric(long sessionId, int viewerCount, LocalDateTime createdAt) {
+        jdbcTemplate.update("insert into stream_metrics (stream_session_id, viewer_count, created_at) values (?, ?, ?)",
+                sessionId, viewerCount, ts(createdAt));
+    }
+
+    private static Timestamp ts(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+}
@@ -0,0 +1,93 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.dto.LiveResponseDTO;
+import com.streampulse.backend.entity.StreamSession;
+import com.streampulse.backend.entity.Streamer;
+import com.streampulse.backend.enums.EventType;
+import com.streampulse.backend.infra.RedisLiveStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveHandlerServiceTest {
+
+    @Mock private NotificationService notificationService;
+    @Mock private SubscriptionService subscriptionService;
+    @Mock private StreamerService streamerService;
+    @Mock private StreamMetricsService streamMetricsService;
+    @Mock private StreamSessionService streamSessionService;
+    @Mock private RedisLiveStore redisLiveStore;
+    @Mock private LiveStateTable liveStateTable;
+
+    @InjectMocks
+    private LiveHandlerService liveHandlerService;
+
+    @Test
+    void 열린_세션이_없는_종료_후보는_DB와_알림을_건드리지_않고_상태만_정리한다() {
+        Streamer streamer = mock(Streamer.class);
+        when(streamer.getId()).thenReturn(1L);
+        when(streamerService.findByChannelIds(Set.of("ch1", "unknown"))).thenReturn(Map.of("ch1", streamer));
+        when(streamSessionService.getUnendedSessionsByStreamerIds(List.of(1L))).thenReturn(Map.of());
+        when(subscriptionService.findChannelsWithSubscribers(eq(EventType.END), anySet())).thenReturn(Set.of("ch1"));
+
+        RedisLiveStore.TickChanges changes = new RedisLiveStore.TickChanges();
+        liveHandlerService.handleEnd(Set.of("ch1", "unknown"), changes);
+
+        verify(streamSessionService, never()).endSession(any(), any());
+        verify(streamerService, never()).updateLiveStatus(any(), anyBoolean());
+        verify(notificationService, never()).requestStreamEndNotification(any(), any());
+        assertEquals(Set.of("ch1", "unknown"), changes.getEnded());
+    }
+
+    @Test
+    void 열린_세션이_있는_종료_후보만_종료하고_알림을_보낸다() {
+        Streamer streamer = mock(Streamer.class);
+        when(streamer.getId()).thenReturn(1L);
+        when(streamer.getAverageViewerCount()).thenReturn(10);
+        StreamSession session = mock(StreamSession.class);
+
+        when(streamerService.findByChannelIds(Set.of("ch1"))).thenReturn(Map.of("ch1", streamer));
+        when(streamSessionService.getUnendedSessionsByStreamerIds(List.of(1L))).thenReturn(Map.of(1L, List.of(session)));
+        when(subscriptionService.findChannelsWithSubscribers(eq(EventType.END), anySet())).thenReturn(Set.of("ch1"));
+
+        RedisLiveStore.TickChanges changes = new RedisLiveStore.TickChanges();
+        liveHandlerService.handleEnd(Set.of("ch1"), changes);
+
+        verify(streamSessionService).endSession(streamer, session);
+        verify(streamerService).updateLiveStatus(streamer, false);
+        verify(notificationService).requestStreamEndNotification(streamer, session);
+        assertEquals(Set.of("ch1"), changes.getEnded());
+    }
+
+    @Test
+    void 방송자_일괄_생성이_실패하면_방송별로_다시_만들고_실패한_방송만_건너뛴다() {
+        LiveResponseDTO good = LiveResponseDTO.builder().channelId("good").openDate("2026-01-01 00:00:00").build();
+        LiveResponseDTO bad = LiveResponseDTO.builder().channelId("bad").openDate("2026-01-01 00:00:00").build();
+        doThrow(new RuntimeException("duplicate")).when(streamerService)
+                .createMissingStreamers(argThat(dtos -> dtos.size() == 2));
+        doThrow(new RuntimeException("duplicate")).when(streamerService).createMissingStreamers(List.of(bad));
+
+        Streamer streamer = mock(Streamer.class);
+        when(streamer.getId()).thenReturn(1L);
+        when(streamerService.findByChannelIds(Set.of("good", "bad"))).thenReturn(new HashMap<>(Map.of("good", streamer)));
+        StreamSession existing = mock(StreamSession.class);
+        when(existing.getId()).thenReturn(5L);
+        when(streamSessionService.findByStreamerIdAndStartedAt(anyMap())).thenReturn(Map.of(1L, List.of(existing)));
+
+        liveHandlerService.handleStart(new LinkedHashSet<>(List.of("good", "bad")),
+                Map.of("good", good, "bad", bad), new RedisLiveStore.TickChanges());
+
+        verify(streamerService).createMissingStreamers(List.of(good));
+        verify(liveStateTable).recordSession("good", 5L);
+        verify(liveStateTable, never()).recordSession(eq("bad"), notNull());
+    }
+}
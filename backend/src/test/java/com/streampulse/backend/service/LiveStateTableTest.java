@@ -0,0 +1,224 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.infra.LiveFingerprint;
+import com.streampulse.backend.infra.RedisLeaseManager;
+import com.streampulse.backend.infra.RedisLiveStore;
+import com.streampulse.backend.repository.StreamMetricsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LiveStateTableTest {
+
+    private RedisLiveStore redisLiveStore;
+    private StreamMetricsRepository streamMetricsRepository;
+    private LiveStateTable table;
+
+    @BeforeEach
+    void setUp() {
+        redisLiveStore = mock(RedisLiveStore.class);
+        streamMetricsRepository = mock(StreamMetricsRepository.class);
+        table = new LiveStateTable(redisLiveStore, mock(ThreadPoolTaskScheduler.class), new SimpleMeterRegistry(), streamMetricsRepository);
+        ReflectionTestUtils.setField(table, "retentionSeconds", 3600L);
+        ReflectionTestUtils.setField(table, "windowSize", 5);
+        ReflectionTestUtils.setField(table, "rehydrateSeconds", 600L);
+    }
+
+    @Test
+    void 적용한_변경은_Redis_를_읽지_않고_메모리에서_조회된다() {
+        RedisLiveStore.TickChanges changes = new RedisLiveStore.TickChanges();
+        changes.seen(Set.of("a", "b"));
+        changes.started("a");
+        changes.fingerprint("a", 42L);
+        table.apply(changes, 1_000);
+
+        RedisLiveStore.TickChanges next = new RedisLiveStore.TickChanges();
+        next.seen(Set.of("a"));
+        table.apply(next, 1_700);
+
+        assertEquals(42L, table.getFingerprint("a"));
+        assertEquals(Set.of("b"), table.findLastSeenBefore(1_100));
+        verifyNoInteractions(redisLiveStore);
+    }
+
+    @Test
+    void 종료된_방송은_메모리에서_지워지고_flush_때_한번에_기록된다() {
+        RedisLiveStore.TickChanges changes = new RedisLiveStore.TickChanges();
+        changes.seen(Set.of("a"));
+        table.apply(changes, 1_000);
+
+        RedisLiveStore.TickChanges end = new RedisLiveStore.TickChanges();
+        end.ended("a");
+        table.apply(end, 1_030);
+
+        assertTrue(table.get("a").isEmpty());
+
+        table.flush();
+
+        ArgumentCaptor<RedisLiveStore.TickChanges> captor = ArgumentCaptor.forClass(RedisLiveStore.TickChanges.class);
+        // lastSeen 은 flush 시각이 아니라 마지막으로 반영한 틱 시각으로 남긴다
+        verify(redisLiveStore).commitTick(captor.capture(), eq(1_030L), anyLong());
+        assertTrue(captor.getValue().getSeen().isEmpty());
+        assertEquals(Set.of("a"), captor.getValue().getEnded());
+    }
+
+    @Test
+    void flush_가_실패하면_이후_변경과_합쳐_다시_기록한다() {
+        when(redisLiveStore.commitTick(any(), anyLong(), anyLong()))
+                .thenThrow(new RuntimeException("down"))
+                .thenReturn(0L);
+
+        RedisLiveStore.TickChanges first = new RedisLiveStore.TickChanges();
+        first.seen(List.of("a"));
+        table.apply(first, 1_000);
+        table.flush();
+
+        RedisLiveStore.TickChanges second = new RedisLiveStore.TickChanges();
+        second.seen(List.of("b"));
+        table.apply(second, 1_030);
+        table.flush();
+
+        ArgumentCaptor<RedisLiveStore.TickChanges> captor = ArgumentCaptor.forClass(RedisLiveStore.TickChanges.class);
+        verify(redisLiveStore, times(2)).commitTick(captor.capture(), anyLong(), anyLong());
+        assertEquals(Set.of("a", "b"), captor.getAllValues().get(1).getSeen());
+    }
+
+    @Test
+    void 재시작하면_복구된_방송의_시청자_수_구간을_최근_지표로_채운다() {
+        when(redisLiveStore.loadAll()).thenReturn(List.of(new RedisLiveStore.StoredLiveState("a", 900L, 1L, 1_000L)));
+        LocalDateTime now = LocalDateTime.now();
+        when(streamMetricsRepository.findRecentOpenSessionViewerCounts(any())).thenReturn(List.of(
+                point("a", 100, now.minusSeconds(60)),
+                point("b", 999, now.minusSeconds(60)),
+                point("a", 160, now.minusSeconds(30))));
+
+        table.ensureLoaded();
+
+        ViewerWindow window = table.get("a").orElseThrow().getViewerWindow();
+        assertEquals(2, window.size());
+        assertEquals(160, window.latest());
+        assertEquals(120.0, window.slope(), 1e-9);
+        // 복구되지 않은 방송은 종료 후보가 되지 않도록 만들지 않는다
+        assertTrue(table.get("b").isEmpty());
+    }
+
+    @Test
+    void 다시_읽을_때_마지막으로_저장한_지표를_데드밴드_기준으로_채운다() {
+        when(redisLiveStore.loadAll()).thenReturn(List.of(new RedisLiveStore.StoredLiveState("a", 900L, 1L, 1_000L)));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lastWritten = now.minusSeconds(30);
+        when(streamMetricsRepository.findRecentOpenSessionViewerCounts(any())).thenReturn(List.of(
+                point("a", 100, "이전 제목", now.minusSeconds(60)),
+                point("a", 160, "새 제목", lastWritten)));
+
+        table.ensureLoaded();
+
+        LiveStateTable.LiveState state = table.get("a").orElseThrow();
+        assertEquals(160, state.getLastWrittenViewerCount());
+        assertEquals(LiveFingerprint.of("새 제목", "게임", null), state.getLastWrittenTopic());
+        assertEquals(lastWritten.atZone(ZoneId.systemDefault()).toEpochSecond(), state.getLastWrittenAt());
+    }
+
+    @Test
+    void HOT_이후_최저_시청자_수를_따라간다() {
+        table.recordViewerCount("a", 1000, 0);
+        assertEquals(-1, table.get("a").orElseThrow().getViewerLowSinceHot());
+
+        table.markHotEmitted("a", 1500);
+        table.recordViewerCount("a", 1200, 30);
+        table.recordViewerCount("a", 900, 60);
+        table.recordViewerCount("a", 1400, 90);
+
+        assertEquals(900, table.get("a").orElseThrow().getViewerLowSinceHot());
+    }
+
+    @Test
+    void 스캔_소유가_바뀌면_남은_변경을_내보내고_Redis_에서_다시_읽는다() {
+        RedisLeaseManager.Fence oldFence = new RedisLeaseManager.Fence("lease:fast-scan", "node|1");
+        RedisLeaseManager.Fence newFence = new RedisLeaseManager.Fence("lease:fast-scan", "node|3");
+        when(redisLiveStore.loadAll())
+                .thenReturn(List.of())
+                .thenReturn(List.of(new RedisLiveStore.StoredLiveState("other", 900L, 7L, 1_000L)));
+
+        table.bind("lease-1", oldFence);
+        RedisLiveStore.TickChanges changes = new RedisLiveStore.TickChanges();
+        changes.seen(Set.of("stale"));
+        table.apply(changes, 1_000);
+        table.recordSession("stale", 10L);
+
+        // 같은 소유면 다시 읽지 않는다
+        table.bind("lease-1", oldFence);
+        verify(redisLiveStore, times(1)).loadAll();
+
+        table.bind("lease-3", newFence);
+
+        verify(redisLiveStore).commitTick(argThat(batch -> batch.getSeen().equals(Set.of("stale"))),
+                anyLong(), anyLong(), eq(oldFence));
+        verify(redisLiveStore, times(2)).loadAll();
+        assertTrue(table.get("stale").isEmpty());
+        assertEquals(7L, table.getFingerprint("other"));
+    }
+
+    @Test
+    void 리스를_잃어_펜싱된_변경은_다시_쓰지_않는다() {
+        RedisLeaseManager.Fence fence = new RedisLeaseManager.Fence("lease:fast-scan", "node|1");
+        when(redisLiveStore.loadAll()).thenReturn(List.of());
+        when(redisLiveStore.commitTick(any(), anyLong(), anyLong(), eq(fence))).thenReturn(RedisLiveStore.FENCED);
+        table.bind("lease-1", fence);
+
+        RedisLiveStore.TickChanges changes = new RedisLiveStore.TickChanges();
+        changes.seen(Set.of("a"));
+        table.apply(changes, 1_000);
+        table.flush();
+        table.flush();
+
+        verify(redisLiveStore, times(1)).commitTick(any(), anyLong(), anyLong(), eq(fence));
+        verify(redisLiveStore, never()).commitTick(any(), anyLong(), anyLong());
+    }
+
+    private static StreamMetricsRepository.ViewerCountPoint point(String channelId, int viewerCount, LocalDateTime createdAt) {
+        return point(channelId, viewerCount, "제목", createdAt);
+    }
+
+    private static StreamMetricsRepository.ViewerCountPoint point(String channelId, int viewerCount, String title,
+                                                                 LocalDateTime createdAt) {
+        return new StreamMetricsRepository.ViewerCountPoint() {
+            @Override
+            public String getChannelId() {
+                return channelId;
+            }
+
+            @Override
+            public int getViewerCount() {
+                return viewerCount;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getCategory() {
+                return "게임";
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+        };
+    }
+}
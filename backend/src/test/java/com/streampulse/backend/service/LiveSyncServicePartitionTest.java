@@ -0,0 +1,209 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.config.SqlStatementCounter;
+import com.streampulse.backend.dto.FastScanResultDTO;
+import com.streampulse.backend.dto.LiveResponseDTO;
+import com.streampulse.backend.infra.RedisLeaseManager;
+import com.streampulse.backend.infra.RedisLiveStore;
+import com.streampulse.backend.infra.RedisScanMembership;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * app.live-sync.partitions 가 1보다 클 때 방송을 파티션으로 나눠 처리하는 경로를 검증합니다.
+ */
+@ExtendWith(MockitoExtension.class)
+class LiveSyncServicePartitionTest {
+
+    private static final int PARTITIONS = 4;
+
+    @Mock private ChzzkLiveService chzzkLiveService;
+    @Mock private RedisLiveStore redisLiveStore;
+    @Mock private LiveHandlerService liveHandlerService;
+    @Mock private RedisScanMembership scanMembership;
+    @Mock private LiveStateTable liveStateTable;
+    @Mock private SqlStatementCounter sqlStatementCounter;
+    @Mock private CategoryBaselineTracker categoryBaselineTracker;
+    @Mock private RedisLeaseManager leaseManager;
+    @Mock private HotDetectionEngine hotDetectionEngine;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolTaskExecutor executor;
+    private LiveSyncService liveSyncService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(PARTITIONS);
+        executor.initialize();
+        liveSyncService = new LiveSyncService(chzzkLiveService, redisLiveStore, liveHandlerService, scanMembership,
+                liveStateTable, sqlStatementCounter, meterRegistry, executor, categoryBaselineTracker, leaseManager, hotDetectionEngine);
+        ReflectionTestUtils.setField(liveSyncService, "processingPartitions", PARTITIONS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void 각_방송은_정확히_한_파티션에_들어간다() {
+        Set<String> channelIds = channelIds("ch", 1000);
+
+        List<Set<String>> parts = liveSyncService.split(channelIds);
+
+        assertEquals(PARTITIONS, parts.size());
+        Set<String> union = new HashSet<>();
+        int total = 0;
+        for (Set<String> part : parts) {
+            assertFalse(part.isEmpty());
+            union.addAll(part);
+            total += part.size();
+        }
+        assertEquals(channelIds, union);
+        assertEquals(channelIds.size(), total);
+        // 같은 방송은 틱이 바뀌어도 같은 파티션에 들어간다
+        assertEquals(parts, liveSyncService.split(new TreeSet<>(channelIds)));
+    }
+
+    @Test
+    void 파티션마다_종료_시작_정보변경_순서로_처리한다() {
+        Set<String> liveIds = channelIds("live", 100);
+        Set<String> endIds = channelIds("gone", 100);
+        givenTick(liveIds, endIds);
+
+        liveSyncService.syncLiveBroadcasts(ScanPartition.ALL);
+
+        List<Set<String>> endParts = liveSyncService.split(endIds);
+        List<Set<String>> liveParts = liveSyncService.split(liveIds);
+        for (int i = 0; i < PARTITIONS; i++) {
+            assertFalse(endParts.get(i).isEmpty());
+            assertFalse(liveParts.get(i).isEmpty());
+            InOrder inOrder = inOrder(liveHandlerService);
+            inOrder.verify(liveHandlerService).handleEnd(eq(endParts.get(i)), any());
+            inOrder.verify(liveHandlerService).handleStart(eq(liveParts.get(i)), anyMap(), any());
+            inOrder.verify(liveHandlerService).handleTopic(eq(liveParts.get(i)), anyMap(), any());
+        }
+        verify(liveHandlerService, times(PARTITIONS)).handleEnd(anySet(), any());
+        verify(liveHandlerService, times(PARTITIONS)).handleStart(anySet(), anyMap(), any());
+        verify(liveHandlerService, times(PARTITIONS)).handleTopic(anySet(), anyMap(), any());
+    }
+
+    @Test
+    void 실패한_파티션만_빠지고_나머지_파티션의_변경은_합쳐진다() {
+        Set<String> liveIds = channelIds("live", 100);
+        Set<String> endIds = channelIds("gone", 100);
+        givenTick(liveIds, endIds);
+
+        // gone-0 이 들어간 파티션의 handleEnd 가 실패한다
+        String boom = "gone-0";
+        List<Set<String>> endParts = liveSyncService.split(endIds);
+        int failed = 0;
+        while (!endParts.get(failed).contains(boom)) failed++;
+        Set<String> failedEnds = endParts.get(failed);
+        Set<String> failedLives = liveSyncService.split(liveIds).get(failed);
+
+        doAnswer(invocation -> {
+            Set<String> ids = invocation.getArgument(0);
+            if (ids.contains(boom)) throw new IllegalStateException("boom");
+            RedisLiveStore.TickChanges changes = invocation.getArgument(1);
+            ids.forEach(changes::ended);
+            return null;
+        }).when(liveHandlerService).handleEnd(anySet(), any());
+        doAnswer(invocation -> {
+            Set<String> ids = invocation.getArgument(0);
+            RedisLiveStore.TickChanges changes = invocation.getArgument(2);
+            ids.forEach(changes::started);
+            return null;
+        }).when(liveHandlerService).handleStart(anySet(), anyMap(), any());
+
+        liveSyncService.syncLiveBroadcasts(ScanPartition.ALL);
+
+        ArgumentCaptor<RedisLiveStore.TickChanges> captor = ArgumentCaptor.forClass(RedisLiveStore.TickChanges.class);
+        verify(liveStateTable).apply(captor.capture(), anyLong());
+        RedisLiveStore.TickChanges merged = captor.getValue();
+
+        Set<String> expectedStarted = new HashSet<>(liveIds);
+        expectedStarted.removeAll(failedLives);
+        assertEquals(expectedStarted, merged.getStarted());
+        Set<String> expectedEnded = new HashSet<>(endIds);
+        expectedEnded.removeAll(failedEnds);
+        assertEquals(expectedEnded, merged.getEnded());
+        // 실패한 파티션의 방송도 이번 틱에 본 방송으로는 남는다
+        assertEquals(liveIds, merged.getSeen());
+        verify(liveHandlerService, never()).handleStart(eq(failedLives), anyMap(), any());
+        assertEquals(1.0, meterRegistry.counter("live_sync_partition_failures_total").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 여러_노드가_나눠_스캔하면_해시로_맡은_방송만_처리하고_나머지는_맡은_노드에_넘긴다() {
+        ScanPartition partition = ScanPartition.of("node-b", List.of("node-a", "node-b"));
+        List<LiveResponseDTO> fresh = new ArrayList<>();
+        Set<String> owned = new HashSet<>();
+        Set<String> foreign = new HashSet<>();
+        for (String channelId : channelIds("live", 40)) {
+            fresh.add(LiveResponseDTO.builder().channelId(channelId).concurrentUserCount(10).build());
+            (partition.ownsChannel(channelId) ? owned : foreign).add(channelId);
+        }
+        // node-a 가 자기 페이지에서 보고 넘긴, node-b 가 맡은 방송
+        String received = channelIds("moved", 40).stream().filter(partition::ownsChannel).findFirst().orElseThrow();
+        when(chzzkLiveService.collectLiveBroadcastersFromRedis(partition))
+                .thenReturn(FastScanResultDTO.builder().fresh(fresh).build());
+        when(scanMembership.drain(2, partition.getIndex()))
+                .thenReturn(List.of(LiveResponseDTO.builder().channelId(received).concurrentUserCount(10).build()));
+        when(redisLiveStore.findLastSeenBefore(anyLong())).thenReturn(Set.of());
+
+        liveSyncService.syncLiveBroadcasts(partition);
+
+        ArgumentCaptor<Map<Integer, List<LiveResponseDTO>>> forwarded = ArgumentCaptor.forClass(Map.class);
+        verify(scanMembership).forward(eq(2), forwarded.capture());
+        assertEquals(Set.of(1 - partition.getIndex()), forwarded.getValue().keySet());
+        assertEquals(foreign, forwarded.getValue().values().stream()
+                .flatMap(List::stream)
+                .map(LiveResponseDTO::getChannelId)
+                .collect(Collectors.toSet()));
+
+        Set<String> expected = new HashSet<>(owned);
+        expected.add(received);
+        ArgumentCaptor<Set<String>> handled = ArgumentCaptor.forClass(Set.class);
+        verify(liveHandlerService, atLeastOnce()).handleStart(handled.capture(), anyMap(), any());
+        Set<String> started = new HashSet<>();
+        handled.getAllValues().forEach(started::addAll);
+        assertEquals(expected, started);
+    }
+
+    private void givenTick(Set<String> liveIds, Set<String> endIds) {
+        List<LiveResponseDTO> fresh = new ArrayList<>();
+        for (String channelId : liveIds) {
+            fresh.add(LiveResponseDTO.builder().channelId(channelId).concurrentUserCount(10).build());
+        }
+        when(chzzkLiveService.collectLiveBroadcastersFromRedis(ScanPartition.ALL))
+                .thenReturn(FastScanResultDTO.builder().fresh(fresh).build());
+        when(liveStateTable.findLastSeenBefore(anyLong())).thenReturn(endIds);
+    }
+
+    private static Set<String> channelIds(String prefix, int count) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(prefix + "-" + i);
+        }
+        return ids;
+    }
+}
@@ -73,7 +73,6 @@ class LiveSyncServiceTest {
         // then
         verify(streamerService).updateLiveStatus(streamer, true);
         verify(notificationService).requestStreamStatusNotification("abc123", EventType.START);
-        verify(streamMetricsService).saveMetrics(session, sampleDto, 10);
     }
 
     @Test
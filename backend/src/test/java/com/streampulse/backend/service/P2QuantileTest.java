@@ -0,0 +1,58 @@
+package com.streampulse.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class P2QuantileTest {
+
+    @Test
+    void 균등분포의_분위수를_근사한다() {
+        P2Quantile p95 = new P2Quantile(0.95);
+        P2Quantile median = new P2Quantile(0.5);
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            double x = random.nextDouble();
+            p95.add(x);
+            median.add(x);
+        }
+
+        assertEquals(0.95, p95.value(), 0.01);
+        assertEquals(0.5, median.value(), 0.01);
+        assertEquals(10_000, p95.count());
+    }
+
+    @Test
+    void 치우친_분포에서도_상위_분위수를_따라간다() {
+        // 대부분은 0 근처이고 5% 만 큰 값인 증가율 분포
+        P2Quantile p99 = new P2Quantile(0.99);
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            p99.add(random.nextDouble() < 0.95 ? random.nextGaussian() * 0.02 : 0.5 + random.nextDouble());
+        }
+
+        // 상위 5% 는 0.5~1.5 균등분포이므로 99분위수는 약 1.3
+        assertEquals(1.3, p99.value(), 0.05);
+    }
+
+    @Test
+    void 표본이_적으면_가진_표본에서_바로_구한다() {
+        P2Quantile quantile = new P2Quantile(0.5);
+        assertTrue(Double.isNaN(quantile.value()));
+
+        quantile.add(3);
+        quantile.add(1);
+        quantile.add(2);
+        assertEquals(2.0, quantile.value());
+
+        quantile.reset();
+        assertEquals(0, quantile.count());
+    }
+
+    @Test
+    void 분위수는_0과_1_사이여야_한다() {
+        assertThrows(IllegalArgumentException.class, () -> new P2Quantile(1.0));
+    }
+}
@@ -0,0 +1,28 @@
+package com.streampulse.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollingTiersTest {
+
+    @Test
+    void 페이지인덱스가_속한_구간의_주기를_돌려준다() {
+        PollingTiers tiers = PollingTiers.parse("0:30000, 1:60000, 5:120000");
+
+        assertEquals(3, tiers.size());
+        assertEquals(30000, tiers.intervalFor(0));
+        assertEquals(60000, tiers.intervalFor(1));
+        assertEquals(60000, tiers.intervalFor(4));
+        assertEquals(120000, tiers.intervalFor(5));
+        assertEquals(120000, tiers.intervalFor(300));
+    }
+
+    @Test
+    void 잘못된_구간_설정은_거부한다() {
+        assertThrows(IllegalArgumentException.class, () -> PollingTiers.parse("1:30000"));
+        assertThrows(IllegalArgumentException.class, () -> PollingTiers.parse("0:30000,5:60000,3:90000"));
+        assertThrows(IllegalArgumentException.class, () -> PollingTiers.parse("0:0"));
+        assertThrows(IllegalArgumentException.class, () -> PollingTiers.parse("0-30000"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.streampulse.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanPartitionTest {
+
+    private static final List<String> MEMBERS = List.of("node-c", "node-a", "node-b");
+
+    @Test
+    void 모든_페이지와_방송은_정확히_한_노드가_맡는다() {
+        List<ScanPartition> partitions = MEMBERS.stream()
+                .map(node -> ScanPartition.of(node, MEMBERS))
+                .toList();
+
+        IntStream.range(0, 50).forEach(page ->
+                assertEquals(1, partitions.stream().filter(p -> p.ownsPage(page)).count()));
+        IntStream.range(0, 200).mapToObj(i -> "channel-" + i).forEach(channelId ->
+                assertEquals(1, partitions.stream().filter(p -> p.ownsChannel(channelId)).count()));
+    }
+
+    @Test
+    void 방송을_맡은_노드의_순번은_그_방송을_맡은_노드와_같다() {
+        List<ScanPartition> partitions = MEMBERS.stream()
+                .map(node -> ScanPartition.of(node, MEMBERS))
+                .toList();
+
+        IntStream.range(0, 200).mapToObj(i -> "channel-" + i).forEach(channelId -> partitions.forEach(p ->
+                assertEquals(p.ownsChannel(channelId), p.ownerOf(channelId) == p.getIndex())));
+    }
+
+    @Test
+    void 노드_순번은_정렬된_노드목록_기준이다() {
+        ScanPartition partition = ScanPartition.of("node-b", MEMBERS);
+
+        assertEquals(1, partition.getIndex());
+        assertEquals(3, partition.getCount());
+        assertTrue(partition.ownsPage(1));
+        assertTrue(partition.ownsPage(4));
+        assertFalse(partition.ownsPage(0));
+    }
+
+    @Test
+    void 혼자이거나_목록에_없으면_전체를_맡는다() {
+        assertSame(ScanPartition.ALL, ScanPartition.of("node-a", List.of("node-a")));
+        assertSame(ScanPartition.ALL, ScanPartition.of("node-x", MEMBERS));
+        assertFalse(ScanPartition.ALL.isShared());
+        assertTrue(ScanPartition.ALL.ownsPage(7));
+        assertTrue(ScanPartition.ALL.ownsChannel("any"));
+    }
+}
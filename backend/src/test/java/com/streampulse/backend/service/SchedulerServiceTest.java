@@ -0,0 +1,98 @@
+package com.streampulse.backend.service;
+
+import com.streampulse.backend.infra.RedisLeaseManager;
+import com.streampulse.backend.infra.RedisScanMembership;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerServiceTest {
+
+    private static final RedisLeaseManager.Lease DEEP_SCAN_LEASE = new RedisLeaseManager.Lease("deep-scan", 7);
+    private static final RedisLeaseManager.Lease FAST_SCAN_LEASE = new RedisLeaseManager.Lease("fast-scan", 3);
+
+    @Mock private LiveSyncService liveSyncService;
+    @Mock private ChzzkLiveService chzzkLiveService;
+    @Mock private ThreadPoolTaskScheduler scanTaskScheduler;
+    @Mock private RedisLeaseManager leaseManager;
+    @Mock private RedisScanMembership scanMembership;
+
+    private SchedulerService schedulerService;
+
+    @BeforeEach
+    void setUp() {
+        schedulerService = new SchedulerService(liveSyncService, chzzkLiveService, scanTaskScheduler, leaseManager, scanMembership);
+    }
+
+    @Test
+    void DeepScan_재시도를_기다리는_동안에는_같은_리스로_부분_재탐색을_하지_않는다() {
+        when(leaseManager.acquire("deep-scan")).thenReturn(Optional.of(DEEP_SCAN_LEASE));
+        when(chzzkLiveService.startDeepScan(DEEP_SCAN_LEASE)).thenReturn(CompletableFuture.completedFuture(false));
+        schedulerService.doDeepScan();
+        verify(scanTaskScheduler).schedule(any(Runnable.class), any(Instant.class));
+
+        when(chzzkLiveService.hasCursors()).thenReturn(true);
+        when(leaseManager.acquire("fast-scan")).thenReturn(Optional.of(FAST_SCAN_LEASE));
+        when(chzzkLiveService.hasDrift()).thenReturn(true);
+        schedulerService.doFastScan();
+
+        verify(leaseManager, times(1)).acquire("deep-scan");
+        verify(chzzkLiveService, never()).rescanDriftedTail(any());
+        verify(leaseManager, never()).release(any());
+    }
+
+    @Test
+    void 이_노드의_다른_탐색_때문에_시작하지_못한_회차는_시도_횟수로_세지_않는다() {
+        when(leaseManager.acquire("deep-scan")).thenReturn(Optional.of(DEEP_SCAN_LEASE));
+        // doDeepScan 의 확인은 통과하고, 첫 회차를 시작하려는 순간에는 다른 탐색이 돌고 있다
+        when(chzzkLiveService.isDeepScanRunning()).thenReturn(false, true, false);
+        when(chzzkLiveService.startDeepScan(DEEP_SCAN_LEASE)).thenReturn(CompletableFuture.completedFuture(false));
+
+        schedulerService.doDeepScan();
+        // 미뤄진 1회차, 실패한 1회차와 2회차 뒤에 예약된 작업을 차례로 실행한다
+        ArgumentCaptor<Runnable> scheduled = ArgumentCaptor.forClass(Runnable.class);
+        for (int i = 1; i <= 3; i++) {
+            verify(scanTaskScheduler, times(i)).schedule(scheduled.capture(), any(Instant.class));
+            scheduled.getValue().run();
+        }
+
+        verify(chzzkLiveService, times(3)).startDeepScan(DEEP_SCAN_LEASE);
+        verify(scanTaskScheduler, times(3)).schedule(any(Runnable.class), any(Instant.class));
+        verify(leaseManager).release(DEEP_SCAN_LEASE);
+    }
+
+    @Test
+    void 부분_재탐색이_끝나면_리스를_반납하고_다음_DeepScan_이_리스를_쓸_수_있다() {
+        when(chzzkLiveService.hasCursors()).thenReturn(true);
+        when(leaseManager.acquire("fast-scan")).thenReturn(Optional.of(FAST_SCAN_LEASE));
+        when(chzzkLiveService.hasDrift()).thenReturn(true);
+        when(leaseManager.acquire("deep-scan")).thenReturn(Optional.of(DEEP_SCAN_LEASE));
+        CompletableFuture<Boolean> rescan = new CompletableFuture<>();
+        when(chzzkLiveService.rescanDriftedTail(DEEP_SCAN_LEASE)).thenReturn(rescan);
+        schedulerService.doFastScan();
+
+        // 부분 재탐색이 리스를 쥔 동안에는 전체 탐색이 리스를 얻지 않는다
+        schedulerService.doDeepScan();
+        verify(leaseManager, times(1)).acquire("deep-scan");
+
+        rescan.complete(true);
+        verify(leaseManager).release(DEEP_SCAN_LEASE);
+
+        when(chzzkLiveService.startDeepScan(DEEP_SCAN_LEASE)).thenReturn(CompletableFuture.completedFuture(true));
+        schedulerService.doDeepScan();
+        verify(chzzkLiveService).startDeepScan(DEEP_SCAN_LEASE);
+        verify(leaseManager, times(2)).release(DEEP_SCAN_LEASE);
+    }
+}
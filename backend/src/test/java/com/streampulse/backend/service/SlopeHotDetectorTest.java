@@ -0,0 +1,75 @@
+package com.streampulse.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SlopeHotDetectorTest {
+
+    private LiveStateTable liveStateTable;
+    private SlopeHotDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        liveStateTable = mock(LiveStateTable.class);
+        detector = new SlopeHotDetector(liveStateTable);
+        ReflectionTestUtils.setField(detector, "minViewers", 1000);
+        ReflectionTestUtils.setField(detector, "minSamples", 4);
+        ReflectionTestUtils.setField(detector, "slopeRatio", 0.05);
+        ReflectionTestUtils.setField(detector, "windowSize", 10);
+    }
+
+    @Test
+    void 평탄하면_평균보다_많아도_HOT_이_아니다() {
+        stateWithViewers("flat", 5000, 5010, 4990, 5000, 5005);
+
+        assertFalse(detector.observe("flat", 5005, 100, 120));
+    }
+
+    @Test
+    void 상승이_이어지면_처음_한_번만_HOT_이다() {
+        ViewerWindow window = stateWithViewers("rising", 1000, 1200, 1400, 1600, 1800);
+
+        assertTrue(detector.observe("rising", 1800, 100, 120));
+        window.add(2000, 150);
+        assertFalse(detector.observe("rising", 2000, 100, 150));
+    }
+
+    @Test
+    void 구간이_없는_방송은_HOT_이_아니다() {
+        when(liveStateTable.get("none")).thenReturn(Optional.empty());
+
+        assertFalse(detector.observe("none", 5000, 100, 0));
+    }
+
+    @Test
+    void 재현용_인스턴스는_자기_구간으로_판정하고_실시간_상태를_읽지_않는다() {
+        HotDetector replay = detector.forReplay();
+        int[] viewers = {1000, 1200, 1400, 1600, 1800, 2000};
+
+        int fired = 0;
+        for (int i = 0; i < viewers.length; i++) {
+            if (replay.observe("rising", viewers[i], 100, i * 30L)) fired++;
+        }
+
+        assertEquals(1, fired);
+        assertEquals("slope", replay.name());
+        verifyNoInteractions(liveStateTable);
+    }
+
+    private ViewerWindow stateWithViewers(String channelId, int... viewers) {
+        ViewerWindow window = new ViewerWindow(10);
+        for (int i = 0; i < viewers.length; i++) {
+            window.add(viewers[i], i * 30L);
+        }
+        LiveStateTable.LiveState state = mock(LiveStateTable.LiveState.class);
+        when(state.getViewerWindow()).thenReturn(window);
+        when(liveStateTable.get(channelId)).thenReturn(Optional.of(state));
+        return window;
+    }
+}
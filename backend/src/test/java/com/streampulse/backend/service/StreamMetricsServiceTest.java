@@ -1,17 +1,32 @@
 package com.streampulse.backend.service;
 
 import com.streampulse.backend.dto.LiveResponseDTO;
+import com.streampulse.backend.dto.StreamMetricsSampleDTO;
 import com.streampulse.backend.entity.StreamMetrics;
 import com.streampulse.backend.entity.StreamSession;
+import com.streampulse.backend.repository.StreamMetricsBatchWriter;
+import com.streampulse.backend.infra.LiveFingerprint;
+import com.streampulse.backend.infra.RedisLiveStore;
 import com.streampulse.backend.repository.StreamMetricsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -19,52 +34,178 @@ class StreamMetricsServiceTest {
 
     @Mock private StreamMetricsRepository streamMetricsRepository;
     @Mock private StreamEventService streamEventService;
+    @Mock private StreamMetricsBatchWriter streamMetricsBatchWriter;
+    @Mock private LiveStateTable liveStateTable;
+    @Mock private RedisLiveStore redisLiveStore;
+    @Mock private HotDetectionEngine hotDetectionEngine;
+    @Spy private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private StreamMetricsService streamMetricsService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(streamMetricsService, "deadbandPercent", 10.0);
+        ReflectionTestUtils.setField(streamMetricsService, "deadbandMinDelta", 5);
+        ReflectionTestUtils.setField(streamMetricsService, "deadbandAbsolute", 100);
+        ReflectionTestUtils.setField(streamMetricsService, "heartbeatSeconds", 600L);
+        ReflectionTestUtils.setField(streamMetricsService, "defaultObservedSeconds", 30L);
+        ReflectionTestUtils.setField(streamMetricsService, "maxObservedSeconds", 600L);
+    }
+
     @Test
-    void saveMetrics_shouldSaveMetrics_andTriggerHotEvent() {
+    void saveAllMetrics_shouldSaveHotRowsWithJpa_andBatchTheRest() {
         // given
         StreamSession session = mock(StreamSession.class);
-        LiveResponseDTO dto = new LiveResponseDTO();
-        dto.setConcurrentUserCount(1200); // HOT 조건 만족 (>=1000, > 750)
-        dto.setLiveCategoryValue("게임");
-        dto.setLiveTitle("방송 제목");
-        dto.setTags(List.of("태그1", "태그2"));
+        LiveResponseDTO hot = new LiveResponseDTO();
+        hot.setChannelId("hot");
+        hot.setConcurrentUserCount(1200);
+        hot.setLiveCategoryValue("게임");
+        hot.setLiveTitle("HOT");
+        LiveResponseDTO normal = new LiveResponseDTO();
+        normal.setChannelId("normal");
+        normal.setConcurrentUserCount(300);
+        normal.setLiveCategoryValue("게임");
+        normal.setLiveTitle("보통");
 
-        StreamMetrics savedMetrics = StreamMetrics.builder()
-                .viewerCount(1200)
-                .title("방송 제목")
-                .category("게임")
-                .build();
-
-        when(streamMetricsRepository.save(any())).thenReturn(savedMetrics);
+        StreamMetrics savedHot = StreamMetrics.builder().viewerCount(1200).build();
+        when(streamMetricsRepository.save(any())).thenReturn(savedHot);
+        when(streamMetricsBatchWriter.writeTick(anyList(), anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+        when(hotDetectionEngine.isHot(eq("hot"), eq(1200), eq(500), anyLong())).thenReturn(true);
+        when(hotDetectionEngine.isHot(eq("normal"), eq(300), eq(500), anyLong())).thenReturn(false);
 
         // when
-        streamMetricsService.saveMetrics(session, dto, 500);
+        int saved = streamMetricsService.saveAllMetrics(List.of(
+                new StreamMetricsSampleDTO(session, hot, 500),
+                new StreamMetricsSampleDTO(session, normal, 500)));
 
         // then
-        verify(streamMetricsRepository).save(any(StreamMetrics.class));
-        verify(streamEventService).saveStreamEvent(savedMetrics, 500);
+        assertEquals(2, saved);
+        verify(streamMetricsRepository, times(1)).save(any(StreamMetrics.class));
+        verify(streamEventService).saveStreamEvent(savedHot, 500);
+        verify(streamMetricsBatchWriter).writeTick(argThat(rows -> rows.size() == 1 && rows.get(0).getViewerCount() == 300), anyList());
     }
 
     @Test
-    void saveMetrics_shouldNotTriggerHotEvent_ifViewerCountTooLow() {
+    void saveAllMetrics_shouldKeepHotEvents_whenBatchWriteFails() {
         // given
-        StreamSession session = mock(StreamSession.class);
-        LiveResponseDTO dto = new LiveResponseDTO();
-        dto.setConcurrentUserCount(300); // 300 < 1000 → HOT 조건 미충족
-        dto.setLiveCategoryValue("카테고리");
-        dto.setLiveTitle("제목");
+        StreamSession session = StreamSession.builder().id(7L).build();
+        LiveResponseDTO hot = live("hot", 1200, "게임", "HOT");
+        LiveResponseDTO normal = live("normal", 300, "게임", "보통");
+
+        StreamMetrics savedHot = StreamMetrics.builder().viewerCount(1200).build();
+        when(streamMetricsRepository.save(any())).thenReturn(savedHot);
+        when(streamMetricsBatchWriter.writeTick(anyList(), anyList())).thenThrow(new DataIntegrityViolationException("bad row"));
+        when(hotDetectionEngine.isHot(eq("hot"), eq(1200), eq(500), anyLong())).thenReturn(true);
+
+        // when
+        int saved = streamMetricsService.saveAllMetrics(List.of(
+                new StreamMetricsSampleDTO(session, hot, 500),
+                new StreamMetricsSampleDTO(session, normal, 500)));
+
+        // then: 일괄 저장 실패가 호출한 쪽으로 전파되지 않고, 일괄 저장을 먼저 끝낸 뒤 HOT 행을 저장한다
+        assertEquals(1, saved);
+        InOrder inOrder = inOrder(streamMetricsBatchWriter, streamMetricsRepository);
+        inOrder.verify(streamMetricsBatchWriter).writeTick(anyList(), anyList());
+        inOrder.verify(streamMetricsRepository).save(any(StreamMetrics.class));
+        verify(streamEventService).saveStreamEvent(savedHot, 500);
+        assertEquals(1.0, meterRegistry.counter("stream_metrics_samples_total", "result", "failed").count());
+    }
+
+    @Test
+    void saveAllMetrics_shouldSkipInvalidSamples_andFitTextColumns() {
+        // given
+        StreamSession session = StreamSession.builder().id(7L).build();
+        LiveResponseDTO noViewers = live("none", 0, "게임", "제목");
+        noViewers.setConcurrentUserCount(null);
+        LiveResponseDTO longTitle = live("long", 300, null, "가".repeat(300));
+
+        // when
+        streamMetricsService.saveAllMetrics(List.of(
+                new StreamMetricsSampleDTO(null, live("orphan", 300, "게임", "제목"), 500),
+                new StreamMetricsSampleDTO(session, noViewers, 500),
+                new StreamMetricsSampleDTO(session, longTitle, 500)));
+
+        // then
+        verify(hotDetectionEngine, never()).isHot(eq("orphan"), anyInt(), anyInt(), anyLong());
+        verify(hotDetectionEngine, never()).isHot(eq("none"), anyInt(), anyInt(), anyLong());
+        verify(streamMetricsBatchWriter).writeTick(argThat(rows -> rows.size() == 1
+                && rows.get(0).getTitle().length() == 255 && rows.get(0).getCategory().isEmpty()), argThat(observations -> observations.size() == 1));
+        assertEquals(2.0, meterRegistry.counter("stream_metrics_samples_total", "result", "invalid").count());
+    }
 
-        StreamMetrics savedMetrics = StreamMetrics.builder().viewerCount(300).build();
-        when(streamMetricsRepository.save(any())).thenReturn(savedMetrics);
+    @Test
+    void saveAllMetrics_shouldSuppressUnchangedRow_butStillAccumulateWeightedObservation() {
+        // given: 120초 전에 관측했고 같은 제목/카테고리로 300명을 저장해 둔 방송
+        long now = Instant.now().getEpochSecond();
+        StreamSession session = StreamSession.builder().id(7L).build();
+        LiveResponseDTO dto = live("ch", 305, "게임", "보통");
+        LiveStateTable.LiveState state = writtenState(300, LiveFingerprint.of("보통", "게임", null), now - 60, now - 120);
+        when(liveStateTable.get("ch")).thenReturn(Optional.of(state));
 
         // when
-        streamMetricsService.saveMetrics(session, dto, 200);
+        int saved = streamMetricsService.saveAllMetrics(List.of(new StreamMetricsSampleDTO(session, dto, 500)));
 
         // then
-        verify(streamEventService, never()).saveStreamEvent(any(), anyInt());
+        assertEquals(0, saved);
+        verify(liveStateTable, never()).recordWritten(anyString(), anyInt(), anyLong(), anyLong());
+        verify(streamMetricsBatchWriter).writeTick(argThat(List::isEmpty), argThat(observations -> observations.size() == 1
+                && observations.get(0).getViewerCount() == 305
+                && observations.get(0).getSeconds() >= 120 && observations.get(0).getSeconds() <= 121));
+        assertEquals(1.0, meterRegistry.counter("stream_metrics_samples_total", "result", "suppressed").count());
+    }
+
+    @Test
+    void saveAllMetrics_shouldWeightSinceLastObservationByAnyNode() {
+        // given: 이 노드는 120초 전에 봤지만, 그 뒤 다른 노드가 30초 전에 관측한 방송
+        long now = Instant.now().getEpochSecond();
+        StreamSession session = StreamSession.builder().id(7L).build();
+        LiveResponseDTO dto = live("ch", 305, "게임", "보통");
+        LiveStateTable.LiveState state = writtenState(300, LiveFingerprint.of("보통", "게임", null), now - 60, now - 120);
+        when(liveStateTable.get("ch")).thenReturn(Optional.of(state));
+        when(redisLiveStore.getLastSeen(List.of("ch"))).thenReturn(Map.of("ch", now - 30));
+
+        // when
+        streamMetricsService.saveAllMetrics(List.of(new StreamMetricsSampleDTO(session, dto, 500)));
+
+        // then: 다른 노드가 이미 센 90초는 다시 세지 않는다
+        verify(streamMetricsBatchWriter).writeTick(anyList(), argThat(observations -> observations.size() == 1
+                && observations.get(0).getSeconds() >= 30 && observations.get(0).getSeconds() <= 31));
+    }
+
+    @Test
+    void shouldWrite_shouldWriteOnDeadbandTopicChangeOrHeartbeat() {
+        long now = 10_000;
+        long topic = LiveFingerprint.of("제목", "게임", null);
+        LiveStateTable.LiveState state = writtenState(300, topic, now - 60, now - 30);
+
+        assertEquals(false, streamMetricsService.shouldWrite(state, 320, topic, now));   // 6.7%
+        assertEquals(true, streamMetricsService.shouldWrite(state, 340, topic, now));    // 13.3%
+        assertEquals(true, streamMetricsService.shouldWrite(state, 305, topic + 1, now));
+        assertEquals(true, streamMetricsService.shouldWrite(state, 300, topic, now + 540));
+        assertEquals(true, streamMetricsService.shouldWrite(null, 300, topic, now));
+
+        // 작은 방송은 비율이 커도 최소 변화량을 넘어야 한다
+        LiveStateTable.LiveState small = writtenState(10, topic, now - 60, now - 30);
+        assertEquals(false, streamMetricsService.shouldWrite(small, 13, topic, now));
+        assertEquals(true, streamMetricsService.shouldWrite(small, 15, topic, now));
+    }
+
+    private static LiveResponseDTO live(String channelId, int viewers, String category, String title) {
+        LiveResponseDTO dto = new LiveResponseDTO();
+        dto.setChannelId(channelId);
+        dto.setConcurrentUserCount(viewers);
+        dto.setLiveCategoryValue(category);
+        dto.setLiveTitle(title);
+        return dto;
+    }
+
+    private static LiveStateTable.LiveState writtenState(int viewers, long topic, long writtenAt, long lastSeen) {
+        LiveStateTable.LiveState state = mock(LiveStateTable.LiveState.class);
+        lenient().when(state.getLastWrittenViewerCount()).thenReturn(viewers);
+        lenient().when(state.getLastWrittenTopic()).thenReturn(topic);
+        lenient().when(state.getLastWrittenAt()).thenReturn(writtenAt);
+        lenient().when(state.getLastSeen()).thenReturn(lastSeen);
+        return state;
     }
 }
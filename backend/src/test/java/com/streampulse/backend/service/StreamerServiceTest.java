@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -66,6 +67,30 @@ class StreamerServiceTest {
         verify(streamerRepository).save(any());
     }
 
+    @Test
+    void getOrCreateStreamers_shouldLoadInBulk_andCreateOnlyMissing() {
+        // given
+        LiveResponseDTO known = new LiveResponseDTO();
+        known.setChannelId("known");
+        LiveResponseDTO fresh = new LiveResponseDTO();
+        fresh.setChannelId("fresh");
+        fresh.setChannelName("새 방송자");
+        fresh.setConcurrentUserCount(10);
+
+        Streamer existing = Streamer.builder().channelId("known").build();
+        when(streamerRepository.findByChannelIdIn(anyList())).thenReturn(List.of(existing));
+        when(streamerRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        Map<String, Streamer> result = streamerService.getOrCreateStreamers(List.of(known, fresh));
+
+        // then
+        assertEquals(existing, result.get("known"));
+        assertEquals("새 방송자", result.get("fresh").getNickname());
+        verify(streamerRepository, times(1)).findByChannelIdIn(anyList());
+        verify(streamerRepository, never()).findByChannelId(any());
+    }
+
     @Test
     void updateLiveStatus_shouldCallUpdateAndSave() {
         // given
@@ -177,4 +177,28 @@ class SubscriptionServiceTest {
                 eq(dto)
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void findChannelsWithSubscribers_shouldReturnAll_whenGlobalSubscriptionExists() {
+        when(subscriptionRepository.existsActiveGlobal(EventType.START)).thenReturn(true);
+
+        Set<String> result = subscriptionService.findChannelsWithSubscribers(EventType.START, List.of("a", "b"));
+
+        assertEquals(Set.of("a", "b"), result);
+        verify(subscriptionRepository, never()).findSubscribedChannelIds(any(), any());
+    }
+
+    @Test
+    void findChannelsWithSubscribers_shouldQueryInChunks() {
+        List<String> channelIds = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) channelIds.add("c" + i);
+        when(subscriptionRepository.existsActiveGlobal(EventType.TOPIC)).thenReturn(false);
+        when(subscriptionRepository.findSubscribedChannelIds(eq(EventType.TOPIC), any()))
+                .thenReturn(List.of("c1"), List.of(), List.of("c1100"));
+
+        Set<String> result = subscriptionService.findChannelsWithSubscribers(EventType.TOPIC, channelIds);
+
+        assertEquals(Set.of("c1", "c1100"), result);
+        verify(subscriptionRepository, times(3)).findSubscribedChannelIds(eq(EventType.TOPIC), any());
+    }
+}
@@ -0,0 +1,73 @@
+package com.streampulse.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewerWindowTest {
+
+    @Test
+    void 가득_차면_가장_오래된_표본을_밀어낸다() {
+        ViewerWindow window = new ViewerWindow(3);
+        window.add(100, 0);
+        window.add(200, 30);
+        window.add(300, 60);
+        window.add(400, 90);
+
+        assertEquals(3, window.size());
+        assertEquals(400, window.latest());
+        // 200, 300, 400 을 30초 간격으로 본 기울기 = 분당 200명
+        assertEquals(200.0, window.slope(), 1e-9);
+    }
+
+    @Test
+    void 최근_두_표본의_시각_차이를_낸다() {
+        ViewerWindow window = new ViewerWindow(3);
+        assertEquals(-1, window.latestEpochSeconds());
+        assertEquals(-1, window.secondsSincePrevious());
+
+        window.add(100, 1_000);
+        assertEquals(1_000, window.latestEpochSeconds());
+        assertEquals(-1, window.secondsSincePrevious());
+
+        window.add(200, 1_030);
+        window.add(300, 1_120);
+        window.add(400, 1_150);
+        assertEquals(1_150, window.latestEpochSeconds());
+        assertEquals(30, window.secondsSincePrevious());
+        assertEquals(300, window.previous());
+    }
+
+    @Test
+    void 같은_시각의_표본은_덮어쓴다() {
+        ViewerWindow window = new ViewerWindow(3);
+        window.add(100, 0);
+        window.add(150, 0);
+
+        assertEquals(1, window.size());
+        assertEquals(150, window.latest());
+        assertEquals(0.0, window.slope());
+    }
+
+    @Test
+    void 증가_속도가_빨라지면_가속도가_양수다() {
+        ViewerWindow window = new ViewerWindow(6);
+        int[] viewers = {100, 110, 120, 200, 300, 400};
+        for (int i = 0; i < viewers.length; i++) {
+            window.add(viewers[i], i * 60L);
+        }
+
+        // 앞 절반은 분당 10명, 뒤 절반은 분당 100명
+        assertEquals(90.0, window.acceleration(), 1e-9);
+    }
+
+    @Test
+    void 상승이_새로_시작될_때만_진입으로_본다() {
+        ViewerWindow window = new ViewerWindow(2);
+
+        assertTrue(window.enterRising(true));
+        assertFalse(window.enterRising(true));
+        assertFalse(window.enterRising(false));
+        assertTrue(window.enterRising(true));
+    }
+}